@@ -0,0 +1,147 @@
+package com.synapx.acord;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synapx.acord.service.AcordExtractor;
+import com.synapx.acord.service.BulkDirectoryProcessor;
+import com.synapx.acord.service.BulkDirectoryProcessor.Summary;
+import com.synapx.acord.service.PdfMemoryMode;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Processes a directory tree of claim documents with a {@link BulkDirectoryProcessor} and prints progress to standard
+ * error. Running it again with the same {@code --output} resumes where the last run stopped. Ctrl-C stops taking new
+ * documents and exits once those in flight are written and checkpointed.
+ *
+ * <pre>
+ * ./mvnw -q -pl acord-core compile exec:exec@bulk -Dbulk.args="--input=/archive/fnol --output=/backfill/fnol"
+ * </pre>
+ */
+public final class BulkProcessorCli {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("input", "");
+        DEFAULTS.put("output", "bulk-output");
+        DEFAULTS.put("readThreads", "4");
+        DEFAULTS.put("parseThreads", "0");
+        DEFAULTS.put("extractThreads", "2");
+        DEFAULTS.put("routeThreads", "1");
+        DEFAULTS.put("queueCapacity", "64");
+        DEFAULTS.put("recordsPerFile", "100000");
+        DEFAULTS.put("pdfTimeoutSeconds", "30");
+        DEFAULTS.put("incrementalExtraction", "true");
+        DEFAULTS.put("memoryMode", PdfMemoryMode.MIXED.name());
+        DEFAULTS.put("scratchDir", System.getProperty("java.io.tmpdir"));
+        DEFAULTS.put("rulesFile", "");
+        DEFAULTS.put("progressSeconds", "10");
+    }
+
+    private BulkProcessorCli() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        if (options.get("input").isEmpty()) {
+            throw new IllegalArgumentException("--input=<directory> is required; options are " + DEFAULTS.keySet());
+        }
+        Path input = Paths.get(options.get("input"));
+        Path output = Paths.get(options.get("output"));
+        int parseThreads = Integer.parseInt(options.get("parseThreads"));
+        if (parseThreads <= 0) {
+            parseThreads = Runtime.getRuntime().availableProcessors();
+        }
+
+        AcordExtractor.Builder builder = AcordExtractor.builder()
+                .pdfTimeout(Duration.ofSeconds(Long.parseLong(options.get("pdfTimeoutSeconds"))))
+                .incrementalExtraction(Boolean.parseBoolean(options.get("incrementalExtraction")))
+                .memoryMode(PdfMemoryMode.valueOf(options.get("memoryMode").toUpperCase(Locale.ROOT)), 16_777_216)
+                .scratchDirectory(Paths.get(options.get("scratchDir")))
+                // Parse stage threads wait on the parser pool, so it never needs to queue a document.
+                .parserThreads(parseThreads, parseThreads);
+        if (!options.get("rulesFile").isEmpty()) {
+            builder.routingRulesFile(Paths.get(options.get("rulesFile")));
+        }
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bulk-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CountDownLatch finished = new CountDownLatch(1);
+        try (AcordExtractor extractor = builder.build()) {
+            BulkDirectoryProcessor processor = new BulkDirectoryProcessor(
+                    extractor,
+                    new ObjectMapper(),
+                    Integer.parseInt(options.get("readThreads")),
+                    parseThreads,
+                    Integer.parseInt(options.get("extractThreads")),
+                    Integer.parseInt(options.get("routeThreads")),
+                    Integer.parseInt(options.get("queueCapacity")),
+                    Integer.parseInt(options.get("recordsPerFile")));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                processor.stop();
+                awaitUninterruptibly(finished);
+            }, "bulk-shutdown"));
+
+            long start = System.nanoTime();
+            long progressSeconds = Long.parseLong(options.get("progressSeconds"));
+            if (progressSeconds > 0) {
+                reporter.scheduleAtFixedRate(() -> print("Progress", processor.progress(), start),
+                        progressSeconds, progressSeconds, TimeUnit.SECONDS);
+            }
+            System.err.printf(Locale.ROOT, "Processing %s into %s with %s read, %d parse, %s extract, %s route threads%n",
+                    input.toAbsolutePath(), output.toAbsolutePath(), options.get("readThreads"), parseThreads,
+                    options.get("extractThreads"), options.get("routeThreads"));
+            try {
+                Summary summary = processor.run(input, output);
+                print("Done", summary, start);
+            } finally {
+                reporter.shutdownNow();
+            }
+        } finally {
+            finished.countDown();
+        }
+    }
+
+    private static void print(String label, Summary summary, long start) {
+        double seconds = Math.max(1e-3, (System.nanoTime() - start) / 1e9);
+        System.err.printf(Locale.ROOT, "%s: %d succeeded, %d failed, %d skipped as done in %.0f s (%.1f documents/s)%n",
+                label, summary.succeeded(), summary.failed(), summary.skipped(), seconds,
+                (summary.succeeded() + summary.failed()) / seconds);
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        while (true) {
+            try {
+                latch.await();
+                return;
+            } catch (InterruptedException ignored) {
+                // Shutdown hooks are not interrupted by the JVM; keep waiting for the run to drain.
+            }
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0 || !DEFAULTS.containsKey(arg.substring(2, separator))) {
+                throw new IllegalArgumentException("Unknown option " + arg + "; options are --name=value with names "
+                        + DEFAULTS.keySet());
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,11 @@
+package com.synapx.acord.exception;
+
+import java.time.Duration;
+
+public class ProcessingTimeoutException extends RuntimeException {
+
+    public ProcessingTimeoutException(Duration timeout) {
+        super("Claim document could not be processed within the time limit of " + timeout.toMillis()
+                + " ms. Split the document or submit it as text.");
+    }
+}
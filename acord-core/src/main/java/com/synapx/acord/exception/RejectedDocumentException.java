@@ -0,0 +1,12 @@
+package com.synapx.acord.exception;
+
+/**
+ * Refusal that depends only on the bytes of the document, such as an image-only scan or an unparseable PDF, so the
+ * same upload is refused again without processing it.
+ */
+public class RejectedDocumentException extends BadRequestException {
+
+    public RejectedDocumentException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,28 @@
+package com.synapx.acord.exception;
+
+public class ServiceOverloadedException extends RuntimeException {
+
+    public static final int TOO_MANY_REQUESTS = 429;
+    public static final int SERVICE_UNAVAILABLE = 503;
+
+    private final int status;
+    private final long retryAfterSeconds;
+
+    /**
+     * @param status HTTP status a server answers with: {@link #TOO_MANY_REQUESTS} when the queue is full, otherwise
+     *               {@link #SERVICE_UNAVAILABLE}
+     */
+    public ServiceOverloadedException(String message, int status, long retryAfterSeconds) {
+        super(message);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,19 @@
+package com.synapx.acord.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one document of a bulk directory run, written as one NDJSON line. {@code path} is relative to the input
+ * directory, with {@code /} separators. Exactly one of {@code response} and {@code error} is set.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkResult(String path, ClaimProcessingResponse response, String error) {
+
+    public static BulkResult success(String path, ClaimProcessingResponse response) {
+        return new BulkResult(path, response, null);
+    }
+
+    public static BulkResult failure(String path, String error) {
+        return new BulkResult(path, null, error);
+    }
+}
@@ -1,5 +1,6 @@
 package com.synapx.acord.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.AllArgsConstructor;
@@ -15,4 +16,7 @@ public class ClaimProcessingResponse {
     private List<String> missingFields = new ArrayList<>();
     private RouteType recommendedRoute;
     private String reasoning;
+    /** Only part of the document was read before the processing deadline; omitted when false. */
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private boolean partial;
 }
@@ -0,0 +1,38 @@
+package com.synapx.acord.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+/**
+ * One row of the routing decision table. A claim matches the rule when it meets every condition that is set; a rule
+ * without conditions matches every claim and must come last.
+ *
+ * @param name                   label used in error messages
+ * @param route                  route recommended when the rule matches
+ * @param reasoning              reasoning returned with the route; {@code {missingFields}} is replaced by the missing
+ *                               mandatory field names
+ * @param descriptionContainsAny the accident description contains one of these words, ignoring case
+ * @param fraudFlagPresent       the fraud flag equals this value
+ * @param injuryPresent          the injury flag equals this value
+ * @param missingFields          true when mandatory fields must be missing, false when they must all be present
+ * @param estimateBelow          the estimate amount is present and below this value
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RoutingRule(
+        String name,
+        RouteType route,
+        String reasoning,
+        List<String> descriptionContainsAny,
+        Boolean fraudFlagPresent,
+        Boolean injuryPresent,
+        Boolean missingFields,
+        Integer estimateBelow) {
+
+    public boolean hasConditions() {
+        return descriptionContainsAny != null
+                || fraudFlagPresent != null
+                || injuryPresent != null
+                || missingFields != null
+                || estimateBelow != null;
+    }
+}
@@ -0,0 +1,9 @@
+package com.synapx.acord.model;
+
+import java.util.List;
+
+/**
+ * Routing rules in priority order; the first matching rule decides the route.
+ */
+public record RoutingRules(List<RoutingRule> rules) {
+}
@@ -0,0 +1,353 @@
+package com.synapx.acord.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synapx.acord.exception.BadRequestException;
+import com.synapx.acord.exception.ProcessingTimeoutException;
+import com.synapx.acord.exception.RejectedDocumentException;
+import com.synapx.acord.exception.ServiceOverloadedException;
+import com.synapx.acord.model.ClaimFields;
+import com.synapx.acord.model.ClaimProcessingResponse;
+import com.synapx.acord.model.RouteDecision;
+import com.synapx.acord.model.RouteType;
+import com.synapx.acord.model.RoutingRules;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+/**
+ * The claim pipeline of the service, extraction, validation and routing, as a plain Java API for jobs that embed it
+ * instead of calling the REST endpoints:
+ *
+ * <pre>{@code
+ * try (AcordExtractor extractor = AcordExtractor.builder().pdfTimeout(Duration.ofSeconds(10)).build()) {
+ *     ClaimProcessingResponse claim = extractor.processPdf(PdfSource.of(path));
+ * }
+ * }</pre>
+ *
+ * <p>An extractor is thread-safe and meant to be shared: PDFs are parsed on its bounded parser pool, and a document
+ * that does not fit the pool's queue or heap budget is refused with a {@link ServiceOverloadedException}. Other
+ * refusals are {@link BadRequestException}s, {@link RejectedDocumentException}s when the document alone is the reason,
+ * and {@link ProcessingTimeoutException}s.
+ */
+public class AcordExtractor implements AutoCloseable {
+
+    private static final String PARTIAL_READ_REASONING =
+            "Only part of the document could be read within the processing time limit, so it is not fast-tracked.";
+
+    private final PdfTextExtractorService pdfTextExtractorService;
+    private final FieldExtractorService fieldExtractorService;
+    private final ValidatorService validatorService;
+    private final RoutingService routingService;
+    private final AcroFormFieldReader acroFormFieldReader;
+    private final ClaimMetrics claimMetrics;
+    /** Stops the components built by {@link Builder#build()}; null when the caller owns them. */
+    private final Runnable shutdown;
+
+    /**
+     * Assembles an extractor from components the caller owns; {@link #close()} leaves them running.
+     */
+    public AcordExtractor(
+            PdfTextExtractorService pdfTextExtractorService,
+            FieldExtractorService fieldExtractorService,
+            ValidatorService validatorService,
+            RoutingService routingService,
+            AcroFormFieldReader acroFormFieldReader,
+            ClaimMetrics claimMetrics) {
+        this(pdfTextExtractorService, fieldExtractorService, validatorService, routingService, acroFormFieldReader,
+                claimMetrics, null);
+    }
+
+    private AcordExtractor(
+            PdfTextExtractorService pdfTextExtractorService,
+            FieldExtractorService fieldExtractorService,
+            ValidatorService validatorService,
+            RoutingService routingService,
+            AcroFormFieldReader acroFormFieldReader,
+            ClaimMetrics claimMetrics,
+            Runnable shutdown) {
+        this.pdfTextExtractorService = pdfTextExtractorService;
+        this.fieldExtractorService = fieldExtractorService;
+        this.validatorService = validatorService;
+        this.routingService = routingService;
+        this.acroFormFieldReader = acroFormFieldReader;
+        this.claimMetrics = claimMetrics;
+        this.shutdown = shutdown;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Fillable PDFs are read from their AcroForm fields; flat documents go through text extraction.
+     */
+    public ClaimProcessingResponse processPdf(PdfSource source) {
+        PdfContent content = parsePdf(source);
+        return route(extractFields(content), content.partial());
+    }
+
+    public ClaimProcessingResponse processText(String text) {
+        return route(extractFields(text), false);
+    }
+
+    /**
+     * Splits a PDF that bundles several claims into one text segment per claim; see {@link ClaimSplitter}.
+     */
+    public List<PdfClaimSegment> splitPdf(PdfSource source) {
+        PdfPages pages = pdfTextExtractorService.extractPages(source);
+        return ClaimSplitter.split(pages, fieldExtractorService::extractPolicyNumber);
+    }
+
+    /**
+     * Processes one claim of a bundled PDF.
+     */
+    public ClaimProcessingResponse processSegment(PdfClaimSegment segment) {
+        return route(extractFields(segment.text()), segment.partial());
+    }
+
+    /**
+     * Validates and routes fields stored by an earlier run against the current routing rules. Nothing is extracted
+     * or counted as an outcome.
+     */
+    public ClaimProcessingResponse reroute(ClaimFields fields) {
+        List<String> missingFields = validatorService.findMissingMandatoryFields(fields);
+        RouteDecision routeDecision = routingService.determineRoute(fields, missingFields);
+        return new ClaimProcessingResponse(fields, missingFields, routeDecision.route(), routeDecision.reasoning(), false);
+    }
+
+    public RoutingRules activeRules() {
+        return routingService.activeRules();
+    }
+
+    /**
+     * Stops the parser and page stripper threads of an extractor from {@link #builder()}. Calls in progress fail.
+     */
+    @Override
+    public void close() {
+        if (shutdown != null) {
+            shutdown.run();
+        }
+    }
+
+    /**
+     * The parsing stage of {@link #processPdf(PdfSource)}: the form fields or the text of a PDF. Benchmarks time it on
+     * its own.
+     */
+    public PdfContent parsePdf(PdfSource source) {
+        return pdfTextExtractorService.extractContent(
+                source, this::readFormFields, this::hasMandatoryFields, this::isCompleteForRouting);
+    }
+
+    /**
+     * The extraction stage of {@link #processPdf(PdfSource)}.
+     */
+    ClaimFields extractFields(PdfContent content) {
+        if (!content.hasFormFields()) {
+            return extractFields(content.text());
+        }
+        if (content.text() == null) {
+            return content.formFields();
+        }
+        return fieldExtractorService.mergeFormFields(
+                content.formFields(), fieldExtractorService.extractFields(content.text()));
+    }
+
+    ClaimFields extractFields(String text) {
+        if (StringUtils.isBlank(text)) {
+            claimMetrics.countRejection(RejectionReason.EMPTY);
+            throw new BadRequestException("Text is empty. Provide a non-empty claim document text.");
+        }
+        return fieldExtractorService.extractFields(text);
+    }
+
+    /**
+     * @param partial fields were read from only the first pages of a document. Pages not read may still carry injury
+     *                or investigation details, so such a claim is never fast-tracked.
+     */
+    ClaimProcessingResponse route(ClaimFields fields, boolean partial) {
+        List<String> missingFields =
+                claimMetrics.time(ClaimStage.VALIDATION, () -> validatorService.findMissingMandatoryFields(fields));
+        RouteDecision routeDecision =
+                claimMetrics.time(ClaimStage.ROUTING, () -> routingService.determineRoute(fields, missingFields));
+        if (partial && routeDecision.route() == RouteType.FAST_TRACK) {
+            routeDecision = new RouteDecision(RouteType.MANUAL_REVIEW, PARTIAL_READ_REASONING);
+        }
+        claimMetrics.countOutcome(routeDecision.route());
+
+        return new ClaimProcessingResponse(
+                fields,
+                missingFields,
+                routeDecision.route(),
+                routeDecision.reasoning(),
+                partial);
+    }
+
+    private Optional<ClaimFields> readFormFields(PDDocument document) {
+        return claimMetrics.time(
+                ClaimStage.FORM_READ,
+                () -> acroFormFieldReader.read(document).map(fieldExtractorService::extractFormFields));
+    }
+
+    private boolean hasMandatoryFields(ClaimFields formFields) {
+        return validatorService.findMissingMandatoryFields(formFields).isEmpty();
+    }
+
+    private boolean isCompleteForRouting(String textSoFar) {
+        return fieldExtractorService.extractIfSettled(textSoFar)
+                .map(fields -> validatorService.findMissingMandatoryFields(fields).isEmpty())
+                .orElse(false);
+    }
+
+    /**
+     * Settings of an extractor; the defaults are those of the {@code acord.pdf.*} and {@code acord.routing.*}
+     * properties of the service.
+     */
+    public static final class Builder {
+
+        private int minTextLengthForNonScanned = 50;
+        private boolean incrementalExtraction = true;
+        private Duration pdfTimeout = Duration.ofSeconds(30);
+        private PdfMemoryMode memoryMode = PdfMemoryMode.MIXED;
+        private long maxMainMemoryBytes = 16_777_216;
+        private Path scratchDirectory = Path.of(System.getProperty("java.io.tmpdir"));
+        private int parserThreads;
+        private int parserQueueCapacity = 64;
+        private long heapBudgetBytes;
+        private long retryAfterSeconds = 2;
+        private boolean parallelExtraction;
+        private int parallelism;
+        private int parallelMinPages = 8;
+        private Path routingRulesFile;
+        private MeterRegistry meterRegistry;
+
+        private Builder() {
+        }
+
+        /**
+         * Documents whose text, whitespace collapsed, is shorter are refused as scanned.
+         */
+        public Builder minTextLengthForNonScanned(int minTextLengthForNonScanned) {
+            this.minTextLengthForNonScanned = minTextLengthForNonScanned;
+            return this;
+        }
+
+        /**
+         * Strip one page at a time and stop once the text so far holds every field routing needs.
+         */
+        public Builder incrementalExtraction(boolean incrementalExtraction) {
+            this.incrementalExtraction = incrementalExtraction;
+            return this;
+        }
+
+        /**
+         * Time limit per PDF; zero means none.
+         */
+        public Builder pdfTimeout(Duration pdfTimeout) {
+            this.pdfTimeout = pdfTimeout;
+            return this;
+        }
+
+        /**
+         * Where PDFBox buffers a document; see {@link PdfDocumentLoader}.
+         */
+        public Builder memoryMode(PdfMemoryMode memoryMode, long maxMainMemoryBytes) {
+            this.memoryMode = memoryMode;
+            this.maxMainMemoryBytes = maxMainMemoryBytes;
+            return this;
+        }
+
+        public Builder scratchDirectory(Path scratchDirectory) {
+            this.scratchDirectory = scratchDirectory;
+            return this;
+        }
+
+        /**
+         * @param parserThreads       PDFs parsed at once; 0 means one per available processor
+         * @param parserQueueCapacity PDFs waiting for a parser thread before further ones are refused
+         */
+        public Builder parserThreads(int parserThreads, int parserQueueCapacity) {
+            this.parserThreads = parserThreads;
+            this.parserQueueCapacity = parserQueueCapacity;
+            return this;
+        }
+
+        /**
+         * Heap all PDFs in flight may claim; 0 means half of the maximum heap.
+         */
+        public Builder heapBudgetBytes(long heapBudgetBytes) {
+            this.heapBudgetBytes = heapBudgetBytes;
+            return this;
+        }
+
+        /**
+         * Retry-After a {@link ServiceOverloadedException} suggests when a PDF is refused for lack of parser capacity.
+         */
+        public Builder retryAfterSeconds(long retryAfterSeconds) {
+            this.retryAfterSeconds = retryAfterSeconds;
+            return this;
+        }
+
+        /**
+         * Strips documents of at least {@code minPages} pages on {@code parallelism} threads; see
+         * {@link ParallelPageStripper}.
+         */
+        public Builder parallelExtraction(int parallelism, int minPages) {
+            this.parallelExtraction = true;
+            this.parallelism = parallelism;
+            this.parallelMinPages = minPages;
+            return this;
+        }
+
+        /**
+         * Routing rules JSON to use instead of the built-in rules. It is read once; see {@link RoutingService}.
+         */
+        public Builder routingRulesFile(Path routingRulesFile) {
+            this.routingRulesFile = routingRulesFile;
+            return this;
+        }
+
+        /**
+         * Registry for the {@link ClaimMetrics} meters; by default they are kept in a registry of the extractor's own.
+         */
+        public Builder meterRegistry(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+            return this;
+        }
+
+        public AcordExtractor build() {
+            ClaimMetrics claimMetrics =
+                    new ClaimMetrics(meterRegistry != null ? meterRegistry : new SimpleMeterRegistry());
+            RoutingService routingService = new RoutingService(
+                    new ObjectMapper(), routingRulesFile != null ? routingRulesFile.toString() : "", Duration.ZERO);
+            PdfParsingScheduler pdfParsingScheduler =
+                    new PdfParsingScheduler(parserThreads, parserQueueCapacity, heapBudgetBytes, retryAfterSeconds);
+            ParallelPageStripper parallelPageStripper =
+                    new ParallelPageStripper(parallelExtraction, parallelism, parallelMinPages);
+            PdfTextExtractorService pdfTextExtractorService = new PdfTextExtractorService(
+                    minTextLengthForNonScanned,
+                    incrementalExtraction,
+                    pdfTimeout,
+                    new PdfDocumentLoader(memoryMode, maxMainMemoryBytes, scratchDirectory.toString()),
+                    pdfParsingScheduler,
+                    parallelPageStripper,
+                    claimMetrics);
+            return new AcordExtractor(
+                    pdfTextExtractorService,
+                    new FieldExtractorService(claimMetrics),
+                    new ValidatorService(),
+                    routingService,
+                    new AcroFormFieldReader(),
+                    claimMetrics,
+                    () -> {
+                        pdfParsingScheduler.shutdown();
+                        parallelPageStripper.shutdown();
+                        routingService.close();
+                    });
+        }
+    }
+}
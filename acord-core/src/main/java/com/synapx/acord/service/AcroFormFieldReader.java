@@ -0,0 +1,117 @@
+package com.synapx.acord.service;
+
+import static com.synapx.acord.service.ExtractionLabel.ACCIDENT_DESCRIPTION;
+import static com.synapx.acord.service.ExtractionLabel.ADDRESS;
+import static com.synapx.acord.service.ExtractionLabel.CITY;
+import static com.synapx.acord.service.ExtractionLabel.CLAIM_TYPE;
+import static com.synapx.acord.service.ExtractionLabel.DATE_OF_LOSS;
+import static com.synapx.acord.service.ExtractionLabel.DESCRIPTION_OF_ACCIDENT;
+import static com.synapx.acord.service.ExtractionLabel.DRIVER_NAME;
+import static com.synapx.acord.service.ExtractionLabel.ESTIMATE_AMOUNT;
+import static com.synapx.acord.service.ExtractionLabel.INJURED_PERSON;
+import static com.synapx.acord.service.ExtractionLabel.INJURY_INDICATOR;
+import static com.synapx.acord.service.ExtractionLabel.INSURED_NAME;
+import static com.synapx.acord.service.ExtractionLabel.LOCATION_OF_LOSS;
+import static com.synapx.acord.service.ExtractionLabel.OWNER_NAME;
+import static com.synapx.acord.service.ExtractionLabel.POLICY_NUMBER;
+import static com.synapx.acord.service.ExtractionLabel.STATE;
+import static com.synapx.acord.service.ExtractionLabel.TIME_OF_LOSS;
+import static com.synapx.acord.service.ExtractionLabel.ZIP_CODE;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
+import org.apache.pdfbox.pdmodel.interactive.form.PDCheckBox;
+import org.apache.pdfbox.pdmodel.interactive.form.PDField;
+import org.apache.pdfbox.pdmodel.interactive.form.PDNonTerminalField;
+
+/**
+ * Reads the values of fillable ACORD PDFs straight from their AcroForm fields. A field is recognised when its name,
+ * ignoring case, punctuation and an ACORD occurrence suffix such as {@code _A}, is either a label variant
+ * ({@code "Policy Number"}, {@code "DATE_OF_LOSS"}) or one of the ACORD 2 field names below.
+ */
+public class AcroFormFieldReader {
+
+    private static final Map<String, ExtractionLabel> ACORD_FIELD_NAMES = Map.ofEntries(
+            Map.entry("POLICYPOLICYNUMBERIDENTIFIER", POLICY_NUMBER),
+            Map.entry("LOSSINCIDENTDATE", DATE_OF_LOSS),
+            Map.entry("LOSSINCIDENTTIME", TIME_OF_LOSS),
+            Map.entry("LOSSINCIDENTLOCATIONDESCRIPTION", LOCATION_OF_LOSS),
+            Map.entry("LOSSLOCATIONDESCRIPTION", LOCATION_OF_LOSS),
+            Map.entry("LOSSLOCATIONADDRESSLINEONE", ADDRESS),
+            Map.entry("LOSSLOCATIONCITYNAME", CITY),
+            Map.entry("LOSSLOCATIONSTATEORPROVINCECODE", STATE),
+            Map.entry("LOSSLOCATIONPOSTALCODE", ZIP_CODE),
+            Map.entry("LOSSINCIDENTDESCRIPTION", DESCRIPTION_OF_ACCIDENT),
+            Map.entry("LOSSACCIDENTDESCRIPTION", ACCIDENT_DESCRIPTION),
+            Map.entry("LOSSESTIMATEDAMOUNT", ESTIMATE_AMOUNT),
+            Map.entry("VEHICLEESTIMATEAMOUNT", ESTIMATE_AMOUNT),
+            Map.entry("NAMEDINSUREDFULLNAME", INSURED_NAME),
+            Map.entry("DRIVERFULLNAME", DRIVER_NAME),
+            Map.entry("VEHICLEOWNERFULLNAME", OWNER_NAME),
+            Map.entry("INJUREDFULLNAME", INJURED_PERSON),
+            Map.entry("INJURYINDICATOR", INJURY_INDICATOR),
+            Map.entry("LOSSCLAIMTYPE", CLAIM_TYPE));
+
+    private static final Map<String, ExtractionLabel> FIELD_NAMES = fieldNames();
+
+    /**
+     * Values of the recognised, non-empty form fields, or empty when the document has no AcroForm or none of its
+     * recognised fields is filled in. Checked check boxes read as {@code "Yes"}; the first non-empty field wins.
+     */
+    Optional<Map<ExtractionLabel, String>> read(PDDocument document) {
+        PDAcroForm acroForm = document.getDocumentCatalog().getAcroForm();
+        if (acroForm == null) {
+            return Optional.empty();
+        }
+        Map<ExtractionLabel, String> values = new EnumMap<>(ExtractionLabel.class);
+        for (PDField field : acroForm.getFieldTree()) {
+            if (field instanceof PDNonTerminalField) {
+                continue;
+            }
+            ExtractionLabel label = FIELD_NAMES.get(normalizeFieldName(field.getPartialName()));
+            if (label == null) {
+                continue;
+            }
+            String value = field instanceof PDCheckBox checkBox
+                    ? (isChecked(checkBox) ? "Yes" : null)
+                    : field.getValueAsString();
+            if (StringUtils.isNotBlank(value)) {
+                values.putIfAbsent(label, value);
+            }
+        }
+        return values.isEmpty() ? Optional.empty() : Optional.of(values);
+    }
+
+    /**
+     * Any value other than Off counts as checked, so boxes whose on-state name is not declared in an appearance
+     * stream are still read.
+     */
+    private static boolean isChecked(PDCheckBox checkBox) {
+        String value = checkBox.getValue();
+        return StringUtils.isNotBlank(value) && !"Off".equals(value);
+    }
+
+    static String normalizeFieldName(String fieldName) {
+        if (fieldName == null) {
+            return "";
+        }
+        return fieldName
+                .replaceFirst("_[A-Za-z]$", "")
+                .replaceAll("[^A-Za-z0-9]", "")
+                .toUpperCase(Locale.ROOT);
+    }
+
+    private static Map<String, ExtractionLabel> fieldNames() {
+        Map<String, ExtractionLabel> fieldNames = new HashMap<>(ACORD_FIELD_NAMES);
+        for (ExtractionLabel label : ExtractionLabel.values()) {
+            fieldNames.putIfAbsent(label.text().replace(" ", ""), label);
+        }
+        return Map.copyOf(fieldNames);
+    }
+}
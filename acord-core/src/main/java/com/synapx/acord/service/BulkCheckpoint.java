@@ -0,0 +1,86 @@
+package com.synapx.acord.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * The documents a bulk run has finished, one relative path per line, appended once their result is on disk. A line
+ * torn by a crash is cut off when the checkpoint is opened again, so that document is processed once more.
+ */
+final class BulkCheckpoint implements AutoCloseable {
+
+    private final Set<String> finished = new HashSet<>();
+    private final BufferedWriter writer;
+
+    private BulkCheckpoint(BufferedWriter writer) {
+        this.writer = writer;
+    }
+
+    static BulkCheckpoint open(Path file) throws IOException {
+        if (Files.exists(file)) {
+            truncateTornLine(file);
+        }
+        BulkCheckpoint checkpoint = new BulkCheckpoint(Files.newBufferedWriter(
+                file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+        try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            lines.filter(line -> !line.isEmpty()).forEach(checkpoint.finished::add);
+        } catch (IOException | RuntimeException ex) {
+            checkpoint.close();
+            throw ex;
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Only called from the thread that walks the input directory.
+     */
+    boolean isFinished(String path) {
+        return finished.contains(path);
+    }
+
+    /**
+     * Only called from the writer thread; the line reaches the file at the next {@link #flush()}.
+     */
+    void markFinished(String path) throws IOException {
+        writer.write(path);
+        writer.write('\n');
+    }
+
+    int size() {
+        return finished.size();
+    }
+
+    void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private static void truncateTornLine(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long end = channel.size();
+            ByteBuffer single = ByteBuffer.allocate(1);
+            while (end > 0) {
+                single.clear();
+                channel.read(single, end - 1);
+                if (single.get(0) == '\n') {
+                    break;
+                }
+                end--;
+            }
+            channel.truncate(end);
+        }
+    }
+}
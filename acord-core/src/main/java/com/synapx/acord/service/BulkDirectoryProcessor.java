@@ -0,0 +1,589 @@
+package com.synapx.acord.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.synapx.acord.exception.BadRequestException;
+import com.synapx.acord.exception.ProcessingTimeoutException;
+import com.synapx.acord.exception.ServiceOverloadedException;
+import com.synapx.acord.model.BulkResult;
+import com.synapx.acord.model.ClaimFields;
+import com.synapx.acord.model.ClaimProcessingResponse;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Runs every PDF ({@code *.pdf}) and text claim ({@code *.txt}) under a directory through the pipeline of an
+ * {@link AcordExtractor}, for backfills far larger than the REST endpoints can take.
+ *
+ * <p>Documents pass through five stages, each with its own threads and connected by bounded queues: read the file,
+ * parse the PDF on the extractor's parser pool, extract the fields, validate and route, and write. A full queue stalls
+ * the stage before it, so only a few queues' worth of documents are held at once however large the directory is.
+ * Results are written in NDJSON files {@code claims-NNNNN.ndjson} of at most {@code recordsPerFile}
+ * {@link BulkResult} lines; every run starts a new file rather than appending to one a crash may have torn.
+ *
+ * <p>Once the result of a document has been forced to disk, its relative path is appended to the {@code checkpoint}
+ * file of the output directory, and later runs skip every path listed there. A run that is killed, or loses power, may
+ * therefore write the result of a document again when resumed, but never loses one. Documents the pipeline refuses, such as scanned or
+ * empty ones, are written with their error and checkpointed. Documents that could not be read, or failed
+ * unexpectedly, are written with their error but not checkpointed, so the next run tries them again.
+ */
+public class BulkDirectoryProcessor {
+
+    public static final String CHECKPOINT_FILE = "checkpoint";
+
+    static final String RESULT_FILE_PREFIX = "claims-";
+    static final String RESULT_FILE_SUFFIX = ".ndjson";
+    /** PDFs up to this size are read into memory by the read stage; larger ones are parsed from their file. */
+    static final long READ_AHEAD_MAX_BYTES = 16L * 1024 * 1024;
+
+    private static final int FLUSH_EVERY_RECORDS = 1024;
+    private static final long SYNC_INTERVAL_NANOS = 1_000_000_000L;
+    private static final long OVERLOAD_BACKOFF_MILLIS = 50;
+    private static final BulkDocument END = new BulkDocument(null, null, false);
+
+    private final AcordExtractor extractor;
+    private final ObjectWriter resultWriter;
+    private final int readThreads;
+    private final int parseThreads;
+    private final int extractThreads;
+    private final int routeThreads;
+    private final int queueCapacity;
+    private final int recordsPerFile;
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private volatile boolean stopping;
+
+    /**
+     * @param parseThreads  documents parsed at once; the extractor should have at least as many parser threads
+     * @param queueCapacity documents waiting in front of each stage
+     */
+    public BulkDirectoryProcessor(
+            AcordExtractor extractor,
+            ObjectMapper objectMapper,
+            int readThreads,
+            int parseThreads,
+            int extractThreads,
+            int routeThreads,
+            int queueCapacity,
+            int recordsPerFile) {
+        if (readThreads < 1 || parseThreads < 1 || extractThreads < 1 || routeThreads < 1 || queueCapacity < 1
+                || recordsPerFile < 1) {
+            throw new IllegalArgumentException("Stage threads, queue capacity and records per file must be positive.");
+        }
+        this.extractor = extractor;
+        this.resultWriter = objectMapper.writerFor(BulkResult.class);
+        this.readThreads = readThreads;
+        this.parseThreads = parseThreads;
+        this.extractThreads = extractThreads;
+        this.routeThreads = routeThreads;
+        this.queueCapacity = queueCapacity;
+        this.recordsPerFile = recordsPerFile;
+    }
+
+    /**
+     * Processes every document under {@code inputDirectory} that the checkpoint in {@code outputDirectory} does not
+     * list yet, and returns once all of them are written or, after {@link #stop()}, once the documents already in
+     * the pipeline are.
+     *
+     * @throws IOException when the output directory cannot be written; documents written until then stay checkpointed
+     */
+    public Summary run(Path inputDirectory, Path outputDirectory) throws IOException {
+        if (!Files.isDirectory(inputDirectory)) {
+            throw new NoSuchFileException(inputDirectory.toString(), null, "Not a directory");
+        }
+        Files.createDirectories(outputDirectory);
+        succeeded.reset();
+        failed.reset();
+        skipped.reset();
+        try (BulkCheckpoint checkpoint = BulkCheckpoint.open(outputDirectory.resolve(CHECKPOINT_FILE));
+             ResultFiles results = new ResultFiles(outputDirectory, recordsPerFile)) {
+            Emitter emitter = new Emitter(results, checkpoint);
+            Stage write = new Stage("bulk-write", 1, null, emitter);
+            Stage route = new Stage("bulk-route", routeThreads, write, this::route);
+            Stage extract = new Stage("bulk-extract", extractThreads, route, this::extract);
+            Stage parse = new Stage("bulk-parse", parseThreads, extract, this::parse);
+            Stage read = new Stage("bulk-read", readThreads, parse, this::read);
+            for (Stage stage : List.of(write, route, extract, parse, read)) {
+                stage.start();
+            }
+            try {
+                Files.walkFileTree(inputDirectory, new Walker(inputDirectory, checkpoint, read));
+            } finally {
+                read.finish();
+                for (Stage stage : List.of(read, parse, extract, route, write)) {
+                    stage.join();
+                }
+            }
+            emitter.flush();
+        }
+        return progress();
+    }
+
+    /**
+     * Stops taking new documents; {@link #run} returns once the documents in the pipeline are written.
+     */
+    public void stop() {
+        stopping = true;
+    }
+
+    /**
+     * Counts of the current or last run; may be read while it runs.
+     */
+    public Summary progress() {
+        return new Summary(succeeded.sum(), failed.sum(), skipped.sum());
+    }
+
+    private void read(BulkDocument document) {
+        try {
+            if (document.pdf) {
+                document.source = Files.size(document.file) <= READ_AHEAD_MAX_BYTES
+                        ? PdfSource.of(Files.readAllBytes(document.file))
+                        : PdfSource.of(document.file);
+            } else {
+                document.content =
+                        PdfContent.ofText(new String(Files.readAllBytes(document.file), StandardCharsets.UTF_8));
+            }
+        } catch (IOException ex) {
+            document.fail("Cannot read: " + ex, false);
+        }
+    }
+
+    private void parse(BulkDocument document) {
+        if (document.source == null) {
+            return;
+        }
+        while (true) {
+            try {
+                document.content = extractor.parsePdf(document.source);
+                document.source = null;
+                return;
+            } catch (ServiceOverloadedException ex) {
+                // The heap budget admits a document once nothing else is parsed, so waiting always gets it through.
+                if (stopping) {
+                    throw ex;
+                }
+                try {
+                    Thread.sleep(OVERLOAD_BACKOFF_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    private void extract(BulkDocument document) {
+        document.fields = extractor.extractFields(document.content);
+        document.partial = document.content.partial();
+        document.content = null;
+    }
+
+    private void route(BulkDocument document) {
+        document.response = extractor.route(document.fields, document.partial);
+        document.fields = null;
+    }
+
+    private static String relativePath(Path root, Path file) {
+        List<String> names = new ArrayList<>();
+        root.relativize(file).forEach(name -> names.add(name.toString()));
+        return String.join("/", names);
+    }
+
+    /**
+     * Documents written with a response, written with an error, and skipped as already checkpointed.
+     */
+    public record Summary(long succeeded, long failed, long skipped) {
+    }
+
+    private static final class BulkDocument {
+
+        private final Path file;
+        private final String path;
+        private final boolean pdf;
+        private PdfSource source;
+        private PdfContent content;
+        private ClaimFields fields;
+        private boolean partial;
+        private ClaimProcessingResponse response;
+        private String error;
+        private boolean checkpointed = true;
+
+        private BulkDocument(Path file, String path, boolean pdf) {
+            this.file = file;
+            this.path = path;
+            this.pdf = pdf;
+        }
+
+        private void fail(String error, boolean checkpointed) {
+            this.error = error;
+            this.checkpointed = checkpointed;
+            this.source = null;
+            this.content = null;
+            this.fields = null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface StageWork {
+
+        void process(BulkDocument document);
+
+        /**
+         * Called when the stage has nothing queued.
+         */
+        default void idle() {
+        }
+    }
+
+    /**
+     * Threads taking documents from a bounded queue and passing every document on. Documents that have failed skip
+     * the work of every stage but the last, which writes them. The last thread to see the end of the input ends the
+     * next stage.
+     */
+    private final class Stage {
+
+        private final BlockingQueue<BulkDocument> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final List<Thread> threads = new ArrayList<>();
+        private final AtomicInteger running;
+        private final Stage next;
+        private final StageWork work;
+
+        private Stage(String name, int threadCount, Stage next, StageWork work) {
+            this.running = new AtomicInteger(threadCount);
+            this.next = next;
+            this.work = work;
+            for (int i = 1; i <= threadCount; i++) {
+                Thread thread = new Thread(this::drain, name + "-" + i);
+                thread.setDaemon(true);
+                threads.add(thread);
+            }
+        }
+
+        private void start() {
+            threads.forEach(Thread::start);
+        }
+
+        private void put(BulkDocument document) throws InterruptedException {
+            queue.put(document);
+        }
+
+        /**
+         * Ends the input; every thread stops once it takes an end marker.
+         */
+        private void finish() {
+            for (int i = 0; i < threads.size(); i++) {
+                putUninterruptibly(END);
+            }
+        }
+
+        private void join() {
+            for (Thread thread : threads) {
+                boolean interrupted = false;
+                while (thread.isAlive()) {
+                    try {
+                        thread.join();
+                    } catch (InterruptedException ex) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    BulkDocument document = queue.poll();
+                    if (document == null) {
+                        work.idle();
+                        document = queue.take();
+                    }
+                    if (document == END) {
+                        return;
+                    }
+                    if (document.error == null || next == null) {
+                        try {
+                            work.process(document);
+                        } catch (BadRequestException | ProcessingTimeoutException ex) {
+                            document.fail(ex.getMessage(), true);
+                        } catch (RuntimeException | Error ex) {
+                            // Deeply nested PDF structures can overflow the stack of the parser. Whatever failed, the
+                            // document is still passed on, as a stage that loses one never finishes the run.
+                            document.fail("Unexpected error: " + ex, false);
+                        }
+                    }
+                    if (next != null) {
+                        next.putUninterruptibly(document);
+                    }
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (running.decrementAndGet() == 0 && next != null) {
+                    next.finish();
+                }
+            }
+        }
+
+        private void putUninterruptibly(BulkDocument document) {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    queue.put(document);
+                    break;
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Feeds the read stage with the documents the checkpoint does not list, until {@link #stop()}.
+     */
+    private final class Walker extends SimpleFileVisitor<Path> {
+
+        private final Path root;
+        private final BulkCheckpoint checkpoint;
+        private final Stage read;
+
+        private Walker(Path root, BulkCheckpoint checkpoint, Stage read) {
+            this.root = root;
+            this.checkpoint = checkpoint;
+            this.read = read;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            boolean pdf = name.endsWith(".pdf");
+            if (!attributes.isRegularFile() || !(pdf || name.endsWith(".txt"))) {
+                return FileVisitResult.CONTINUE;
+            }
+            return submit(new BulkDocument(file, relativePath(root, file), pdf));
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path file, IOException ex) {
+            return submitUnreadable(file, ex);
+        }
+
+        @Override
+        public FileVisitResult postVisitDirectory(Path directory, IOException ex) {
+            return ex == null ? FileVisitResult.CONTINUE : submitUnreadable(directory, ex);
+        }
+
+        /**
+         * Reports a file or directory that could not be listed, so the next run tries it again.
+         */
+        private FileVisitResult submitUnreadable(Path file, IOException ex) {
+            BulkDocument document = new BulkDocument(file, relativePath(root, file), false);
+            document.fail("Cannot read: " + ex, false);
+            return submit(document);
+        }
+
+        private FileVisitResult submit(BulkDocument document) {
+            if (stopping) {
+                return FileVisitResult.TERMINATE;
+            }
+            if (checkpoint.isFinished(document.path)) {
+                skipped.increment();
+                return FileVisitResult.CONTINUE;
+            }
+            try {
+                read.put(document);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                stopping = true;
+                return FileVisitResult.TERMINATE;
+            }
+            return FileVisitResult.CONTINUE;
+        }
+    }
+
+    /**
+     * The write stage. Results are forced to disk before the checkpoint lines of their documents are written, at least
+     * every {@link #FLUSH_EVERY_RECORDS} documents and, when the stage runs out of queued documents, at most once per
+     * {@link #SYNC_INTERVAL_NANOS}, which bounds the cost of syncing when documents trickle in.
+     */
+    private final class Emitter implements StageWork {
+
+        private final ResultFiles results;
+        private final BulkCheckpoint checkpoint;
+        private final List<String> unflushed = new ArrayList<>();
+        private long lastSync = System.nanoTime();
+        private IOException failure;
+
+        private Emitter(ResultFiles results, BulkCheckpoint checkpoint) {
+            this.results = results;
+            this.checkpoint = checkpoint;
+        }
+
+        @Override
+        public void process(BulkDocument document) {
+            if (failure != null) {
+                return;
+            }
+            BulkResult result = document.error == null
+                    ? BulkResult.success(document.path, document.response)
+                    : BulkResult.failure(document.path, document.error);
+            try {
+                results.write(resultWriter.writeValueAsBytes(result));
+            } catch (IOException ex) {
+                fail(ex);
+                return;
+            }
+            (document.error == null ? succeeded : failed).increment();
+            if (document.checkpointed) {
+                unflushed.add(document.path);
+            }
+            if (unflushed.size() >= FLUSH_EVERY_RECORDS) {
+                sync();
+            }
+        }
+
+        @Override
+        public void idle() {
+            if (!unflushed.isEmpty() && System.nanoTime() - lastSync >= SYNC_INTERVAL_NANOS) {
+                sync();
+            }
+        }
+
+        /**
+         * Called after the write stage has stopped.
+         */
+        private void flush() throws IOException {
+            sync();
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        private void sync() {
+            if (failure != null) {
+                return;
+            }
+            try {
+                results.sync();
+                for (String path : unflushed) {
+                    checkpoint.markFinished(path);
+                }
+                checkpoint.flush();
+                unflushed.clear();
+                lastSync = System.nanoTime();
+            } catch (IOException ex) {
+                fail(ex);
+            }
+        }
+
+        private void fail(IOException ex) {
+            failure = ex;
+            stopping = true;
+        }
+    }
+
+    /**
+     * NDJSON result files numbered on from those of earlier runs, each created when its first line is written.
+     */
+    private static final class ResultFiles implements AutoCloseable {
+
+        private final Path directory;
+        private final int recordsPerFile;
+        private int index;
+        private int records;
+        private FileChannel channel;
+        private OutputStream output;
+
+        private ResultFiles(Path directory, int recordsPerFile) throws IOException {
+            this.directory = directory;
+            this.recordsPerFile = recordsPerFile;
+            this.index = lastIndex(directory);
+        }
+
+        private void write(byte[] line) throws IOException {
+            if (output == null || records == recordsPerFile) {
+                rollOver();
+            }
+            output.write(line);
+            output.write('\n');
+            records++;
+        }
+
+        /**
+         * Forces the lines written so far to disk.
+         */
+        private void sync() throws IOException {
+            if (output != null) {
+                output.flush();
+                channel.force(false);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (output != null) {
+                output.close();
+            }
+        }
+
+        private void rollOver() throws IOException {
+            close();
+            index++;
+            Path file = directory.resolve(String.format(
+                    Locale.ROOT, "%s%05d%s", RESULT_FILE_PREFIX, index, RESULT_FILE_SUFFIX));
+            channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            output = new BufferedOutputStream(Channels.newOutputStream(channel), 65_536);
+            records = 0;
+            syncDirectory(directory);
+        }
+
+        /**
+         * Makes the entry of a new result file durable, where the platform can open a directory for that.
+         */
+        private static void syncDirectory(Path directory) {
+            try (FileChannel directoryChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+                directoryChannel.force(true);
+            } catch (IOException ex) {
+                // Directories cannot be opened on every platform, Windows among them; the file data is still forced.
+            }
+        }
+
+        private static int lastIndex(Path directory) throws IOException {
+            try (Stream<Path> listing = Files.list(directory)) {
+                return listing
+                        .map(path -> path.getFileName().toString())
+                        .filter(name -> name.startsWith(RESULT_FILE_PREFIX) && name.endsWith(RESULT_FILE_SUFFIX))
+                        .map(name -> name.substring(RESULT_FILE_PREFIX.length(), name.length() - RESULT_FILE_SUFFIX.length()))
+                        .filter(number -> !number.isEmpty() && number.chars().allMatch(Character::isDigit))
+                        .mapToInt(Integer::parseInt)
+                        .max()
+                        .orElse(0);
+            }
+        }
+    }
+}
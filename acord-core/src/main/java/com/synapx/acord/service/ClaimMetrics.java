@@ -0,0 +1,101 @@
+package com.synapx.acord.service;
+
+import com.synapx.acord.model.RouteType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters for the claim pipeline. Stage and field timers publish percentile histograms, so p99 latency can
+ * be attributed to PDF parsing, text stripping or a single field extractor.
+ *
+ * <ul>
+ *     <li>{@code acord.claim.stage} timer, tagged {@code stage} ({@link ClaimStage})</li>
+ *     <li>{@code acord.claim.field} timer, tagged {@code field} (a {@code ClaimFields} property)</li>
+ *     <li>{@code acord.pdf.size} (bytes) and {@code acord.pdf.pages} summaries</li>
+ *     <li>{@code acord.claim.outcome} counter, tagged {@code route} ({@link RouteType})</li>
+ *     <li>{@code acord.claim.rejected} counter, tagged {@code reason} ({@link RejectionReason})</li>
+ * </ul>
+ */
+public class ClaimMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<ClaimStage, Timer> stageTimers = new EnumMap<>(ClaimStage.class);
+    private final Map<String, Timer> fieldTimers = new ConcurrentHashMap<>();
+    private final Map<RouteType, Counter> outcomeCounters = new EnumMap<>(RouteType.class);
+    private final Map<RejectionReason, Counter> rejectionCounters = new EnumMap<>(RejectionReason.class);
+    private final DistributionSummary documentSize;
+    private final DistributionSummary pageCount;
+
+    public ClaimMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (ClaimStage stage : ClaimStage.values()) {
+            stageTimers.put(stage, Timer.builder("acord.claim.stage")
+                    .description("Time spent in one claim processing stage")
+                    .tag("stage", stage.tag())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        for (RouteType route : RouteType.values()) {
+            outcomeCounters.put(route, Counter.builder("acord.claim.outcome")
+                    .description("Processed claims by recommended route")
+                    .tag("route", route.name())
+                    .register(meterRegistry));
+        }
+        for (RejectionReason reason : RejectionReason.values()) {
+            rejectionCounters.put(reason, Counter.builder("acord.claim.rejected")
+                    .description("Refused claim documents by reason")
+                    .tag("reason", reason.tag())
+                    .register(meterRegistry));
+        }
+        this.documentSize = DistributionSummary.builder("acord.pdf.size")
+                .description("Size of uploaded PDF documents")
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.pageCount = DistributionSummary.builder("acord.pdf.pages")
+                .description("Page count of uploaded PDF documents")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public <T> T time(ClaimStage stage, Supplier<T> step) {
+        return stageTimers.get(stage).record(step);
+    }
+
+    /**
+     * Records one execution of a stage measured by the caller, for code that throws checked exceptions or spreads a
+     * stage over several calls.
+     */
+    public void record(ClaimStage stage, long elapsedNanos) {
+        stageTimers.get(stage).record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public <T> T timeField(String field, Supplier<T> extractor) {
+        return fieldTimers.computeIfAbsent(field, name -> Timer.builder("acord.claim.field")
+                        .description("Time spent extracting one claim field")
+                        .tag("field", name)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(extractor);
+    }
+
+    public void recordDocument(long sizeBytes, int pages) {
+        documentSize.record(sizeBytes);
+        pageCount.record(pages);
+    }
+
+    public void countOutcome(RouteType route) {
+        outcomeCounters.get(route).increment();
+    }
+
+    public void countRejection(RejectionReason reason) {
+        rejectionCounters.get(reason).increment();
+    }
+}
@@ -0,0 +1,52 @@
+package com.synapx.acord.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Splits the pages of a document that bundles several claims into one segment per claim.
+ *
+ * <p>A claim starts at a page whose policy number differs from that of the claim before it. Pages without a policy
+ * number, such as continuation pages, attachments and photos, and pages that repeat the current policy number stay
+ * with the current claim. Pages before the first policy number belong to the first claim. Consecutive claims on the
+ * same policy are therefore read as one claim.
+ */
+final class ClaimSplitter {
+
+    private ClaimSplitter() {
+    }
+
+    /**
+     * @param policyNumberOfPage policy number found on the text of one page, or null
+     */
+    static List<PdfClaimSegment> split(PdfPages pages, Function<String, String> policyNumberOfPage) {
+        List<String> texts = pages.pages();
+        List<PdfClaimSegment> segments = new ArrayList<>();
+        int startPage = 1;
+        String currentPolicy = null;
+        for (int page = 1; page <= texts.size(); page++) {
+            String policyNumber = policyNumberOfPage.apply(texts.get(page - 1));
+            if (StringUtils.isBlank(policyNumber)) {
+                continue;
+            }
+            String policyKey = policyNumber.trim().toUpperCase(Locale.ROOT);
+            if (currentPolicy != null && !currentPolicy.equals(policyKey)) {
+                segments.add(segment(texts, startPage, page - 1, false));
+                startPage = page;
+            }
+            currentPolicy = policyKey;
+        }
+        if (!texts.isEmpty()) {
+            segments.add(segment(texts, startPage, texts.size(), pages.partial()));
+        }
+        return segments;
+    }
+
+    private static PdfClaimSegment segment(List<String> texts, int startPage, int endPage, boolean partial) {
+        return new PdfClaimSegment(
+                startPage, endPage, String.join("", texts.subList(startPage - 1, endPage)), partial);
+    }
+}
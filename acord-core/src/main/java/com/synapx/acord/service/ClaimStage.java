@@ -0,0 +1,26 @@
+package com.synapx.acord.service;
+
+/**
+ * Timed steps of claim processing, reported as the {@code stage} tag of {@code acord.claim.stage}.
+ */
+public enum ClaimStage {
+    PDF_LOAD("pdfLoad"),
+    FORM_READ("formRead"),
+    SCAN_CHECK("scanCheck"),
+    TEXT_STRIP("textStrip"),
+    NORMALIZATION("normalization"),
+    LABEL_INDEX("labelIndex"),
+    SETTLE_CHECK("settleCheck"),
+    VALIDATION("validation"),
+    ROUTING("routing");
+
+    private final String tag;
+
+    ClaimStage(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,45 @@
+package com.synapx.acord.service;
+
+import java.time.Duration;
+
+/**
+ * Point in time by which processing of one document should be finished.
+ */
+public final class Deadline {
+
+    /** A deadline that never expires. */
+    public static final Deadline NONE = new Deadline(Duration.ZERO, Long.MAX_VALUE);
+
+    private final Duration timeout;
+    private final long expiresAtNanos;
+
+    private Deadline(Duration timeout, long expiresAtNanos) {
+        this.timeout = timeout;
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * @param timeout time from now; zero or negative means {@link #NONE}
+     */
+    public static Deadline after(Duration timeout) {
+        if (timeout == null || timeout.isZero() || timeout.isNegative()) {
+            return NONE;
+        }
+        return new Deadline(timeout, System.nanoTime() + timeout.toNanos());
+    }
+
+    public boolean isExpired() {
+        return this != NONE && System.nanoTime() - expiresAtNanos >= 0;
+    }
+
+    /**
+     * Nanoseconds left, zero once expired, {@link Long#MAX_VALUE} for {@link #NONE}.
+     */
+    public long remainingNanos() {
+        return this == NONE ? Long.MAX_VALUE : Math.max(0, expiresAtNanos - System.nanoTime());
+    }
+
+    public Duration timeout() {
+        return timeout;
+    }
+}
@@ -0,0 +1,80 @@
+package com.synapx.acord.service;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+/**
+ * Position-sorted text stripper that stops at the first page boundary past its {@link Deadline}. The text of the pages
+ * finished until then is kept, so a long document can still be returned in part.
+ */
+final class DeadlineTextStripper extends PDFTextStripper {
+
+    private final Deadline deadline;
+    private boolean truncated;
+
+    DeadlineTextStripper(Deadline deadline) throws IOException {
+        this.deadline = deadline;
+        setSortByPosition(true);
+    }
+
+    /**
+     * Text of the pages between the start and end page, or of those stripped before the deadline; see
+     * {@link #isTruncated()}.
+     */
+    String strip(PDDocument document) throws IOException {
+        truncated = false;
+        StringWriter output = new StringWriter();
+        try {
+            writeText(document, output);
+        } catch (DeadlineReached reached) {
+            truncated = true;
+        }
+        return output.toString();
+    }
+
+    /**
+     * Text of each page from {@code startPage} to {@code endPage}, stripped one page at a time until the deadline.
+     */
+    PdfPages stripPages(PDDocument document, int startPage, int endPage) throws IOException {
+        List<String> pages = new ArrayList<>(Math.max(0, endPage - startPage + 1));
+        for (int page = startPage; page <= endPage; page++) {
+            setStartPage(page);
+            setEndPage(page);
+            String text = strip(document);
+            if (truncated) {
+                return new PdfPages(pages, true);
+            }
+            pages.add(text);
+        }
+        return new PdfPages(pages, false);
+    }
+
+    /**
+     * Whether the last {@link #strip(PDDocument)} stopped at the deadline before its end page.
+     */
+    boolean isTruncated() {
+        return truncated;
+    }
+
+    @Override
+    protected void startPage(PDPage page) throws IOException {
+        if (deadline.isExpired()) {
+            throw DeadlineReached.INSTANCE;
+        }
+        super.startPage(page);
+    }
+
+    private static final class DeadlineReached extends RuntimeException {
+
+        private static final DeadlineReached INSTANCE = new DeadlineReached();
+
+        private DeadlineReached() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.synapx.acord.service;
+
+/**
+ * Label variants recognised by {@link FieldExtractorService}.
+ * Words match case-insensitively (ASCII only) and may be separated by any run of whitespace, including none.
+ * Every label must start at a word boundary and end at one.
+ */
+enum ExtractionLabel {
+    POLICY_NUMBER("POLICY NUMBER"),
+    POLICY_NO("POLICY NO", true),
+    DATE_OF_LOSS("DATE OF LOSS"),
+    LOSS_DATE("LOSS DATE"),
+    TIME_OF_LOSS("TIME OF LOSS"),
+    LOSS_TIME("LOSS TIME"),
+    LOCATION_OF_LOSS("LOCATION OF LOSS"),
+    LOSS_LOCATION("LOSS LOCATION"),
+    DESCRIPTION_OF_ACCIDENT("DESCRIPTION OF ACCIDENT"),
+    ACCIDENT_DESCRIPTION("ACCIDENT DESCRIPTION"),
+    ESTIMATE_AMOUNT("ESTIMATE AMOUNT"),
+    AMOUNT_OF_ESTIMATE("AMOUNT OF ESTIMATE"),
+    INSURED_NAME("INSURED NAME"),
+    NAME_OF_INSURED("NAME OF INSURED"),
+    DRIVER_NAME("DRIVER NAME"),
+    NAME_OF_DRIVER("NAME OF DRIVER"),
+    OWNER_NAME("OWNER NAME"),
+    NAME_OF_OWNER("NAME OF OWNER"),
+    INJURED_PERSON("INJURED PERSON"),
+    INJURED("INJURED"),
+    INJURY_INDICATOR("INJURY INDICATOR"),
+    CLAIM_TYPE("CLAIM TYPE"),
+    STREET("STREET"),
+    ADDRESS("ADDRESS"),
+    CITY("CITY"),
+    STATE("STATE"),
+    ZIP("ZIP"),
+    ZIP_CODE("ZIP CODE");
+
+    private final String text;
+    private final boolean optionalTrailingDot;
+
+    ExtractionLabel(String text) {
+        this(text, false);
+    }
+
+    /**
+     * @param optionalTrailingDot when true the label may end with a '.' (as in "POLICY NO."), which is consumed only
+     *                            when a word character follows it directly
+     */
+    ExtractionLabel(String text, boolean optionalTrailingDot) {
+        this.text = text;
+        this.optionalTrailingDot = optionalTrailingDot;
+    }
+
+    String text() {
+        return text;
+    }
+
+    boolean optionalTrailingDot() {
+        return optionalTrailingDot;
+    }
+}
@@ -0,0 +1,438 @@
+package com.synapx.acord.service;
+
+import static com.synapx.acord.service.ExtractionLabel.ACCIDENT_DESCRIPTION;
+import static com.synapx.acord.service.ExtractionLabel.ADDRESS;
+import static com.synapx.acord.service.ExtractionLabel.AMOUNT_OF_ESTIMATE;
+import static com.synapx.acord.service.ExtractionLabel.CITY;
+import static com.synapx.acord.service.ExtractionLabel.CLAIM_TYPE;
+import static com.synapx.acord.service.ExtractionLabel.DATE_OF_LOSS;
+import static com.synapx.acord.service.ExtractionLabel.DESCRIPTION_OF_ACCIDENT;
+import static com.synapx.acord.service.ExtractionLabel.DRIVER_NAME;
+import static com.synapx.acord.service.ExtractionLabel.ESTIMATE_AMOUNT;
+import static com.synapx.acord.service.ExtractionLabel.INJURED;
+import static com.synapx.acord.service.ExtractionLabel.INJURED_PERSON;
+import static com.synapx.acord.service.ExtractionLabel.INJURY_INDICATOR;
+import static com.synapx.acord.service.ExtractionLabel.INSURED_NAME;
+import static com.synapx.acord.service.ExtractionLabel.LOCATION_OF_LOSS;
+import static com.synapx.acord.service.ExtractionLabel.LOSS_DATE;
+import static com.synapx.acord.service.ExtractionLabel.LOSS_LOCATION;
+import static com.synapx.acord.service.ExtractionLabel.LOSS_TIME;
+import static com.synapx.acord.service.ExtractionLabel.NAME_OF_DRIVER;
+import static com.synapx.acord.service.ExtractionLabel.NAME_OF_INSURED;
+import static com.synapx.acord.service.ExtractionLabel.NAME_OF_OWNER;
+import static com.synapx.acord.service.ExtractionLabel.OWNER_NAME;
+import static com.synapx.acord.service.ExtractionLabel.POLICY_NO;
+import static com.synapx.acord.service.ExtractionLabel.POLICY_NUMBER;
+import static com.synapx.acord.service.ExtractionLabel.STATE;
+import static com.synapx.acord.service.ExtractionLabel.STREET;
+import static com.synapx.acord.service.ExtractionLabel.TIME_OF_LOSS;
+import static com.synapx.acord.service.ExtractionLabel.ZIP;
+import static com.synapx.acord.service.ExtractionLabel.ZIP_CODE;
+
+import com.synapx.acord.model.ClaimFields;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+
+@RequiredArgsConstructor
+public class FieldExtractorService {
+
+    private static final List<String> FRAUD_KEYWORDS = List.of("fraud", "inconsistent", "staged");
+
+    private static final Set<String> NEGATIVE_INJURY_VALUES = Set.of(
+            "no", "none", "n/a", "na", "false", "0", "no injury", "no injuries", "not injured");
+
+    private static final List<String> KNOWN_LABELS = List.of(
+            "POLICY NUMBER",
+            "DATE OF LOSS",
+            "TIME OF LOSS",
+            "LOCATION OF LOSS",
+            "DESCRIPTION OF ACCIDENT",
+            "ESTIMATE AMOUNT",
+            "INSURED NAME",
+            "DRIVER NAME",
+            "OWNER NAME",
+            "INJURED",
+            "CLAIM TYPE");
+
+    private static final List<ExtractionLabel> LOCATION_STOP_LABELS = List.of(
+            DESCRIPTION_OF_ACCIDENT,
+            ESTIMATE_AMOUNT,
+            DATE_OF_LOSS,
+            TIME_OF_LOSS,
+            INJURED,
+            CLAIM_TYPE,
+            INSURED_NAME,
+            DRIVER_NAME,
+            OWNER_NAME);
+
+    private static final List<ExtractionLabel> DESCRIPTION_STOP_LABELS = List.of(
+            ESTIMATE_AMOUNT,
+            INJURED,
+            CLAIM_TYPE,
+            POLICY_NUMBER,
+            DATE_OF_LOSS,
+            TIME_OF_LOSS,
+            LOCATION_OF_LOSS,
+            INSURED_NAME,
+            DRIVER_NAME,
+            OWNER_NAME);
+
+    private final ClaimMetrics claimMetrics;
+
+    public ClaimFields extractFields(String rawText) {
+        String text = claimMetrics.time(ClaimStage.NORMALIZATION, () -> normalizeText(rawText));
+        if (StringUtils.isBlank(text)) {
+            return new ClaimFields();
+        }
+        return extractFields(claimMetrics.time(ClaimStage.LABEL_INDEX, () -> LabelIndex.of(text)), true);
+    }
+
+    /**
+     * Extracts fields from the beginning of a document, such as its first pages, and returns them only when more text
+     * could no longer change them. A field counts as settled once its complete value has been seen under a label
+     * variant and every variant that takes precedence over it has been seen as well: single-line fields have a value,
+     * the location and description blocks are closed by a following label, and injury is indicated by the claim type or
+     * the injured value. A claim without injury never settles, since a claim type of injury anywhere later in the
+     * document would indicate it. Other labels repeated later in the document are not considered.
+     * The whole check is timed as {@link ClaimStage#SETTLE_CHECK}, apart from the stages of the final extraction.
+     */
+    public Optional<ClaimFields> extractIfSettled(String rawTextPrefix) {
+        return claimMetrics.time(ClaimStage.SETTLE_CHECK, () -> {
+            String text = normalizeText(rawTextPrefix);
+            if (StringUtils.isBlank(text)) {
+                return Optional.empty();
+            }
+            LabelIndex index = LabelIndex.of(text);
+            ClaimFields fields = extractFields(index, false);
+            return isSettled(fields, index) ? Optional.of(fields) : Optional.empty();
+        });
+    }
+
+    /**
+     * Policy number found in the text of a single page, or null. Used to find where the claims of a bundled document
+     * begin, without extracting the other fields of every page.
+     */
+    String extractPolicyNumber(String rawText) {
+        String text = normalizeText(rawText);
+        if (StringUtils.isBlank(text)) {
+            return null;
+        }
+        return extractLabeledValue(LabelIndex.of(text), List.of(POLICY_NUMBER, POLICY_NO));
+    }
+
+    /**
+     * Builds claim fields from values that are already separated per label, such as AcroForm fields, applying the
+     * same cleanup and normalization as text extraction.
+     */
+    ClaimFields extractFormFields(Map<ExtractionLabel, String> values) {
+        ClaimFields fields = new ClaimFields();
+        fields.setPolicyNumber(formValue(values, List.of(POLICY_NUMBER, POLICY_NO)));
+        fields.setDateOfLoss(ValueScanner.findDate(formValue(values, List.of(DATE_OF_LOSS, LOSS_DATE))));
+        fields.setTimeOfLoss(ValueScanner.findTime(formValue(values, List.of(TIME_OF_LOSS, LOSS_TIME))));
+        String location = formValue(values, List.of(LOCATION_OF_LOSS, LOSS_LOCATION));
+        fields.setLocationOfLoss(StringUtils.isNotBlank(location)
+                ? location
+                : cleanValue(buildLocationFromAddressComponents(
+                        formValue(values, List.of(STREET, ADDRESS)),
+                        formValue(values, List.of(CITY)),
+                        formValue(values, List.of(STATE)),
+                        formValue(values, List.of(ZIP, ZIP_CODE)))));
+        fields.setDescriptionOfAccident(formValue(values, List.of(DESCRIPTION_OF_ACCIDENT, ACCIDENT_DESCRIPTION)));
+        fields.setEstimateAmount(ValueScanner.findAmount(formValue(values, List.of(ESTIMATE_AMOUNT, AMOUNT_OF_ESTIMATE))));
+        fields.setInsuredName(formValue(values, List.of(INSURED_NAME, NAME_OF_INSURED)));
+        fields.setDriverName(formValue(values, List.of(DRIVER_NAME, NAME_OF_DRIVER)));
+        fields.setOwnerName(formValue(values, List.of(OWNER_NAME, NAME_OF_OWNER)));
+        String claimType = formValue(values, List.of(CLAIM_TYPE));
+        fields.setInjuryPresent(isInjuredValue(formValue(values, List.of(INJURED_PERSON, INJURED, INJURY_INDICATOR)))
+                || (claimType != null && claimType.toUpperCase(Locale.ROOT).startsWith("INJURY")));
+        fields.setFraudFlagPresent(detectFraud(fields.getDescriptionOfAccident()));
+        return fields;
+    }
+
+    /**
+     * The values of a partly filled form, with the fields it leaves empty taken from the text of the document.
+     */
+    ClaimFields mergeFormFields(ClaimFields formFields, ClaimFields textFields) {
+        ClaimFields fields = new ClaimFields();
+        fields.setPolicyNumber(StringUtils.firstNonBlank(formFields.getPolicyNumber(), textFields.getPolicyNumber()));
+        fields.setDateOfLoss(StringUtils.firstNonBlank(formFields.getDateOfLoss(), textFields.getDateOfLoss()));
+        fields.setTimeOfLoss(StringUtils.firstNonBlank(formFields.getTimeOfLoss(), textFields.getTimeOfLoss()));
+        fields.setLocationOfLoss(
+                StringUtils.firstNonBlank(formFields.getLocationOfLoss(), textFields.getLocationOfLoss()));
+        fields.setDescriptionOfAccident(StringUtils.firstNonBlank(
+                formFields.getDescriptionOfAccident(), textFields.getDescriptionOfAccident()));
+        fields.setEstimateAmount(formFields.getEstimateAmount() != null
+                ? formFields.getEstimateAmount()
+                : textFields.getEstimateAmount());
+        fields.setInsuredName(StringUtils.firstNonBlank(formFields.getInsuredName(), textFields.getInsuredName()));
+        fields.setDriverName(StringUtils.firstNonBlank(formFields.getDriverName(), textFields.getDriverName()));
+        fields.setOwnerName(StringUtils.firstNonBlank(formFields.getOwnerName(), textFields.getOwnerName()));
+        fields.setInjuryPresent(
+                Boolean.TRUE.equals(formFields.getInjuryPresent()) || Boolean.TRUE.equals(textFields.getInjuryPresent()));
+        fields.setFraudFlagPresent(detectFraud(fields.getDescriptionOfAccident()));
+        return fields;
+    }
+
+    /**
+     * @param timed whether to record the per-field timers; the settle check is timed as a whole instead
+     */
+    private ClaimFields extractFields(LabelIndex index, boolean timed) {
+        ClaimFields fields = new ClaimFields();
+        fields.setPolicyNumber(timeField(timed, "policyNumber",
+                () -> extractLabeledValue(index, List.of(POLICY_NUMBER, POLICY_NO))));
+        fields.setDateOfLoss(timeField(timed, "dateOfLoss", () -> extractDate(index)));
+        fields.setTimeOfLoss(timeField(timed, "timeOfLoss", () -> extractTime(index)));
+        fields.setLocationOfLoss(timeField(timed, "locationOfLoss", () -> extractLocation(index)));
+        fields.setDescriptionOfAccident(timeField(timed, "descriptionOfAccident", () -> extractDescription(index)));
+        fields.setEstimateAmount(timeField(timed, "estimateAmount", () -> extractEstimateAmount(index)));
+        fields.setInsuredName(timeField(timed, "insuredName",
+                () -> extractLabeledValue(index, List.of(INSURED_NAME, NAME_OF_INSURED))));
+        fields.setDriverName(timeField(timed, "driverName",
+                () -> extractLabeledValue(index, List.of(DRIVER_NAME, NAME_OF_DRIVER))));
+        fields.setOwnerName(timeField(timed, "ownerName",
+                () -> extractLabeledValue(index, List.of(OWNER_NAME, NAME_OF_OWNER))));
+        fields.setInjuryPresent(timeField(timed, "injuryPresent", () -> detectInjury(index)));
+        fields.setFraudFlagPresent(timeField(timed, "fraudFlagPresent",
+                () -> detectFraud(fields.getDescriptionOfAccident())));
+        return fields;
+    }
+
+    private <T> T timeField(boolean timed, String field, Supplier<T> extractor) {
+        return timed ? claimMetrics.timeField(field, extractor) : extractor.get();
+    }
+
+    private boolean isSettled(ClaimFields fields, LabelIndex index) {
+        boolean singleLineFieldsSettled =
+                isLabeledValueSettled(index, List.of(POLICY_NUMBER, POLICY_NO), value -> value)
+                        && isLabeledValueSettled(index, List.of(DATE_OF_LOSS, LOSS_DATE), ValueScanner::findDate)
+                        && isLabeledValueSettled(index, List.of(TIME_OF_LOSS, LOSS_TIME), ValueScanner::findTime)
+                        && isLabeledValueSettled(
+                                index, List.of(ESTIMATE_AMOUNT, AMOUNT_OF_ESTIMATE), ValueScanner::findAmount)
+                        && isLabeledValueSettled(index, List.of(INSURED_NAME, NAME_OF_INSURED), value -> value)
+                        && isLabeledValueSettled(index, List.of(DRIVER_NAME, NAME_OF_DRIVER), value -> value)
+                        && isLabeledValueSettled(index, List.of(OWNER_NAME, NAME_OF_OWNER), value -> value);
+        boolean blocksSettled = StringUtils.isNotBlank(fields.getLocationOfLoss())
+                && StringUtils.isNotBlank(fields.getDescriptionOfAccident())
+                && isBlockSettled(index, List.of(LOCATION_OF_LOSS, LOSS_LOCATION), LOCATION_STOP_LABELS)
+                && isBlockSettled(index, List.of(DESCRIPTION_OF_ACCIDENT, ACCIDENT_DESCRIPTION), DESCRIPTION_STOP_LABELS);
+        return singleLineFieldsSettled && blocksSettled && isInjurySettled(index);
+    }
+
+    /**
+     * Whether the value {@link #extractLabeledValue} finds for {@code labels} is final: it comes from a variant that
+     * {@code parser} accepts, and every variant taking precedence has been seen without a value.
+     */
+    private boolean isLabeledValueSettled(
+            LabelIndex index, List<ExtractionLabel> labels, Function<String, ?> parser) {
+        for (ExtractionLabel label : labels) {
+            if (!index.contains(label)) {
+                return false;
+            }
+            String value = extractLabeledValue(index, List.of(label));
+            if (value != null) {
+                return parser.apply(value) != null;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether the block {@link #extractMultilineLabeledValue} finds for {@code labels} is final: it and the blocks of
+     * every variant taking precedence are closed.
+     */
+    private boolean isBlockSettled(LabelIndex index, List<ExtractionLabel> labels, List<ExtractionLabel> stopLabels) {
+        for (ExtractionLabel label : labels) {
+            if (!index.isBlockClosed(label, stopLabels)) {
+                return false;
+            }
+            if (extractMultilineLabeledValue(index, List.of(label), stopLabels) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Injury is final once it is indicated, by a claim type of injury on any occurrence or by a final injured value
+     * naming a person. The absence of injury never is: {@link #detectInjury} looks at every claim type, so one of
+     * injury further on in the document would still indicate it.
+     */
+    private boolean isInjurySettled(LabelIndex index) {
+        if (index.isFollowedBy(CLAIM_TYPE, "INJURY")) {
+            return true;
+        }
+        List<ExtractionLabel> injuredLabels = List.of(INJURED_PERSON, INJURED, INJURY_INDICATOR);
+        return isLabeledValueSettled(index, injuredLabels, value -> value)
+                && isInjuredValue(extractLabeledValue(index, injuredLabels));
+    }
+
+    private String extractDate(LabelIndex index) {
+        String date = ValueScanner.findDate(extractLabeledValue(index, List.of(DATE_OF_LOSS, LOSS_DATE)));
+        return date != null ? date : ValueScanner.findDate(index.text());
+    }
+
+    private String extractTime(LabelIndex index) {
+        String time = ValueScanner.findTime(extractLabeledValue(index, List.of(TIME_OF_LOSS, LOSS_TIME)));
+        return time != null ? time : ValueScanner.findTime(index.text());
+    }
+
+    private String extractLocation(LabelIndex index) {
+        String location = extractMultilineLabeledValue(index, List.of(LOCATION_OF_LOSS, LOSS_LOCATION), LOCATION_STOP_LABELS);
+        if (StringUtils.isBlank(location)) {
+            location = extractLabeledValue(index, List.of(LOCATION_OF_LOSS, LOSS_LOCATION));
+        }
+        if (StringUtils.isBlank(location)) {
+            location = buildLocationFromAddressComponents(index);
+        }
+        return cleanValue(location);
+    }
+
+    private String extractDescription(LabelIndex index) {
+        String description = extractMultilineLabeledValue(
+                index,
+                List.of(DESCRIPTION_OF_ACCIDENT, ACCIDENT_DESCRIPTION),
+                DESCRIPTION_STOP_LABELS);
+        if (StringUtils.isBlank(description)) {
+            description = extractLabeledValue(index, List.of(DESCRIPTION_OF_ACCIDENT, ACCIDENT_DESCRIPTION));
+        }
+        return cleanValue(description);
+    }
+
+    private Integer extractEstimateAmount(LabelIndex index) {
+        String estimateCandidate = extractLabeledValue(index, List.of(ESTIMATE_AMOUNT, AMOUNT_OF_ESTIMATE));
+        Integer amount = ValueScanner.findAmount(estimateCandidate);
+        if (amount != null) {
+            return amount;
+        }
+        return ValueScanner.findAmount(index.amountAfter(ESTIMATE_AMOUNT));
+    }
+
+    private boolean detectInjury(LabelIndex index) {
+        String injuredValue = extractLabeledValue(index, List.of(INJURED_PERSON, INJURED, INJURY_INDICATOR));
+        boolean injuredSectionHasPerson = isInjuredValue(injuredValue);
+
+        boolean claimTypeInjury = index.isFollowedBy(CLAIM_TYPE, "INJURY");
+
+        return injuredSectionHasPerson || claimTypeInjury;
+    }
+
+    private boolean isInjuredValue(String injuredValue) {
+        return StringUtils.isNotBlank(injuredValue) && !NEGATIVE_INJURY_VALUES.contains(normalizeToken(injuredValue));
+    }
+
+    private boolean detectFraud(String description) {
+        if (StringUtils.isBlank(description)) {
+            return false;
+        }
+        String lower = description.toLowerCase(Locale.ROOT);
+        return FRAUD_KEYWORDS.stream().anyMatch(lower::contains);
+    }
+
+    private String extractLabeledValue(LabelIndex index, List<ExtractionLabel> labels) {
+        for (ExtractionLabel label : labels) {
+            String sameLine = cleanValue(index.sameLineValue(label));
+            if (StringUtils.isNotBlank(sameLine)) {
+                return sameLine;
+            }
+
+            String nextLine = cleanValue(index.nextLineValue(label));
+            if (StringUtils.isNotBlank(nextLine)) {
+                return nextLine;
+            }
+        }
+        return null;
+    }
+
+    private String formValue(Map<ExtractionLabel, String> values, List<ExtractionLabel> labels) {
+        for (ExtractionLabel label : labels) {
+            String value = cleanValue(values.get(label));
+            if (StringUtils.isNotBlank(value)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private String extractMultilineLabeledValue(
+            LabelIndex index, List<ExtractionLabel> labels, List<ExtractionLabel> stopLabels) {
+        for (ExtractionLabel label : labels) {
+            String block = index.blockValue(label, stopLabels);
+            if (block != null) {
+                String cleaned = cleanCollapsed(ValueScanner.collapseBlock(block));
+                if (cleaned != null) {
+                    return cleaned;
+                }
+            }
+        }
+        return null;
+    }
+
+    private String cleanValue(String value) {
+        if (StringUtils.isBlank(value)) {
+            return null;
+        }
+        return cleanCollapsed(ValueScanner.collapse(value));
+    }
+
+    private String cleanCollapsed(String collapsed) {
+        if (StringUtils.isBlank(collapsed) || isKnownLabel(collapsed)) {
+            return null;
+        }
+        return collapsed;
+    }
+
+    private boolean isKnownLabel(String value) {
+        for (String knownLabel : KNOWN_LABELS) {
+            if (ValueScanner.equalsLabelWords(value, knownLabel)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String buildLocationFromAddressComponents(LabelIndex index) {
+        return buildLocationFromAddressComponents(
+                extractLabeledValue(index, List.of(STREET, ADDRESS)),
+                extractLabeledValue(index, List.of(CITY)),
+                extractLabeledValue(index, List.of(STATE)),
+                extractLabeledValue(index, List.of(ZIP, ZIP_CODE)));
+    }
+
+    private String buildLocationFromAddressComponents(String street, String city, String state, String zip) {
+        List<String> parts = new ArrayList<>();
+        if (StringUtils.isNotBlank(street)) {
+            parts.add(street);
+        }
+        String cityStateZip = Stream.of(city, state, zip)
+                .filter(StringUtils::isNotBlank)
+                .collect(Collectors.joining(" "));
+        if (StringUtils.isNotBlank(cityStateZip)) {
+            parts.add(cityStateZip);
+        }
+        if (parts.isEmpty()) {
+            return null;
+        }
+        return String.join(", ", parts);
+    }
+
+    private String normalizeToken(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static String normalizeText(String rawText) {
+        if (rawText == null) {
+            return "";
+        }
+        return ValueScanner.normalizeLineBreaks(rawText);
+    }
+}
@@ -0,0 +1,386 @@
+package com.synapx.acord.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Offsets of every {@link ExtractionLabel} occurrence and every line break in one normalized document.
+ *
+ * <p>The index is built in a single left-to-right pass: at each word start the shared label trie is walked, so all
+ * label variants are located together instead of rescanning the text once per variant. Values are then cut out by
+ * offset. The value accessors reproduce the matching rules of the label regexes previously compiled per call
+ * (for example {@code (?im)\bLABEL\b\s*[:#\-]?\s*([^\r\n]+)}), including which occurrence wins.
+ *
+ * <p>Expects text already normalized by {@link FieldExtractorService} (no carriage returns).
+ */
+final class LabelIndex {
+
+    private static final ExtractionLabel[] LABELS = ExtractionLabel.values();
+
+    private static final Node TRIE = buildTrie();
+
+    private final String text;
+    private final int length;
+    private final int[] lineBreaks;
+    private final int[][] occurrences;
+    private final int[] occurrenceCounts;
+
+    private LabelIndex(String text) {
+        this.text = text;
+        this.length = text.length();
+        this.occurrences = new int[LABELS.length][];
+        this.occurrenceCounts = new int[LABELS.length];
+
+        int[] breaks = new int[16];
+        int breakCount = 0;
+        boolean previousIsWord = false;
+        int i = 0;
+        while (i < length) {
+            int codePoint = text.codePointAt(i);
+            int width = Character.charCount(codePoint);
+            boolean word = isWord(codePoint);
+            if (codePoint == '\n') {
+                if (breakCount == breaks.length) {
+                    breaks = Arrays.copyOf(breaks, breakCount * 2);
+                }
+                breaks[breakCount++] = i;
+            } else if (word && !previousIsWord && asciiUpper(codePoint) >= 'A' && asciiUpper(codePoint) <= 'Z') {
+                walk(TRIE, i, i);
+            }
+            previousIsWord = word;
+            i += width;
+        }
+        this.lineBreaks = Arrays.copyOf(breaks, breakCount);
+    }
+
+    static LabelIndex of(String text) {
+        return new LabelIndex(text);
+    }
+
+    String text() {
+        return text;
+    }
+
+    /**
+     * Value on the remainder of the line after the first occurrence of {@code label}, where leading whitespace
+     * (including line breaks) and one optional ':', '#' or '-' separator are skipped.
+     */
+    String sameLineValue(ExtractionLabel label) {
+        if (occurrenceCounts[label.ordinal()] == 0) {
+            return null;
+        }
+        int afterLabel = skipWhitespace(occurrences[label.ordinal()][1]);
+        if (afterLabel == length) {
+            return null;
+        }
+        int start = afterLabel;
+        if (isSeparator(text.charAt(afterLabel))) {
+            start = skipWhitespace(afterLabel + 1);
+            if (start == length) {
+                return lastNonBreak(afterLabel + 1) < 0 ? text.substring(afterLabel, lineEnd(afterLabel)) : null;
+            }
+        }
+        return text.substring(start, lineEnd(start));
+    }
+
+    /**
+     * Value on the first non-blank line that follows the label across at least one line break. Occurrences without
+     * a line break between the label and its value are skipped.
+     */
+    String nextLineValue(ExtractionLabel label) {
+        int[] found = occurrences[label.ordinal()];
+        int count = occurrenceCounts[label.ordinal()];
+        for (int k = 0; k < count; k++) {
+            int labelEnd = found[2 * k + 1];
+            int afterLabel = skipWhitespace(labelEnd);
+            if (afterLabel == length) {
+                return null;
+            }
+            if (isSeparator(text.charAt(afterLabel))) {
+                int afterSeparator = skipWhitespace(afterLabel + 1);
+                int lineBreak = firstLineBreak(afterLabel + 1, afterSeparator);
+                if (lineBreak >= 0 && afterSeparator < length) {
+                    return text.substring(afterSeparator, lineEnd(afterSeparator));
+                }
+                if (lineBreak >= 0 && lastNonBreak(lineBreak + 1) >= 0) {
+                    return null;
+                }
+            }
+            if (firstLineBreak(labelEnd, afterLabel) >= 0) {
+                return text.substring(afterLabel, lineEnd(afterLabel));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Raw block after the first occurrence of {@code label}, running until a line break followed by one of
+     * {@code stopLabels} or the end of the text. Line breaks inside the block are kept.
+     */
+    String blockValue(ExtractionLabel label, Collection<ExtractionLabel> stopLabels) {
+        if (occurrenceCounts[label.ordinal()] == 0) {
+            return null;
+        }
+        int afterLabel = skipWhitespace(occurrences[label.ordinal()][1]);
+        if (afterLabel == length) {
+            return null;
+        }
+        int start = isSeparator(text.charAt(afterLabel)) ? skipWhitespace(afterLabel + 1) : afterLabel;
+        if (start == length) {
+            return afterLabel == length - 1 ? text.substring(afterLabel) : null;
+        }
+
+        int end = length;
+        for (ExtractionLabel stopLabel : stopLabels) {
+            int stop = firstStopBreak(stopLabel, start);
+            if (stop >= 0 && stop < end) {
+                end = stop;
+            }
+        }
+        return text.substring(start, end);
+    }
+
+    /**
+     * Whether the block after the first occurrence of {@code label} is already terminated by one of
+     * {@code stopLabels}, so appending text cannot extend it.
+     */
+    boolean isBlockClosed(ExtractionLabel label, Collection<ExtractionLabel> stopLabels) {
+        if (occurrenceCounts[label.ordinal()] == 0) {
+            return false;
+        }
+        int start = valueStart(occurrences[label.ordinal()][1]);
+        if (start == length) {
+            return false;
+        }
+        for (ExtractionLabel stopLabel : stopLabels) {
+            if (firstStopBreak(stopLabel, start) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean contains(ExtractionLabel label) {
+        return occurrenceCounts[label.ordinal()] > 0;
+    }
+
+    /**
+     * Money token ({@code [$]?\s*\d[\d,]*(?:\.\d{1,2})?}) directly after the first occurrence of {@code label} that
+     * is followed by one, or null.
+     */
+    String amountAfter(ExtractionLabel label) {
+        int[] found = occurrences[label.ordinal()];
+        int count = occurrenceCounts[label.ordinal()];
+        for (int k = 0; k < count; k++) {
+            int start = valueStart(found[2 * k + 1]);
+            int digits = start;
+            if (digits < length && text.charAt(digits) == '$') {
+                digits = skipWhitespace(digits + 1);
+            }
+            if (digits == length || !isAsciiDigit(text.charAt(digits))) {
+                continue;
+            }
+            int end = digits + 1;
+            while (end < length && (isAsciiDigit(text.charAt(end)) || text.charAt(end) == ',')) {
+                end++;
+            }
+            if (end + 1 < length && text.charAt(end) == '.' && isAsciiDigit(text.charAt(end + 1))) {
+                end += 2;
+                if (end < length && isAsciiDigit(text.charAt(end))) {
+                    end++;
+                }
+            }
+            return text.substring(start, end);
+        }
+        return null;
+    }
+
+    /**
+     * Whether any occurrence of {@code label} is directly followed by {@code word} (ASCII upper case), ending at a
+     * word boundary.
+     */
+    boolean isFollowedBy(ExtractionLabel label, String word) {
+        int[] found = occurrences[label.ordinal()];
+        int count = occurrenceCounts[label.ordinal()];
+        for (int k = 0; k < count; k++) {
+            int start = valueStart(found[2 * k + 1]);
+            int end = start + word.length();
+            if (end <= length && matchesUpper(start, word) && isWordBoundary(end)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int valueStart(int labelEnd) {
+        int afterLabel = skipWhitespace(labelEnd);
+        if (afterLabel < length && isSeparator(text.charAt(afterLabel))) {
+            return skipWhitespace(afterLabel + 1);
+        }
+        return afterLabel;
+    }
+
+    private int firstStopBreak(ExtractionLabel stopLabel, int valueStart) {
+        int[] found = occurrences[stopLabel.ordinal()];
+        int count = occurrenceCounts[stopLabel.ordinal()];
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (found[2 * mid] <= valueStart) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int k = low; k < count; k++) {
+            int stopStart = found[2 * k];
+            int runStart = stopStart;
+            while (runStart > 0 && isWhitespace(text.charAt(runStart - 1))) {
+                runStart--;
+            }
+            int lineBreak = firstLineBreak(Math.max(runStart, valueStart + 1), stopStart);
+            if (lineBreak >= 0) {
+                return lineBreak;
+            }
+        }
+        return -1;
+    }
+
+    private int lastNonBreak(int from) {
+        for (int i = length - 1; i >= from; i--) {
+            if (text.charAt(i) != '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int lineEnd(int from) {
+        int lineBreak = firstLineBreak(from, length);
+        return lineBreak < 0 ? length : lineBreak;
+    }
+
+    private int firstLineBreak(int from, int to) {
+        int position = Arrays.binarySearch(lineBreaks, from);
+        if (position < 0) {
+            position = -position - 1;
+        }
+        if (position < lineBreaks.length && lineBreaks[position] < to) {
+            return lineBreaks[position];
+        }
+        return -1;
+    }
+
+    private int skipWhitespace(int from) {
+        int i = from;
+        while (i < length && isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private void walk(Node node, int position, int start) {
+        if (node.label != null) {
+            recordIfBounded(node.label, start, position);
+        }
+        if (position < length) {
+            int upper = asciiUpper(text.charAt(position));
+            if (upper >= 'A' && upper <= 'Z' && node.children[upper - 'A'] != null) {
+                walk(node.children[upper - 'A'], position + 1, start);
+            }
+        }
+        if (node.space != null) {
+            walk(node.space, skipWhitespace(position), start);
+        }
+    }
+
+    private void recordIfBounded(ExtractionLabel label, int start, int end) {
+        if (label.optionalTrailingDot()
+                && end + 1 < length
+                && text.charAt(end) == '.'
+                && isWord(text.codePointAt(end + 1))) {
+            record(label, start, end + 1);
+        } else if (isWordBoundary(end)) {
+            record(label, start, end);
+        }
+    }
+
+    private void record(ExtractionLabel label, int start, int end) {
+        int ordinal = label.ordinal();
+        int[] found = occurrences[ordinal];
+        int count = occurrenceCounts[ordinal];
+        if (found == null) {
+            found = new int[4];
+        } else if (2 * count == found.length) {
+            found = Arrays.copyOf(found, found.length * 2);
+        }
+        found[2 * count] = start;
+        found[2 * count + 1] = end;
+        occurrences[ordinal] = found;
+        occurrenceCounts[ordinal] = count + 1;
+    }
+
+    private boolean isWordBoundary(int position) {
+        boolean before = position > 0 && isWord(text.codePointBefore(position));
+        boolean after = position < length && isWord(text.codePointAt(position));
+        return before != after;
+    }
+
+    private boolean matchesUpper(int start, String upperWord) {
+        for (int i = 0; i < upperWord.length(); i++) {
+            if (asciiUpper(text.charAt(start + i)) != upperWord.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWord(int codePoint) {
+        return codePoint == '_' || Character.isLetterOrDigit(codePoint);
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ':' || c == '#' || c == '-';
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int asciiUpper(int c) {
+        return c >= 'a' && c <= 'z' ? c - ('a' - 'A') : c;
+    }
+
+    private static Node buildTrie() {
+        Node root = new Node();
+        for (ExtractionLabel label : LABELS) {
+            Node node = root;
+            for (char c : label.text().toCharArray()) {
+                if (c == ' ') {
+                    if (node.space == null) {
+                        node.space = new Node();
+                    }
+                    node = node.space;
+                } else {
+                    if (node.children[c - 'A'] == null) {
+                        node.children[c - 'A'] = new Node();
+                    }
+                    node = node.children[c - 'A'];
+                }
+            }
+            node.label = label;
+        }
+        return root;
+    }
+
+    private static final class Node {
+        private final Node[] children = new Node[26];
+        private Node space;
+        private ExtractionLabel label;
+    }
+}
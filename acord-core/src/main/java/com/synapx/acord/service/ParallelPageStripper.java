@@ -0,0 +1,283 @@
+package com.synapx.acord.service;
+
+import com.synapx.acord.service.PdfDocumentLoader.LoadedPdf;
+import com.synapx.acord.service.PdfParsingScheduler.HeapReservation;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+/**
+ * Strips the pages of large documents on a fork-join pool.
+ *
+ * <p>A {@link PDDocument} is not safe for concurrent use, so each worker strips its own copy of the document, loaded
+ * from the source on first use, with its own {@link DeadlineTextStripper}; the document the caller already loaded serves
+ * the first worker. Page text is merged back in page order. A stripper writes every page independently, so the merged
+ * text is identical to what one stripper produces for the whole document. Workers stop at the first page boundary
+ * past the deadline, and the merged text then ends with the last page of the first unfinished range.
+ *
+ * <p>Extra copies cost heap, so they are reserved on the document's {@link HeapReservation} first and fewer workers
+ * are used when the budget cannot hold them.
+ */
+public class ParallelPageStripper {
+
+    private final boolean enabled;
+    private final int parallelism;
+    private final int minPages;
+    private final ForkJoinPool workerPool;
+
+    /**
+     * @param enabled     strip large documents on several threads
+     * @param parallelism workers per document and threads in the pool; 0 means one per available processor
+     * @param minPages    documents with fewer pages are stripped on the parser thread
+     */
+    public ParallelPageStripper(boolean enabled, int parallelism, int minPages) {
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.enabled = enabled && this.parallelism > 1;
+        this.minPages = Math.max(2, minPages);
+        this.workerPool = this.enabled
+                ? new ForkJoinPool(this.parallelism, pool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("pdf-page-stripper-" + thread.getPoolIndex());
+                    return thread;
+                }, null, false)
+                : null;
+    }
+
+    /**
+     * Number of workers to strip a document of {@code pageCount} pages with, after reserving heap for their copies.
+     * 1 means the document should be stripped sequentially.
+     */
+    int reserveWorkers(int pageCount, HeapReservation reservation) {
+        if (!enabled || pageCount < minPages) {
+            return 1;
+        }
+        int workers = Math.min(parallelism, pageCount);
+        while (workers > 1 && !reservation.tryReserveCopies(workers)) {
+            workers /= 2;
+        }
+        return workers;
+    }
+
+    /**
+     * Strips every page, one contiguous page range per worker.
+     */
+    PdfContent stripAll(
+            PdfSource source,
+            PDDocument document,
+            PdfDocumentLoader loader,
+            int workers,
+            Deadline deadline) throws IOException {
+        int pageCount = document.getNumberOfPages();
+        List<Worker> pool = workers(source, document, loader, workers, deadline);
+        try {
+            List<Callable<PdfContent>> ranges = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                Worker worker = pool.get(i);
+                int startPage = 1 + (int) ((long) pageCount * i / workers);
+                int endPage = (int) ((long) pageCount * (i + 1) / workers);
+                ranges.add(() -> worker.strip(startPage, endPage));
+            }
+            StringBuilder text = new StringBuilder();
+            for (PdfContent range : invokeAll(ranges)) {
+                text.append(range.text());
+                if (range.partial()) {
+                    return PdfContent.ofPartialText(text.toString());
+                }
+            }
+            return PdfContent.ofText(text.toString());
+        } finally {
+            close(pool);
+        }
+    }
+
+    /**
+     * Strips every page like {@link #stripAll}, keeping the text of each page apart.
+     */
+    PdfPages stripPages(
+            PdfSource source,
+            PDDocument document,
+            PdfDocumentLoader loader,
+            int workers,
+            Deadline deadline) throws IOException {
+        int pageCount = document.getNumberOfPages();
+        List<Worker> pool = workers(source, document, loader, workers, deadline);
+        try {
+            List<Callable<PdfPages>> ranges = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                Worker worker = pool.get(i);
+                int startPage = 1 + (int) ((long) pageCount * i / workers);
+                int endPage = (int) ((long) pageCount * (i + 1) / workers);
+                ranges.add(() -> worker.stripPages(startPage, endPage));
+            }
+            List<String> pages = new ArrayList<>(pageCount);
+            for (PdfPages range : invokeAll(ranges)) {
+                pages.addAll(range.pages());
+                if (range.partial()) {
+                    return new PdfPages(pages, true);
+                }
+            }
+            return new PdfPages(pages, false);
+        } finally {
+            close(pool);
+        }
+    }
+
+    /**
+     * Strips pages in rounds of one page per worker and stops after the first page at which {@code sufficientText}
+     * accepts the text collected so far. Pages are tested in order, so the result matches sequential incremental
+     * stripping; the pages a round strips past that point are discarded. As there, only the first
+     * {@link PdfTextExtractorService#SUFFICIENCY_CHECK_PAGES} pages are tested.
+     */
+    PdfContent stripUntilSufficient(
+            PdfSource source,
+            PDDocument document,
+            PdfDocumentLoader loader,
+            int workers,
+            Deadline deadline,
+            Predicate<String> sufficientText) throws IOException {
+        int pageCount = document.getNumberOfPages();
+        List<Worker> pool = workers(source, document, loader, workers, deadline);
+        try {
+            StringBuilder text = new StringBuilder();
+            for (int first = 1; first <= pageCount; first += workers) {
+                List<Callable<PdfContent>> pages = new ArrayList<>(workers);
+                for (int i = 0; i < workers && first + i <= pageCount; i++) {
+                    Worker worker = pool.get(i);
+                    int page = first + i;
+                    pages.add(() -> worker.strip(page, page));
+                }
+                int page = first;
+                for (PdfContent pageContent : invokeAll(pages)) {
+                    text.append(pageContent.text());
+                    if (pageContent.partial()) {
+                        return PdfContent.ofPartialText(text.toString());
+                    }
+                    if (page < pageCount && page <= PdfTextExtractorService.SUFFICIENCY_CHECK_PAGES
+                            && sufficientText.test(text.toString())) {
+                        return PdfContent.ofText(text.toString());
+                    }
+                    page++;
+                }
+            }
+            return PdfContent.ofText(text.toString());
+        } finally {
+            close(pool);
+        }
+    }
+
+    public void shutdown() {
+        if (workerPool != null) {
+            workerPool.shutdownNow();
+        }
+    }
+
+    private List<Worker> workers(
+            PdfSource source, PDDocument document, PdfDocumentLoader loader, int count, Deadline deadline)
+            throws IOException {
+        List<Worker> pool = new ArrayList<>(count);
+        pool.add(new Worker(source, loader, deadline, document));
+        for (int i = 1; i < count; i++) {
+            pool.add(new Worker(source, loader, deadline, null));
+        }
+        return pool;
+    }
+
+    private <T> List<T> invokeAll(List<Callable<T>> tasks) throws IOException {
+        List<T> results = new ArrayList<>(tasks.size());
+        try {
+            for (Future<T> future : workerPool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException ex) {
+            // A fork/join pool hands back checked task failures wrapped in RuntimeExceptions.
+            for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof IOException ioException) {
+                    throw ioException;
+                }
+            }
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Parallel page stripping was interrupted");
+        }
+    }
+
+    private static void close(List<Worker> pool) {
+        pool.forEach(Worker::close);
+    }
+
+    /**
+     * One document copy and stripper; used by a single task at a time.
+     */
+    private static final class Worker implements AutoCloseable {
+
+        private final PdfSource source;
+        private final PdfDocumentLoader loader;
+        private final Deadline deadline;
+        private final DeadlineTextStripper textStripper;
+        private PDDocument document;
+        private LoadedPdf copy;
+
+        private Worker(PdfSource source, PdfDocumentLoader loader, Deadline deadline, PDDocument document)
+                throws IOException {
+            this.source = source;
+            this.loader = loader;
+            this.document = document;
+            this.deadline = deadline;
+            this.textStripper = new DeadlineTextStripper(deadline);
+        }
+
+        private PdfContent strip(int startPage, int endPage) throws IOException {
+            if (!ensureDocument()) {
+                return PdfContent.ofPartialText("");
+            }
+            textStripper.setStartPage(startPage);
+            textStripper.setEndPage(endPage);
+            String text = textStripper.strip(document);
+            return textStripper.isTruncated() ? PdfContent.ofPartialText(text) : PdfContent.ofText(text);
+        }
+
+        private PdfPages stripPages(int startPage, int endPage) throws IOException {
+            if (!ensureDocument()) {
+                return new PdfPages(List.of(), true);
+            }
+            return textStripper.stripPages(document, startPage, endPage);
+        }
+
+        /**
+         * Loads this worker's copy on first use; false when the deadline passed before that.
+         */
+        private boolean ensureDocument() throws IOException {
+            if (document == null) {
+                if (deadline.isExpired()) {
+                    return false;
+                }
+                copy = loader.load(source);
+                document = copy.document();
+            }
+            return true;
+        }
+
+        @Override
+        public void close() {
+            if (copy != null) {
+                copy.close();
+            }
+        }
+    }
+}
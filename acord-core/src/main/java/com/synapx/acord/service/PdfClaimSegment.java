@@ -0,0 +1,11 @@
+package com.synapx.acord.service;
+
+/**
+ * A run of pages of a multi-claim PDF that holds one claim.
+ *
+ * @param startPage first page, 1-based
+ * @param endPage   last page, inclusive
+ * @param partial   the segment ends where stripping stopped at the processing deadline
+ */
+public record PdfClaimSegment(int startPage, int endPage, String text, boolean partial) {
+}
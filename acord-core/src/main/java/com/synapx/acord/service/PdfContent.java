@@ -0,0 +1,30 @@
+package com.synapx.acord.service;
+
+import com.synapx.acord.model.ClaimFields;
+
+/**
+ * What was read from an uploaded PDF: the fields of a filled-in AcroForm, the stripped text of a flat document, or
+ * both for a partly filled form. {@code partial} text covers only the pages stripped before the processing deadline.
+ */
+public record PdfContent(String text, ClaimFields formFields, boolean partial) {
+
+    public static PdfContent ofText(String text) {
+        return new PdfContent(text, null, false);
+    }
+
+    public static PdfContent ofPartialText(String text) {
+        return new PdfContent(text, null, true);
+    }
+
+    public static PdfContent ofFormFields(ClaimFields formFields) {
+        return new PdfContent(null, formFields, false);
+    }
+
+    public PdfContent withFormFields(ClaimFields formFields) {
+        return new PdfContent(text, formFields, partial);
+    }
+
+    public boolean hasFormFields() {
+        return formFields != null;
+    }
+}
@@ -0,0 +1,212 @@
+package com.synapx.acord.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessBufferedFileInputStream;
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.apache.pdfbox.io.ScratchFile;
+import org.apache.pdfbox.pdfparser.PDFParser;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+/**
+ * Loads PDFs with a bounded main-memory footprint. In {@link PdfMemoryMode#MIXED} and {@link PdfMemoryMode#TEMP_FILE}
+ * each document gets its own scratch directory, which is deleted when the document is closed or loading fails. A
+ * scratch directory that cannot be created is a fault of the server, not of the document, and is thrown as an
+ * {@link UncheckedIOException}.
+ *
+ * <p>Loading reads the source into PDFBox's buffer first and parses it after. Only a failure of the parse step says
+ * that the document itself is broken; it is thrown as an {@link UnparsablePdfException}. Failures to read the source
+ * or write the buffer are thrown as they are.
+ *
+ * <p>A stream is copied into main memory or the scratch directory before it is parsed. A {@link PdfSource} with a
+ * {@linkplain PdfSource#path() path} is instead parsed in place: PDFBox reads the file with random access and keeps only a bounded page cache of it on
+ * the heap.
+ */
+@Slf4j
+public class PdfDocumentLoader {
+
+    /** Most of a file PDFBox caches while reading it in place: 1000 pages of 4 KB. */
+    private static final long FILE_READ_CACHE_BYTES = 4_096_000;
+
+    private final PdfMemoryMode memoryMode;
+    private final long maxMainMemoryBytes;
+    private final Path scratchRoot;
+
+    public PdfDocumentLoader(PdfMemoryMode memoryMode, long maxMainMemoryBytes, String scratchDir) {
+        this.memoryMode = memoryMode;
+        this.maxMainMemoryBytes = maxMainMemoryBytes;
+        this.scratchRoot = Paths.get(scratchDir);
+    }
+
+    /**
+     * Part of a {@code documentBytes} document that stays on the heap under the configured mode.
+     */
+    public long residentBytes(long documentBytes) {
+        return switch (memoryMode) {
+            case MAIN_MEMORY -> documentBytes;
+            case MIXED -> Math.min(documentBytes, maxMainMemoryBytes);
+            case TEMP_FILE -> 0;
+        };
+    }
+
+    /**
+     * Heap share of {@code source} under the configured mode, taking into account that files are read in place.
+     */
+    public long residentBytes(PdfSource source) {
+        if (source.path() != null) {
+            return Math.min(source.size(), FILE_READ_CACHE_BYTES);
+        }
+        return residentBytes(source.size());
+    }
+
+    public LoadedPdf load(PdfSource source) throws IOException {
+        Path path = source.path();
+        if (path != null) {
+            return load(scratchFile -> new RandomAccessBufferedFileInputStream(path.toFile()));
+        }
+        try (InputStream inputStream = source.openStream()) {
+            return load(inputStream);
+        }
+    }
+
+    public LoadedPdf load(InputStream inputStream) throws IOException {
+        return load(scratchFile -> scratchFile.createBuffer(inputStream));
+    }
+
+    private LoadedPdf load(DocumentSource source) throws IOException {
+        if (memoryMode == PdfMemoryMode.MAIN_MEMORY) {
+            return new LoadedPdf(parse(source, MemoryUsageSetting.setupMainMemoryOnly()), null);
+        }
+
+        Path scratchDirectory;
+        try {
+            Files.createDirectories(scratchRoot);
+            scratchDirectory = Files.createTempDirectory(scratchRoot, "acord-pdf-");
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot create a PDF scratch directory in " + scratchRoot, ex);
+        }
+        try {
+            MemoryUsageSetting setting = memoryMode == PdfMemoryMode.MIXED
+                    ? MemoryUsageSetting.setupMixed(maxMainMemoryBytes)
+                    : MemoryUsageSetting.setupTempFileOnly();
+            setting.setTempDir(scratchDirectory.toFile());
+            return new LoadedPdf(parse(source, setting), scratchDirectory);
+        } catch (IOException | RuntimeException ex) {
+            deleteRecursively(scratchDirectory);
+            throw ex;
+        }
+    }
+
+    /**
+     * {@code PDDocument.load} in its two steps, each with its own failure handling. An interrupted parse says nothing
+     * about the document and is not reported as unparsable.
+     */
+    private static PDDocument parse(DocumentSource source, MemoryUsageSetting setting) throws IOException {
+        ScratchFile scratchFile = new ScratchFile(setting);
+        RandomAccessRead buffer;
+        try {
+            buffer = source.read(scratchFile);
+        } catch (IOException | RuntimeException ex) {
+            IOUtils.closeQuietly(scratchFile);
+            throw ex;
+        }
+        try {
+            PDFParser parser = new PDFParser(buffer, "", null, null, scratchFile);
+            parser.parse();
+            return parser.getPDDocument();
+        } catch (InterruptedIOException | RuntimeException ex) {
+            closeQuietly(buffer, scratchFile);
+            throw ex;
+        } catch (IOException ex) {
+            closeQuietly(buffer, scratchFile);
+            throw new UnparsablePdfException(ex);
+        }
+    }
+
+    private static void closeQuietly(RandomAccessRead buffer, ScratchFile scratchFile) {
+        IOUtils.closeQuietly(buffer);
+        IOUtils.closeQuietly(scratchFile);
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            // Children sort after their parent, so the reverse order deletes every directory after its contents.
+            Iterator<Path> deepestFirst = paths.sorted(Comparator.reverseOrder()).iterator();
+            while (deepestFirst.hasNext()) {
+                Files.deleteIfExists(deepestFirst.next());
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface DocumentSource {
+
+        RandomAccessRead read(ScratchFile scratchFile) throws IOException;
+    }
+
+    /**
+     * The parser refused a document that was read completely, such as a malformed or password-protected PDF. The
+     * failure is the {@linkplain #getCause() cause}.
+     */
+    public static final class UnparsablePdfException extends IOException {
+
+        private UnparsablePdfException(IOException cause) {
+            super(cause.getMessage(), cause);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }
+    }
+
+    /**
+     * A loaded document together with its scratch directory. Closing it closes the document and deletes the
+     * directory, even when closing the document fails. Neither failure affects what was read from the document, so
+     * both are logged rather than thrown.
+     */
+    public static final class LoadedPdf implements AutoCloseable {
+
+        private final PDDocument document;
+        private final Path scratchDirectory;
+
+        private LoadedPdf(PDDocument document, Path scratchDirectory) {
+            this.document = document;
+            this.scratchDirectory = scratchDirectory;
+        }
+
+        public PDDocument document() {
+            return document;
+        }
+
+        @Override
+        public void close() {
+            try {
+                document.close();
+            } catch (IOException ex) {
+                log.warn("Cannot close PDF document: {}", ex.getMessage());
+            }
+            if (scratchDirectory != null) {
+                try {
+                    deleteRecursively(scratchDirectory);
+                } catch (IOException ex) {
+                    log.warn("Cannot delete PDF scratch directory {}: {}", scratchDirectory, ex.getMessage());
+                }
+            }
+        }
+    }
+}
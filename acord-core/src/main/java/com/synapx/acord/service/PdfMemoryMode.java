@@ -0,0 +1,13 @@
+package com.synapx.acord.service;
+
+/**
+ * Where PDFBox keeps the raw document and its parsed objects while a PDF is processed.
+ */
+public enum PdfMemoryMode {
+    /** Everything on the heap (PDFBox default). */
+    MAIN_MEMORY,
+    /** Heap up to {@code acord.pdf.maxMainMemoryBytes} per document, the rest in a scratch file. */
+    MIXED,
+    /** Everything in a scratch file. */
+    TEMP_FILE
+}
@@ -0,0 +1,14 @@
+package com.synapx.acord.service;
+
+import java.util.List;
+
+/**
+ * Stripped text of each page of a PDF, in page order. {@code partial} pages end before the last page of the document
+ * because the processing deadline passed.
+ */
+public record PdfPages(List<String> pages, boolean partial) {
+
+    public String text() {
+        return String.join("", pages);
+    }
+}
@@ -0,0 +1,241 @@
+package com.synapx.acord.service;
+
+import com.synapx.acord.exception.ProcessingTimeoutException;
+import com.synapx.acord.exception.ServiceOverloadedException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Runs PDF parsing on a bounded pool of platform threads sized to the CPU, so request threads only wait and a burst
+ * of uploads cannot occupy every core. Each document reserves an estimate of its heap footprint before it is queued
+ * and again once its page count is known. When the heap budget or the queue is exhausted the request is refused with
+ * a retry hint instead of risking an OutOfMemoryError.
+ */
+public class PdfParsingScheduler {
+
+    static final long HEAP_BYTES_PER_DOCUMENT_BYTE = 4;
+    static final long HEAP_BYTES_PER_PAGE = 256L * 1024;
+    /** How long past a deadline a parse may take to stop at its next page boundary. */
+    static final long DEADLINE_GRACE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final String HEAP_BUDGET_EXHAUSTED_MESSAGE =
+            "Server is busy processing other documents. Please retry later.";
+    private static final String QUEUE_FULL_MESSAGE =
+            "Too many PDF documents are waiting to be processed. Please retry later.";
+    private static final String INTERRUPTED_MESSAGE = "PDF processing was interrupted.";
+
+    private final ThreadPoolExecutor parserPool;
+    private final long heapBudgetBytes;
+    private final long retryAfterSeconds;
+    private final AtomicLong reservedBytes = new AtomicLong();
+
+    /**
+     * @param parserThreads       parser threads; 0 means one per available processor
+     * @param parserQueueCapacity documents admitted but waiting for a parser thread
+     * @param heapBudgetBytes     heap all in-flight documents may claim; 0 means half of the maximum heap
+     * @param retryAfterSeconds   value of the Retry-After header on refusal
+     */
+    public PdfParsingScheduler(
+            int parserThreads, int parserQueueCapacity, long heapBudgetBytes, long retryAfterSeconds) {
+        int threads = parserThreads > 0 ? parserThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.parserPool = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(parserQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "pdf-parser-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.heapBudgetBytes = heapBudgetBytes > 0 ? heapBudgetBytes : Runtime.getRuntime().maxMemory() / 2;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Parses a document of {@code documentBytes} on the parser pool and waits for the result. Exceptions thrown by
+     * {@code parse} are rethrown unchanged.
+     *
+     * @throws ServiceOverloadedException 503 when the heap budget is used up, 429 when the parser queue is full
+     */
+    public <T> T run(long documentBytes, Function<HeapReservation, T> parse) {
+        return run(documentBytes, Deadline.NONE, parse);
+    }
+
+    /**
+     * Like {@link #run(long, Function)}, but gives up once {@code deadline} has passed: a document still queued then
+     * is not parsed, and the caller stops waiting {@link #DEADLINE_GRACE_NANOS} after the deadline, leaving
+     * {@code parse} time to stop at its next check and return what it has so far.
+     *
+     * @throws ProcessingTimeoutException when the deadline passes first
+     */
+    public <T> T run(long documentBytes, Deadline deadline, Function<HeapReservation, T> parse) {
+        HeapReservation reservation = new HeapReservation(documentBytes);
+        Future<T> future;
+        try {
+            future = parserPool.submit(() -> {
+                if (!reservation.start()) {
+                    // Cancelled while queued; the caller released the reservation.
+                    return null;
+                }
+                try {
+                    if (deadline.isExpired()) {
+                        throw new ProcessingTimeoutException(deadline.timeout());
+                    }
+                    return parse.apply(reservation);
+                } finally {
+                    reservation.release();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            reservation.release();
+            throw new ServiceOverloadedException(
+                    QUEUE_FULL_MESSAGE, ServiceOverloadedException.TOO_MANY_REQUESTS, retryAfterSeconds);
+        }
+        return await(future, deadline, reservation);
+    }
+
+    long reservedBytes() {
+        return reservedBytes.get();
+    }
+
+    int queuedDocuments() {
+        return parserPool.getQueue().size();
+    }
+
+    public void shutdown() {
+        parserPool.shutdownNow();
+    }
+
+    private <T> T await(Future<T> future, Deadline deadline, HeapReservation reservation) {
+        try {
+            if (deadline == Deadline.NONE) {
+                return future.get();
+            }
+            return future.get(deadline.remainingNanos() + DEADLINE_GRACE_NANOS, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            cancel(future, reservation);
+            throw new ProcessingTimeoutException(deadline.timeout());
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            cancel(future, reservation);
+            throw new ServiceOverloadedException(
+                    INTERRUPTED_MESSAGE, ServiceOverloadedException.SERVICE_UNAVAILABLE, retryAfterSeconds);
+        }
+    }
+
+    /**
+     * A task cancelled before it started never runs, so it cannot release its reservation itself.
+     */
+    private static void cancel(Future<?> future, HeapReservation reservation) {
+        future.cancel(true);
+        reservation.releaseUnlessStarted();
+    }
+
+    private static long estimate(long documentBytes, int pageCount) {
+        return documentBytes * HEAP_BYTES_PER_DOCUMENT_BYTE + pageCount * HEAP_BYTES_PER_PAGE;
+    }
+
+    /**
+     * Heap claimed by one in-flight document. A document is always admitted when nothing else holds a reservation,
+     * so a single document larger than the budget is still processed on its own.
+     */
+    public final class HeapReservation {
+
+        private final long documentBytes;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final AtomicBoolean released = new AtomicBoolean();
+        private long heldBytes;
+        private int pageCount;
+        private int copies = 1;
+
+        private HeapReservation(long documentBytes) {
+            this.documentBytes = documentBytes;
+            if (!tryGrow(estimate(documentBytes, 0), true)) {
+                throw new ServiceOverloadedException(HEAP_BUDGET_EXHAUSTED_MESSAGE,
+                        ServiceOverloadedException.SERVICE_UNAVAILABLE, retryAfterSeconds);
+            }
+        }
+
+        /**
+         * Raises the reservation to account for {@code pageCount} parsed pages.
+         *
+         * @throws ServiceOverloadedException 503 when the larger reservation does not fit the heap budget
+         */
+        public void reservePages(int pageCount) {
+            if (!tryGrow(estimate(documentBytes * copies, pageCount) - heldBytes, true)) {
+                throw new ServiceOverloadedException(HEAP_BUDGET_EXHAUSTED_MESSAGE,
+                        ServiceOverloadedException.SERVICE_UNAVAILABLE, retryAfterSeconds);
+            }
+            this.pageCount = pageCount;
+        }
+
+        /**
+         * Tries to raise the reservation to account for {@code copies} parsed copies of the document held at once.
+         * Extra copies are optional, so unlike pages they are refused whenever they would exceed the budget, even
+         * for a document parsed on its own.
+         *
+         * @return whether the copies were reserved
+         */
+        public boolean tryReserveCopies(int copies) {
+            if (!tryGrow(estimate(documentBytes * copies, pageCount) - heldBytes, false)) {
+                return false;
+            }
+            this.copies = copies;
+            return true;
+        }
+
+        private boolean tryGrow(long delta, boolean admitWhenAlone) {
+            while (true) {
+                long current = reservedBytes.get();
+                boolean onlyThisDocument = current == heldBytes;
+                if (current + delta > heapBudgetBytes && !(admitWhenAlone && onlyThisDocument)) {
+                    return false;
+                }
+                if (reservedBytes.compareAndSet(current, current + delta)) {
+                    heldBytes += delta;
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Claims the reservation for the parser thread, unless the caller has already given it up.
+         */
+        private boolean start() {
+            return started.compareAndSet(false, true);
+        }
+
+        private void releaseUnlessStarted() {
+            if (start()) {
+                release();
+            }
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                reservedBytes.addAndGet(-heldBytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.synapx.acord.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A PDF document to extract claims from. It may be opened more than once: {@link ParallelPageStripper} loads a copy
+ * per worker.
+ */
+public interface PdfSource {
+
+    long size();
+
+    /**
+     * Declared media type, or null when unknown. Anything other than {@code application/pdf} is refused.
+     */
+    String contentType();
+
+    InputStream openStream() throws IOException;
+
+    /**
+     * The file holding the document, which {@link PdfDocumentLoader} then reads in place; null when the document is
+     * not in a file.
+     */
+    default Path path() {
+        return null;
+    }
+
+    static PdfSource of(byte[] bytes) {
+        return new PdfSource() {
+
+            @Override
+            public long size() {
+                return bytes.length;
+            }
+
+            @Override
+            public String contentType() {
+                return null;
+            }
+
+            @Override
+            public InputStream openStream() {
+                return new ByteArrayInputStream(bytes);
+            }
+        };
+    }
+
+    static PdfSource of(Path file) throws IOException {
+        long size = Files.size(file);
+        return new PdfSource() {
+
+            @Override
+            public long size() {
+                return size;
+            }
+
+            @Override
+            public String contentType() {
+                return null;
+            }
+
+            @Override
+            public InputStream openStream() throws IOException {
+                return Files.newInputStream(file);
+            }
+
+            @Override
+            public Path path() {
+                return file;
+            }
+        };
+    }
+}
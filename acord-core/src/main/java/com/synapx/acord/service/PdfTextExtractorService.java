@@ -0,0 +1,302 @@
+package com.synapx.acord.service;
+
+import com.synapx.acord.exception.BadRequestException;
+import com.synapx.acord.exception.ProcessingTimeoutException;
+import com.synapx.acord.exception.RejectedDocumentException;
+import com.synapx.acord.model.ClaimFields;
+import com.synapx.acord.service.PdfDocumentLoader.LoadedPdf;
+import com.synapx.acord.service.PdfDocumentLoader.UnparsablePdfException;
+import com.synapx.acord.service.PdfParsingScheduler.HeapReservation;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+@Slf4j
+public class PdfTextExtractorService {
+
+    private static final String INVALID_PDF_MESSAGE = "Invalid PDF input. Please upload a valid PDF document.";
+
+    private static final String SCANNED_PDF_MESSAGE =
+            "PDF appears to be scanned/image-only. OCR is not supported. Please upload a text-based PDF or use /claims/process-text.";
+
+    /**
+     * Pages after which incremental extraction asks whether the text is sufficient. A claim form that has not settled
+     * within them is stripped to the end.
+     */
+    static final int SUFFICIENCY_CHECK_PAGES = 8;
+
+    private final int minTextLengthForNonScanned;
+    private final boolean incrementalExtraction;
+    private final Duration timeout;
+    private final PdfDocumentLoader pdfDocumentLoader;
+    private final PdfParsingScheduler pdfParsingScheduler;
+    private final ParallelPageStripper parallelPageStripper;
+    private final ClaimMetrics claimMetrics;
+
+    /**
+     * @param incrementalExtraction strip one page at a time and stop as soon as the caller reports the text so far
+     *                              as sufficient
+     * @param timeout               time limit per document, from the call to the returned content; zero means none
+     */
+    public PdfTextExtractorService(
+            int minTextLengthForNonScanned,
+            boolean incrementalExtraction,
+            Duration timeout,
+            PdfDocumentLoader pdfDocumentLoader,
+            PdfParsingScheduler pdfParsingScheduler,
+            ParallelPageStripper parallelPageStripper,
+            ClaimMetrics claimMetrics) {
+        this.minTextLengthForNonScanned = minTextLengthForNonScanned;
+        this.incrementalExtraction = incrementalExtraction;
+        this.timeout = timeout;
+        this.pdfDocumentLoader = pdfDocumentLoader;
+        this.pdfParsingScheduler = pdfParsingScheduler;
+        this.parallelPageStripper = parallelPageStripper;
+        this.claimMetrics = claimMetrics;
+    }
+
+    public String extractText(PdfSource source) {
+        return extractText(source, text -> false);
+    }
+
+    /**
+     * Extracts the document text. In incremental mode pages are stripped one by one and stripping stops after the
+     * first page at which {@code sufficientText} accepts the text collected so far. Large documents may be stripped
+     * by several threads through {@link ParallelPageStripper}, with the same result.
+     */
+    public String extractText(PdfSource source, Predicate<String> sufficientText) {
+        return extractContent(source, document -> Optional.empty(), fields -> false, sufficientText).text();
+    }
+
+    /**
+     * Reads the document through {@code formReader} first and returns its fields without stripping text when
+     * {@code sufficientForm} accepts them. Otherwise behaves like {@link #extractText(PdfSource, Predicate)}; the
+     * fields of a partly filled form are returned along with the text, and such a form is not refused as scanned.
+     *
+     * <p>Stripping stops at the first page boundary past the time limit. The text of the pages read until then is
+     * returned as {@linkplain PdfContent#partial() partial} content; when that is too little to use, or the document
+     * was not reached in time, a {@link ProcessingTimeoutException} is thrown instead.
+     */
+    public PdfContent extractContent(
+            PdfSource source,
+            Function<PDDocument, Optional<ClaimFields>> formReader,
+            Predicate<ClaimFields> sufficientForm,
+            Predicate<String> sufficientText) {
+        return schedule(source, (reservation, deadline) ->
+                parse(source, reservation, deadline, formReader, sufficientForm, sufficientText));
+    }
+
+    /**
+     * Strips every page of the document and keeps the text of each page apart, for documents that bundle several
+     * claims. AcroForm fields are not read. Rejects scanned documents and handles the time limit like
+     * {@link #extractContent}.
+     */
+    public PdfPages extractPages(PdfSource source) {
+        return schedule(source, (reservation, deadline) -> parsePages(source, reservation, deadline));
+    }
+
+    private <T> T schedule(PdfSource source, BiFunction<HeapReservation, Deadline, T> parse) {
+        if (source == null || source.size() == 0) {
+            claimMetrics.countRejection(RejectionReason.EMPTY);
+            throw new BadRequestException("No file received. Send a non-empty PDF in multipart field 'file'.");
+        }
+
+        String contentType = source.contentType();
+        if (StringUtils.isNotBlank(contentType) && !"application/pdf".equalsIgnoreCase(contentType)) {
+            claimMetrics.countRejection(RejectionReason.INVALID);
+            throw new BadRequestException("Invalid file type. Only PDF files are supported.");
+        }
+
+        Deadline deadline = Deadline.after(timeout);
+        try {
+            return pdfParsingScheduler.run(
+                    pdfDocumentLoader.residentBytes(source),
+                    deadline,
+                    reservation -> parse.apply(reservation, deadline));
+        } catch (ProcessingTimeoutException ex) {
+            claimMetrics.countRejection(RejectionReason.TIMEOUT);
+            throw ex;
+        }
+    }
+
+    private PdfPages parsePages(PdfSource source, HeapReservation reservation, Deadline deadline) {
+        try (LoadedPdf loadedPdf = load(source)) {
+            PDDocument document = loadedPdf.document();
+            int pageCount = document.getNumberOfPages();
+            claimMetrics.recordDocument(source.size(), pageCount);
+            reservation.reservePages(pageCount);
+            rejectImageOnly(document);
+            int workers = parallelPageStripper.reserveWorkers(pageCount, reservation);
+            long start = System.nanoTime();
+            PdfPages pages;
+            try {
+                pages = workers == 1
+                        ? new DeadlineTextStripper(deadline).stripPages(document, 1, pageCount)
+                        : parallelPageStripper.stripPages(source, document, pdfDocumentLoader, workers, deadline);
+            } finally {
+                claimMetrics.record(ClaimStage.TEXT_STRIP, System.nanoTime() - start);
+            }
+            rejectLowSignal(pages.text(), pages.partial(), deadline);
+            return pages;
+        } catch (IOException ex) {
+            throw invalidPdf(ex, false);
+        }
+    }
+
+    private PdfContent parse(
+            PdfSource source,
+            HeapReservation reservation,
+            Deadline deadline,
+            Function<PDDocument, Optional<ClaimFields>> formReader,
+            Predicate<ClaimFields> sufficientForm,
+            Predicate<String> sufficientText) {
+        try (LoadedPdf loadedPdf = load(source)) {
+            PDDocument document = loadedPdf.document();
+            claimMetrics.recordDocument(source.size(), document.getNumberOfPages());
+            reservation.reservePages(document.getNumberOfPages());
+            Optional<ClaimFields> formFields = formReader.apply(document);
+            if (formFields.isPresent() && sufficientForm.test(formFields.get())) {
+                return PdfContent.ofFormFields(formFields.get());
+            }
+            if (formFields.isPresent()) {
+                return strip(source, document, reservation, deadline, sufficientText).withFormFields(formFields.get());
+            }
+            rejectImageOnly(document);
+            PdfContent content = strip(source, document, reservation, deadline, sufficientText);
+            rejectLowSignal(content.text(), content.partial(), deadline);
+            return content;
+        } catch (IOException ex) {
+            throw invalidPdf(ex, false);
+        }
+    }
+
+    /**
+     * Only a document the parser refuses is condemned. Failures to read it, and failures once it is loaded, such as a
+     * full disk under the scratch files or a worker copy that cannot be loaded, are not; see {@link #invalidPdf}.
+     */
+    private LoadedPdf load(PdfSource source) {
+        long start = System.nanoTime();
+        try {
+            return pdfDocumentLoader.load(source);
+        } catch (UnparsablePdfException ex) {
+            throw invalidPdf(ex.getCause(), true);
+        } catch (IOException ex) {
+            throw invalidPdf(ex, false);
+        } finally {
+            claimMetrics.record(ClaimStage.PDF_LOAD, System.nanoTime() - start);
+        }
+    }
+
+    private PdfContent strip(
+            PdfSource source,
+            PDDocument document,
+            HeapReservation reservation,
+            Deadline deadline,
+            Predicate<String> sufficientText) throws IOException {
+        int workers = parallelPageStripper.reserveWorkers(document.getNumberOfPages(), reservation);
+        if (workers == 1) {
+            DeadlineTextStripper textStripper = new DeadlineTextStripper(deadline);
+            return incrementalExtraction
+                    ? stripUntilSufficient(document, textStripper, sufficientText)
+                    : stripAll(document, textStripper);
+        }
+        // Includes loading the workers' document copies and, in incremental mode, the sufficiency checks.
+        long start = System.nanoTime();
+        try {
+            return incrementalExtraction
+                    ? parallelPageStripper.stripUntilSufficient(
+                            source, document, pdfDocumentLoader, workers, deadline, sufficientText)
+                    : parallelPageStripper.stripAll(source, document, pdfDocumentLoader, workers, deadline);
+        } finally {
+            claimMetrics.record(ClaimStage.TEXT_STRIP, System.nanoTime() - start);
+        }
+    }
+
+    private PdfContent stripAll(PDDocument document, DeadlineTextStripper textStripper) throws IOException {
+        long start = System.nanoTime();
+        try {
+            String text = textStripper.strip(document);
+            return textStripper.isTruncated() ? PdfContent.ofPartialText(text) : PdfContent.ofText(text);
+        } finally {
+            claimMetrics.record(ClaimStage.TEXT_STRIP, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Stripping time is summed over pages and recorded once per document; time spent in {@code sufficientText} is
+     * not included. {@code sufficientText} is asked after each of the first {@link #SUFFICIENCY_CHECK_PAGES} pages
+     * only, so its cost, which grows with the text collected, stays bounded on long documents.
+     */
+    private PdfContent stripUntilSufficient(
+            PDDocument document, DeadlineTextStripper textStripper, Predicate<String> sufficientText)
+            throws IOException {
+        StringBuilder text = new StringBuilder();
+        long strippingNanos = 0;
+        boolean truncated = false;
+        int pageCount = document.getNumberOfPages();
+        for (int page = 1; page <= pageCount; page++) {
+            textStripper.setStartPage(page);
+            textStripper.setEndPage(page);
+            long start = System.nanoTime();
+            text.append(textStripper.strip(document));
+            strippingNanos += System.nanoTime() - start;
+            if (textStripper.isTruncated()) {
+                truncated = true;
+                break;
+            }
+            if (page < pageCount && page <= SUFFICIENCY_CHECK_PAGES && sufficientText.test(text.toString())) {
+                break;
+            }
+        }
+        claimMetrics.record(ClaimStage.TEXT_STRIP, strippingNanos);
+        return truncated ? PdfContent.ofPartialText(text.toString()) : PdfContent.ofText(text.toString());
+    }
+
+    private void rejectLowSignal(String text, boolean partial, Deadline deadline) {
+        if (isScannedOrLowSignalText(text)) {
+            if (partial) {
+                throw new ProcessingTimeoutException(deadline.timeout());
+            }
+            claimMetrics.countRejection(RejectionReason.SCANNED);
+            throw new RejectedDocumentException(SCANNED_PDF_MESSAGE);
+        }
+    }
+
+    /**
+     * @param parseFailure the document itself cannot be parsed, so it is refused as a {@link RejectedDocumentException}
+     *                     that callers may remember. Other failures may not recur and are plain bad requests.
+     */
+    private BadRequestException invalidPdf(IOException ex, boolean parseFailure) {
+        claimMetrics.countRejection(RejectionReason.INVALID);
+        if (parseFailure) {
+            log.debug("Refusing a PDF that cannot be parsed: {}", ex.toString());
+            return new RejectedDocumentException(INVALID_PDF_MESSAGE);
+        }
+        log.warn("Cannot read a PDF: {}", ex.toString(), ex);
+        return new BadRequestException(INVALID_PDF_MESSAGE);
+    }
+
+    /**
+     * Refuses documents that cannot show any text before stripping them; see {@link ScannedPdfDetector}.
+     */
+    private void rejectImageOnly(PDDocument document) {
+        if (claimMetrics.time(ClaimStage.SCAN_CHECK, () -> ScannedPdfDetector.hasNoText(document))) {
+            claimMetrics.countRejection(RejectionReason.SCANNED);
+            throw new RejectedDocumentException(SCANNED_PDF_MESSAGE);
+        }
+    }
+
+    private boolean isScannedOrLowSignalText(String text) {
+        if (StringUtils.isBlank(text)) {
+            return true;
+        }
+        String normalized = text.replaceAll("\\s+", " ").trim();
+        return normalized.length() < minTextLengthForNonScanned;
+    }
+}
@@ -0,0 +1,25 @@
+package com.synapx.acord.service;
+
+/**
+ * Why a claim document was refused, reported as the {@code reason} tag of {@code acord.claim.rejected}.
+ */
+public enum RejectionReason {
+    /** PDF without enough extractable text, most likely an image-only scan. */
+    SCANNED("scanned"),
+    /** Not a PDF, or a PDF that could not be parsed. */
+    INVALID("invalid"),
+    /** No file or no text supplied. */
+    EMPTY("empty"),
+    /** Processing deadline passed before any usable text was read. */
+    TIMEOUT("timeout");
+
+    private final String tag;
+
+    RejectionReason(String tag) {
+        this.tag = tag;
+    }
+
+    public String tag() {
+        return tag;
+    }
+}
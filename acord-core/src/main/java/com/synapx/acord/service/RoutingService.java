@@ -0,0 +1,170 @@
+package com.synapx.acord.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.synapx.acord.exception.BadRequestException;
+import com.synapx.acord.model.ClaimFields;
+import com.synapx.acord.model.RouteDecision;
+import com.synapx.acord.model.RoutingRules;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Routes claims with a {@link RoutingTable} compiled from a rules file.
+ *
+ * <p>Without {@code acord.routing.rulesFile} the built-in {@code routing-rules.json} is used. With it, the file is
+ * checked for changes every {@code reloadInterval} and can be reloaded on demand; a new table is compiled off to the
+ * side and swapped in atomically, so every claim is routed entirely by either the old or the new rules. A file that
+ * does not compile leaves the current table in place.
+ */
+@Slf4j
+public class RoutingService {
+
+    private static final String DEFAULT_RULES = "/routing-rules.json";
+
+    private final ObjectReader rulesReader;
+    private final Path rulesFile;
+    private final AtomicReference<RoutingTable> table = new AtomicReference<>();
+    private final ScheduledExecutorService watcher;
+    private final Object reloadLock = new Object();
+
+    /** Modification time of the last file read, compiled or not; guarded by the reload lock. */
+    private FileTime loadedModifiedTime;
+
+    private volatile long rulesVersion;
+
+    /**
+     * Routes with the built-in rules.
+     */
+    public RoutingService() {
+        this(new ObjectMapper(), "", Duration.ZERO);
+    }
+
+    /**
+     * @param rulesFile      routing rules JSON on the file system; blank for the built-in rules
+     * @param reloadInterval how often the rules file is checked for changes; 0 checks only on {@link #reload()}
+     */
+    public RoutingService(
+            ObjectMapper objectMapper,
+            String rulesFile,
+            Duration reloadInterval) {
+        this.rulesReader = objectMapper.readerFor(RoutingRules.class)
+                .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        if (StringUtils.isBlank(rulesFile)) {
+            this.rulesFile = null;
+            this.watcher = null;
+            table.set(compileDefaults());
+            return;
+        }
+        this.rulesFile = Paths.get(rulesFile);
+        try {
+            reload();
+        } catch (BadRequestException ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+        if (reloadInterval.isZero() || reloadInterval.isNegative()) {
+            this.watcher = null;
+            return;
+        }
+        this.watcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "routing-rules-watch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long reloadMillis = Math.max(1, reloadInterval.toMillis());
+        watcher.scheduleWithFixedDelay(this::reloadIfModified, reloadMillis, reloadMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Routes by the first matching rule of the active table. With the built-in rules the priority order is:
+     * 1) INVESTIGATION_FLAG when description contains fraud/inconsistent/staged
+     * 2) SPECIALIST_QUEUE when injury is indicated
+     * 3) MANUAL_REVIEW when mandatory fields are missing
+     * 4) FAST_TRACK when estimateAmount < 25000
+     * 5) MANUAL_REVIEW as safe default
+     */
+    public RouteDecision determineRoute(ClaimFields fields, List<String> missingFields) {
+        return table.get().route(fields, missingFields);
+    }
+
+    public RoutingRules activeRules() {
+        return table.get().rules();
+    }
+
+    /**
+     * Increases with every table swapped in, after the swap. A result routed by a caller that read this before
+     * routing, and finds it changed afterwards, may have been routed by the previous rules.
+     */
+    public long rulesVersion() {
+        return rulesVersion;
+    }
+
+    /**
+     * Reads and compiles the rules file and makes it the active table.
+     *
+     * @return the rules now in effect
+     * @throws BadRequestException when no rules file is configured or it does not compile; the active table is kept
+     */
+    public RoutingRules reload() {
+        if (rulesFile == null) {
+            throw new BadRequestException("No routing rules file is configured. Set acord.routing.rulesFile to enable reloading.");
+        }
+        synchronized (reloadLock) {
+            try {
+                loadedModifiedTime = Files.getLastModifiedTime(rulesFile);
+                RoutingTable compiled = RoutingTable.compile(rulesReader.readValue(Files.readAllBytes(rulesFile)));
+                table.set(compiled);
+                rulesVersion++;
+                log.info("Loaded {} routing rules from {}", compiled.rules().rules().size(), rulesFile);
+                return compiled.rules();
+            } catch (IOException | IllegalArgumentException ex) {
+                throw new BadRequestException("Routing rules in " + rulesFile + " were not loaded: " + ex.getMessage());
+            }
+        }
+    }
+
+    public void close() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+        }
+    }
+
+    private void reloadIfModified() {
+        try {
+            FileTime modifiedTime = Files.getLastModifiedTime(rulesFile);
+            synchronized (reloadLock) {
+                if (modifiedTime.equals(loadedModifiedTime)) {
+                    return;
+                }
+            }
+            reload();
+        } catch (IOException | BadRequestException ex) {
+            log.warn("Keeping the current routing rules: {}", ex.getMessage());
+        }
+    }
+
+    private RoutingTable compileDefaults() {
+        try (InputStream inputStream = RoutingService.class.getResourceAsStream(DEFAULT_RULES)) {
+            if (inputStream == null) {
+                throw new IllegalStateException("Built-in routing rules " + DEFAULT_RULES + " are missing.");
+            }
+            return RoutingTable.compile(rulesReader.readValue(inputStream));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read built-in routing rules " + DEFAULT_RULES, ex);
+        }
+    }
+}
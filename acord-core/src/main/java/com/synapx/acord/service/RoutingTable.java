@@ -0,0 +1,234 @@
+package com.synapx.acord.service;
+
+import com.synapx.acord.model.ClaimFields;
+import com.synapx.acord.model.RouteDecision;
+import com.synapx.acord.model.RoutingRule;
+import com.synapx.acord.model.RoutingRules;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Immutable decision table compiled from {@link RoutingRules}.
+ *
+ * <p>Rules are checked in order and the first match decides. Decisions with fixed reasoning are built once at compile
+ * time, and description keywords are matched without lower-casing the description: ASCII text is folded character by
+ * character, and only text with other characters falls back to {@link String#toLowerCase(Locale)}, so matches are
+ * exactly those of a lower-cased {@code contains}.
+ */
+final class RoutingTable {
+
+    static final String MISSING_FIELDS_PLACEHOLDER = "{missingFields}";
+
+    private final RoutingRules rules;
+    private final Rule[] table;
+
+    private RoutingTable(RoutingRules rules, Rule[] table) {
+        this.rules = rules;
+        this.table = table;
+    }
+
+    /**
+     * @throws IllegalArgumentException when a rule is incomplete, or when the last rule is not the only one without
+     *                                  conditions, so that some claim would get no route or some rule is never used
+     */
+    static RoutingTable compile(RoutingRules rules) {
+        if (rules == null || rules.rules() == null || rules.rules().isEmpty()) {
+            throw new IllegalArgumentException("No routing rules defined.");
+        }
+        List<RoutingRule> definitions = rules.rules();
+        Rule[] table = new Rule[definitions.size()];
+        for (int i = 0; i < table.length; i++) {
+            RoutingRule definition = definitions.get(i);
+            if (definition == null) {
+                throw new IllegalArgumentException("Routing rule " + (i + 1) + " is empty.");
+            }
+            String name = StringUtils.isNotBlank(definition.name()) ? definition.name() : "#" + (i + 1);
+            if (definition.route() == null) {
+                throw new IllegalArgumentException("Routing rule " + name + " has no route.");
+            }
+            if (StringUtils.isBlank(definition.reasoning())) {
+                throw new IllegalArgumentException("Routing rule " + name + " has no reasoning.");
+            }
+            boolean last = i == table.length - 1;
+            if (!last && !definition.hasConditions()) {
+                throw new IllegalArgumentException(
+                        "Routing rule " + name + " has no conditions, so the rules after it are never used.");
+            }
+            if (last && definition.hasConditions()) {
+                throw new IllegalArgumentException(
+                        "The last routing rule (" + name + ") must have no conditions, so that every claim gets a route.");
+            }
+            table[i] = new Rule(definition, name);
+        }
+        return new RoutingTable(rules, table);
+    }
+
+    RoutingRules rules() {
+        return rules;
+    }
+
+    RouteDecision route(ClaimFields fields, List<String> missingFields) {
+        ClaimFields safeFields = fields == null ? new ClaimFields() : fields;
+        List<String> safeMissingFields = missingFields == null ? List.of() : missingFields;
+        for (Rule rule : table) {
+            if (rule.matches(safeFields, safeMissingFields)) {
+                return rule.decide(safeMissingFields);
+            }
+        }
+        throw new IllegalStateException("Routing table has no catch-all rule.");
+    }
+
+    private static final class Rule {
+
+        private final RoutingRule definition;
+        private final RouteDecision decision;
+        private final Keywords keywords;
+
+        private Rule(RoutingRule definition, String name) {
+            this.definition = definition;
+            this.decision = definition.reasoning().contains(MISSING_FIELDS_PLACEHOLDER)
+                    ? null
+                    : new RouteDecision(definition.route(), definition.reasoning());
+            this.keywords = definition.descriptionContainsAny() == null
+                    ? null
+                    : new Keywords(definition.descriptionContainsAny(), name);
+        }
+
+        private boolean matches(ClaimFields fields, List<String> missingFields) {
+            if (definition.fraudFlagPresent() != null
+                    && definition.fraudFlagPresent() != Boolean.TRUE.equals(fields.getFraudFlagPresent())) {
+                return false;
+            }
+            if (definition.injuryPresent() != null
+                    && definition.injuryPresent() != Boolean.TRUE.equals(fields.getInjuryPresent())) {
+                return false;
+            }
+            if (definition.missingFields() != null && definition.missingFields() == missingFields.isEmpty()) {
+                return false;
+            }
+            if (definition.estimateBelow() != null) {
+                Integer estimateAmount = fields.getEstimateAmount();
+                if (estimateAmount == null || estimateAmount >= definition.estimateBelow()) {
+                    return false;
+                }
+            }
+            return keywords == null || keywords.foundIn(fields.getDescriptionOfAccident());
+        }
+
+        private RouteDecision decide(List<String> missingFields) {
+            if (decision != null) {
+                return decision;
+            }
+            return new RouteDecision(
+                    definition.route(),
+                    definition.reasoning().replace(MISSING_FIELDS_PLACEHOLDER, String.join(", ", missingFields)));
+        }
+    }
+
+    /**
+     * Case-insensitive search for any of a set of words.
+     */
+    private static final class Keywords {
+
+        private final String[] lowerCase;
+        /** ASCII keywords by their first character; null when a keyword has other characters. */
+        private final char[][][] asciiByFirstChar;
+
+        private Keywords(List<String> words, String ruleName) {
+            if (words.isEmpty()) {
+                throw new IllegalArgumentException("Routing rule " + ruleName + " has an empty keyword list.");
+            }
+            lowerCase = new String[words.size()];
+            boolean ascii = true;
+            for (int i = 0; i < lowerCase.length; i++) {
+                String word = words.get(i);
+                if (StringUtils.isBlank(word)) {
+                    throw new IllegalArgumentException("Routing rule " + ruleName + " has a blank keyword.");
+                }
+                lowerCase[i] = word.toLowerCase(Locale.ROOT);
+                ascii &= lowerCase[i].chars().allMatch(c -> c < 128);
+            }
+            asciiByFirstChar = ascii ? indexByFirstChar(lowerCase) : null;
+        }
+
+        private boolean foundIn(String text) {
+            if (StringUtils.isBlank(text)) {
+                return false;
+            }
+            if (asciiByFirstChar == null) {
+                return foundInLowerCase(text);
+            }
+            int length = text.length();
+            for (int i = 0; i < length; i++) {
+                char c = text.charAt(i);
+                if (c >= 128) {
+                    // Lower-casing may turn such a character into ASCII letters, or into more than one character.
+                    return foundInLowerCase(text);
+                }
+                char[][] candidates = asciiByFirstChar[toLowerAscii(c)];
+                if (candidates != null) {
+                    for (char[] keyword : candidates) {
+                        if (asciiRegionMatches(text, i, keyword)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        private boolean foundInLowerCase(String text) {
+            String lowerCaseText = text.toLowerCase(Locale.ROOT);
+            for (String keyword : lowerCase) {
+                if (lowerCaseText.contains(keyword)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Whether {@code keyword} occurs at {@code offset}. A non-ASCII character ends the comparison; the caller
+         * reaches it later and falls back to the lower-cased search.
+         */
+        private static boolean asciiRegionMatches(String text, int offset, char[] keyword) {
+            if (offset + keyword.length > text.length()) {
+                return false;
+            }
+            for (int j = 1; j < keyword.length; j++) {
+                char c = text.charAt(offset + j);
+                if (c >= 128 || toLowerAscii(c) != keyword[j]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static char toLowerAscii(char c) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+
+        private static char[][][] indexByFirstChar(String[] keywords) {
+            List<List<char[]>> buckets = new ArrayList<>(128);
+            for (int c = 0; c < 128; c++) {
+                buckets.add(null);
+            }
+            for (String keyword : keywords) {
+                int first = keyword.charAt(0);
+                if (buckets.get(first) == null) {
+                    buckets.set(first, new ArrayList<>());
+                }
+                buckets.get(first).add(keyword.toCharArray());
+            }
+            char[][][] index = new char[128][][];
+            for (int c = 0; c < 128; c++) {
+                if (buckets.get(c) != null) {
+                    index[c] = buckets.get(c).toArray(char[][]::new);
+                }
+            }
+            return index;
+        }
+    }
+}
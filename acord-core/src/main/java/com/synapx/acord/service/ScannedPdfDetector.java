@@ -0,0 +1,84 @@
+package com.synapx.acord.service;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import org.apache.pdfbox.contentstream.PDContentStream;
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.graphics.PDXObject;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+
+/**
+ * Finds documents that cannot yield any text, such as image-only scans, without stripping them.
+ *
+ * <p>A page can show text only through a text-showing operator ({@code Tj}, {@code TJ}, {@code '}, {@code "}) in its
+ * content stream or in a form XObject it draws. A page or form with font resources is assumed to show text, which ends
+ * the check at the first page of an ordinary document. Otherwise the content streams are tokenized, which does not
+ * decode images or load fonts. A document without any text-showing operator strips to empty text, so rejecting it
+ * up front gives the same answer as stripping it first.
+ */
+final class ScannedPdfDetector {
+
+    private ScannedPdfDetector() {
+    }
+
+    /**
+     * True when no page can show text. A page whose resources or content cannot be read counts as showing text, so
+     * that stripping decides about it as before.
+     */
+    static boolean hasNoText(PDDocument document) {
+        Set<Object> visitedForms = Collections.newSetFromMap(new IdentityHashMap<>());
+        try {
+            for (PDPage page : document.getPages()) {
+                if (mayShowText(page, page.getResources(), visitedForms)) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException | RuntimeException ex) {
+            return false;
+        }
+    }
+
+    private static boolean mayShowText(PDContentStream content, PDResources resources, Set<Object> visitedForms)
+            throws IOException {
+        if (resources != null) {
+            if (resources.getFontNames().iterator().hasNext()) {
+                return true;
+            }
+            for (COSName name : resources.getXObjectNames()) {
+                PDXObject xObject = resources.getXObject(name);
+                if (xObject instanceof PDFormXObject form
+                        && visitedForms.add(form.getCOSObject())
+                        && mayShowText(form, form.getResources(), visitedForms)) {
+                    return true;
+                }
+            }
+        }
+        return hasTextOperator(content);
+    }
+
+    private static boolean hasTextOperator(PDContentStream content) throws IOException {
+        PDFStreamParser parser = new PDFStreamParser(content);
+        Object token;
+        while ((token = parser.parseNextToken()) != null) {
+            if (token instanceof Operator operator && isTextShowing(operator.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isTextShowing(String operator) {
+        return switch (operator) {
+            case "Tj", "TJ", "'", "\"" -> true;
+            default -> false;
+        };
+    }
+}
@@ -0,0 +1,368 @@
+package com.synapx.acord.service;
+
+/**
+ * Character-level scanners behind the value cleanup in {@link FieldExtractorService}.
+ *
+ * <p>Each method reproduces a regex or string-replace chain previously applied per extracted value, including which
+ * match wins, without building intermediate strings: results are substrings of the input where possible and at most
+ * one new string otherwise. The replaced expressions are quoted on each method. Whitespace means the regex class
+ * {@code \s} ({@code [ \t\n\x0B\f\r]}), and word boundaries follow {@code \b}.
+ */
+final class ValueScanner {
+
+    private ValueScanner() {
+    }
+
+    /**
+     * {@code value.replaceAll("^[\\s:;\\-]+", "").replaceAll("\\s+", " ").trim()}.
+     */
+    static String collapse(String value) {
+        return collapse(value, 0, value.length());
+    }
+
+    /**
+     * {@link #collapse(String)} of a multi-line block after
+     * {@code block.replaceAll("\\s*\\r?\\n\\s*", " ").trim()}. Line-break runs collapse to one space either way, so
+     * only the leading trim differs.
+     */
+    static String collapseBlock(String block) {
+        int end = block.length();
+        int begin = 0;
+        while (begin < end && block.charAt(begin) <= ' ') {
+            begin++;
+        }
+        while (end > begin && block.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return collapse(block, begin, end);
+    }
+
+    /**
+     * Whether {@code value} equals {@code label} (upper case words separated by single spaces) after
+     * {@code value.replaceAll("[^A-Za-z ]", " ").replaceAll("\\s+", " ").trim().toUpperCase(Locale.ROOT)}.
+     */
+    static boolean equalsLabelWords(String value, String label) {
+        int length = value.length();
+        int j = 0;
+        boolean separated = false;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (!isAsciiLetter(c)) {
+                separated = true;
+                continue;
+            }
+            if (separated && j > 0 && (j == label.length() || label.charAt(j++) != ' ')) {
+                return false;
+            }
+            separated = false;
+            if (j == label.length() || label.charAt(j++) != asciiUpper(c)) {
+                return false;
+            }
+        }
+        return j == label.length();
+    }
+
+    /**
+     * First date matched by {@code \b(0?[1-9]|1[0-2])[/-](0?[1-9]|[12]\d|3[01])[/-](\d{2}|\d{4})\b}, formatted as
+     * {@code MM/dd/yyyy} with two-digit years placed in the 2000s, or null.
+     */
+    static String findDate(String source) {
+        if (source == null) {
+            return null;
+        }
+        int length = source.length();
+        for (int start = 0; start < length; start++) {
+            if (!isAsciiDigit(source.charAt(start)) || !isWordBoundary(source, start)) {
+                continue;
+            }
+            int monthEnd = monthEnd(source, start);
+            if (monthEnd < 0 || !isDateSeparator(source, monthEnd)) {
+                continue;
+            }
+            int dayEnd = dayEnd(source, monthEnd + 1);
+            if (dayEnd < 0 || !isDateSeparator(source, dayEnd)) {
+                continue;
+            }
+            int yearStart = dayEnd + 1;
+            int yearEnd;
+            if (digitsAt(source, yearStart, 2) && isWordBoundary(source, yearStart + 2)) {
+                yearEnd = yearStart + 2;
+            } else if (digitsAt(source, yearStart, 4) && isWordBoundary(source, yearStart + 4)) {
+                yearEnd = yearStart + 4;
+            } else {
+                continue;
+            }
+            char[] date = {'0', '0', '/', '0', '0', '/', '2', '0', '0', '0'};
+            copyRightAligned(source, start, monthEnd, date, 2);
+            copyRightAligned(source, monthEnd + 1, dayEnd, date, 5);
+            copyRightAligned(source, yearStart, yearEnd, date, 10);
+            return new String(date);
+        }
+        return null;
+    }
+
+    /**
+     * First time matched by
+     * {@code \b(?:[01]?\d|2[0-3]):[0-5]\d(?:\s?[APMapm]{2})?\b|\b(?:1[0-2]|0?[1-9])\s?[APMapm]{2}\b}, with the
+     * optional whitespace before the meridiem written as a single space, or null.
+     */
+    static String findTime(String source) {
+        if (source == null) {
+            return null;
+        }
+        int length = source.length();
+        for (int start = 0; start < length; start++) {
+            if (!isAsciiDigit(source.charAt(start)) || !isWordBoundary(source, start)) {
+                continue;
+            }
+            int end = clockTimeEnd(source, start);
+            if (end < 0) {
+                end = meridiemTimeEnd(source, start);
+            }
+            if (end >= 0) {
+                return withSingleSpaces(source, start, end);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Whole amount of the first {@code [$]?\s*\d[\d,]*(?:\.\d{1,2})?} match with {@code $} and {@code ,} removed,
+     * rounded half up and narrowed like {@link java.math.BigDecimal#intValue()}, or null.
+     */
+    static Integer findAmount(String source) {
+        if (source == null) {
+            return null;
+        }
+        int length = source.length();
+        int i = 0;
+        while (i < length && !isAsciiDigit(source.charAt(i))) {
+            i++;
+        }
+        if (i == length) {
+            return null;
+        }
+        int amount = 0;
+        while (i < length && (isAsciiDigit(source.charAt(i)) || source.charAt(i) == ',')) {
+            char c = source.charAt(i++);
+            if (c != ',') {
+                amount = amount * 10 + (c - '0');
+            }
+        }
+        if (i + 1 < length && source.charAt(i) == '.' && source.charAt(i + 1) >= '5' && source.charAt(i + 1) <= '9') {
+            amount++;
+        }
+        return amount;
+    }
+
+    /**
+     * {@code rawText.replace('\u00A0', ' ').replace("\r\n", "\n").replace('\r', '\n')}.
+     */
+    static String normalizeLineBreaks(String rawText) {
+        int length = rawText.length();
+        int first = 0;
+        while (first < length && rawText.charAt(first) != '\u00A0' && rawText.charAt(first) != '\r') {
+            first++;
+        }
+        if (first == length) {
+            return rawText;
+        }
+        char[] normalized = new char[length];
+        rawText.getChars(0, first, normalized, 0);
+        int j = first;
+        for (int i = first; i < length; i++) {
+            char c = rawText.charAt(i);
+            if (c == '\u00A0') {
+                normalized[j++] = ' ';
+            } else if (c == '\r') {
+                normalized[j++] = '\n';
+                if (i + 1 < length && rawText.charAt(i + 1) == '\n') {
+                    i++;
+                }
+            } else {
+                normalized[j++] = c;
+            }
+        }
+        return new String(normalized, 0, j);
+    }
+
+    private static String collapse(String value, int begin, int end) {
+        int start = begin;
+        while (start < end && (isWhitespace(value.charAt(start)) || isLeadingSeparator(value.charAt(start)))) {
+            start++;
+        }
+        // trim() after the collapse removes every leading or trailing char up to ' ', collapsed runs included.
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return withSingleSpaces(value, start, end);
+    }
+
+    /**
+     * {@code value.substring(start, end).replaceAll("\\s+", " ")}.
+     */
+    private static String withSingleSpaces(String value, int start, int end) {
+        int i = start;
+        while (i < end) {
+            char c = value.charAt(i);
+            if (isWhitespace(c) && (c != ' ' || (i + 1 < end && isWhitespace(value.charAt(i + 1))))) {
+                break;
+            }
+            i++;
+        }
+        if (i == end) {
+            return value.substring(start, end);
+        }
+        char[] collapsed = new char[end - start];
+        value.getChars(start, i, collapsed, 0);
+        int j = i - start;
+        while (i < end) {
+            char c = value.charAt(i++);
+            if (isWhitespace(c)) {
+                collapsed[j++] = ' ';
+                while (i < end && isWhitespace(value.charAt(i))) {
+                    i++;
+                }
+            } else {
+                collapsed[j++] = c;
+            }
+        }
+        return new String(collapsed, 0, j);
+    }
+
+    /**
+     * End of {@code (?:[01]?\d|2[0-3]):[0-5]\d(?:\s?[APMapm]{2})?\b} at {@code start}, or -1.
+     */
+    private static int clockTimeEnd(String source, int start) {
+        int colon;
+        if (charAt(source, start + 1) == ':') {
+            colon = start + 1;
+        } else if (charAt(source, start + 2) == ':'
+                && (charAt(source, start) <= '1' && isAsciiDigit(charAt(source, start + 1))
+                        || charAt(source, start) == '2' && charAt(source, start + 1) >= '0' && charAt(source, start + 1) <= '3')) {
+            colon = start + 2;
+        } else {
+            return -1;
+        }
+        char tens = charAt(source, colon + 1);
+        if (tens < '0' || tens > '5' || !isAsciiDigit(charAt(source, colon + 2))) {
+            return -1;
+        }
+        int minutesEnd = colon + 3;
+        int meridiem = isWhitespace(charAt(source, minutesEnd)) ? minutesEnd + 1 : minutesEnd;
+        if (isMeridiemLetter(charAt(source, meridiem))
+                && isMeridiemLetter(charAt(source, meridiem + 1))
+                && isWordBoundary(source, meridiem + 2)) {
+            return meridiem + 2;
+        }
+        return isWordBoundary(source, minutesEnd) ? minutesEnd : -1;
+    }
+
+    /**
+     * End of {@code (?:1[0-2]|0?[1-9])\s?[APMapm]{2}\b} at {@code start}, or -1.
+     */
+    private static int meridiemTimeEnd(String source, int start) {
+        char first = charAt(source, start);
+        char second = charAt(source, start + 1);
+        int hourEnd;
+        if (first == '1' && second >= '0' && second <= '2' || first == '0' && second >= '1' && second <= '9') {
+            hourEnd = start + 2;
+        } else if (first >= '1' && first <= '9') {
+            hourEnd = start + 1;
+        } else {
+            return -1;
+        }
+        int meridiem = isWhitespace(charAt(source, hourEnd)) ? hourEnd + 1 : hourEnd;
+        if (isMeridiemLetter(charAt(source, meridiem))
+                && isMeridiemLetter(charAt(source, meridiem + 1))
+                && isWordBoundary(source, meridiem + 2)) {
+            return meridiem + 2;
+        }
+        return -1;
+    }
+
+    /**
+     * End of {@code 0?[1-9]|1[0-2]} at {@code start} when a date separator could follow it, or -1.
+     */
+    private static int monthEnd(String source, int start) {
+        char first = charAt(source, start);
+        char second = charAt(source, start + 1);
+        if (first == '0' && second >= '1' && second <= '9' || first == '1' && second >= '0' && second <= '2') {
+            return start + 2;
+        }
+        return first >= '1' && first <= '9' ? start + 1 : -1;
+    }
+
+    /**
+     * End of {@code 0?[1-9]|[12]\d|3[01]} at {@code start} when a date separator could follow it, or -1.
+     */
+    private static int dayEnd(String source, int start) {
+        char first = charAt(source, start);
+        char second = charAt(source, start + 1);
+        if (first == '0' && second >= '1' && second <= '9'
+                || (first == '1' || first == '2') && isAsciiDigit(second)
+                || first == '3' && (second == '0' || second == '1')) {
+            return start + 2;
+        }
+        return first >= '1' && first <= '9' ? start + 1 : -1;
+    }
+
+    private static boolean isDateSeparator(String source, int index) {
+        char c = charAt(source, index);
+        return c == '/' || c == '-';
+    }
+
+    private static boolean digitsAt(String source, int start, int count) {
+        for (int i = start; i < start + count; i++) {
+            if (!isAsciiDigit(charAt(source, i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void copyRightAligned(String source, int start, int end, char[] target, int targetEnd) {
+        source.getChars(start, end, target, targetEnd - (end - start));
+    }
+
+    private static char charAt(String source, int index) {
+        return index < source.length() ? source.charAt(index) : '\uFFFF';
+    }
+
+    private static boolean isWordBoundary(String source, int position) {
+        boolean before = position > 0 && isWord(source.codePointBefore(position));
+        boolean after = position < source.length() && isWord(source.codePointAt(position));
+        return before != after;
+    }
+
+    private static boolean isWord(int codePoint) {
+        return codePoint == '_' || Character.isLetterOrDigit(codePoint);
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isLeadingSeparator(char c) {
+        return c == ':' || c == ';' || c == '-';
+    }
+
+    private static boolean isMeridiemLetter(char c) {
+        return c == 'A' || c == 'P' || c == 'M' || c == 'a' || c == 'p' || c == 'm';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z';
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static char asciiUpper(char c) {
+        return c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+    }
+}
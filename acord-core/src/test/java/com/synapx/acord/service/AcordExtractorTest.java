@@ -0,0 +1,156 @@
+package com.synapx.acord.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.synapx.acord.exception.BadRequestException;
+import com.synapx.acord.exception.ServiceOverloadedException;
+import com.synapx.acord.model.ClaimProcessingResponse;
+import com.synapx.acord.model.RouteType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AcordExtractorTest {
+
+    private static final String CLAIM = """
+            ACORD AUTOMOBILE LOSS NOTICE
+            POLICY NUMBER: PL-000001
+            DATE OF LOSS: 01/15/2026
+            TIME OF LOSS: 08:30
+            LOCATION OF LOSS: 100 Main St, Austin, TX 78701
+            DESCRIPTION OF ACCIDENT
+            Rear-end collision at a stoplight with damage to the bumper and trunk lid.
+            ESTIMATE AMOUNT: $4,250.00
+            INSURED NAME: Sample Insured
+            DRIVER NAME
+            Sample Driver
+            OWNER NAME: Sample Owner
+            CLAIM TYPE: Property Damage
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void processesTextAndPdfWithoutSpring() throws IOException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Path pdf = writePdf(CLAIM);
+
+        try (AcordExtractor extractor = AcordExtractor.builder()
+                .pdfTimeout(Duration.ofSeconds(30))
+                .parserThreads(1, 4)
+                .scratchDirectory(tempDir)
+                .meterRegistry(meterRegistry)
+                .build()) {
+            ClaimProcessingResponse fromText = extractor.processText(CLAIM);
+            ClaimProcessingResponse fromPdf = extractor.processPdf(PdfSource.of(pdf));
+
+            assertThat(fromText.getExtractedFields().getPolicyNumber()).isEqualTo("PL-000001");
+            assertThat(fromText.getMissingFields()).isEmpty();
+            assertThat(fromText.getRecommendedRoute()).isEqualTo(RouteType.FAST_TRACK);
+            assertThat(fromPdf.getExtractedFields()).isEqualTo(fromText.getExtractedFields());
+            assertThat(fromPdf.getRecommendedRoute()).isEqualTo(RouteType.FAST_TRACK);
+        }
+
+        assertThat(meterRegistry.get("acord.claim.outcome").tag("route", "FAST_TRACK").counter().count()).isEqualTo(2);
+        assertThrows(ClassNotFoundException.class, () -> Class.forName("org.springframework.core.SpringVersion"));
+    }
+
+    @Test
+    void refusesEmptyInputAndStopsParsingWhenClosed() throws IOException {
+        Path pdf = writePdf(CLAIM);
+        AcordExtractor extractor = AcordExtractor.builder().scratchDirectory(tempDir).build();
+
+        assertThrows(BadRequestException.class, () -> extractor.processText(" "));
+        assertThrows(BadRequestException.class, () -> extractor.processPdf(PdfSource.of(new byte[0])));
+
+        extractor.close();
+
+        assertThrows(ServiceOverloadedException.class, () -> extractor.processPdf(PdfSource.of(pdf)));
+    }
+
+    @Test
+    void suggestsConfiguredRetryAfterWhenRefusingPdfs() throws IOException {
+        PdfSource pdf = PdfSource.of(writePdf(CLAIM));
+        AcordExtractor defaults = AcordExtractor.builder().scratchDirectory(tempDir).build();
+        AcordExtractor configured = AcordExtractor.builder().retryAfterSeconds(7).scratchDirectory(tempDir).build();
+        defaults.close();
+        configured.close();
+
+        assertThat(assertThrows(ServiceOverloadedException.class, () -> defaults.processPdf(pdf))
+                .getRetryAfterSeconds()).isEqualTo(2);
+        assertThat(assertThrows(ServiceOverloadedException.class, () -> configured.processPdf(pdf))
+                .getRetryAfterSeconds()).isEqualTo(7);
+    }
+
+    @Test
+    void incrementalAndFullExtractionAgreeOnMultiPageDocuments() throws IOException {
+        String claimWithoutInjury = CLAIM.replace("CLAIM TYPE: Property Damage\n", "");
+        List<String[]> documents = List.of(
+                new String[] {CLAIM, "INJURED PERSON: Jane Roe\nSupporting statement of the injured passenger."},
+                new String[] {claimWithoutInjury + "INJURED: No\n", "CLAIM TYPE: Injury\nMedical report attached."},
+                new String[] {CLAIM.replace("POLICY NUMBER", "POLICY NO"), "POLICY NUMBER: PL-000002\nEndorsement."},
+                new String[] {claimWithoutInjury + "INJURED PERSON: None\nCLAIM TYPE: Property Damage\n",
+                        "Repair photos of the rear bumper.", "Police report narrative."});
+
+        try (AcordExtractor incremental = AcordExtractor.builder()
+                        .incrementalExtraction(true).scratchDirectory(tempDir).build();
+             AcordExtractor full = AcordExtractor.builder()
+                        .incrementalExtraction(false).scratchDirectory(tempDir).build()) {
+            for (String[] pages : documents) {
+                Path pdf = writePdf(pages);
+
+                assertThat(incremental.processPdf(PdfSource.of(pdf)))
+                        .as(String.join(" / ", pages))
+                        .isEqualTo(full.processPdf(PdfSource.of(pdf)));
+            }
+        }
+    }
+
+    @Test
+    void routesInjuryClaimedAfterTheOtherFieldsToTheSpecialistQueue() throws IOException {
+        Path pdf = writePdf(CLAIM + "INJURED PERSON: None\n", "Repair photos of the rear bumper.",
+                "CLAIM TYPE: Injury\nMedical report of the driver.");
+
+        try (AcordExtractor extractor = AcordExtractor.builder()
+                .incrementalExtraction(true).scratchDirectory(tempDir).build()) {
+            ClaimProcessingResponse response = extractor.processPdf(PdfSource.of(pdf));
+
+            assertThat(response.getExtractedFields().getInjuryPresent()).isTrue();
+            assertThat(response.getRecommendedRoute()).isEqualTo(RouteType.SPECIALIST_QUEUE);
+        }
+    }
+
+    private Path writePdf(String... pages) throws IOException {
+        Path file = tempDir.resolve("claim.pdf");
+        try (PDDocument document = new PDDocument()) {
+            for (String text : pages) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                    contentStream.beginText();
+                    contentStream.setFont(PDType1Font.HELVETICA, 10);
+                    contentStream.setLeading(14);
+                    contentStream.newLineAtOffset(50, 740);
+                    for (String line : text.split("\n")) {
+                        contentStream.showText(line);
+                        contentStream.newLine();
+                    }
+                    contentStream.endText();
+                }
+            }
+            document.save(file.toFile());
+        }
+        return file;
+    }
+}
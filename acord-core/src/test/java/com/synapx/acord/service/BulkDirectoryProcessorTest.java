@@ -0,0 +1,180 @@
+package com.synapx.acord.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synapx.acord.model.BulkResult;
+import com.synapx.acord.model.ClaimFields;
+import com.synapx.acord.model.RouteType;
+import com.synapx.acord.service.BulkDirectoryProcessor.Summary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BulkDirectoryProcessorTest {
+
+    private static final String CLAIM = """
+            ACORD AUTOMOBILE LOSS NOTICE
+            POLICY NUMBER: PL-000001
+            DATE OF LOSS: 01/15/2026
+            TIME OF LOSS: 08:30
+            LOCATION OF LOSS: 100 Main St, Austin, TX 78701
+            DESCRIPTION OF ACCIDENT
+            Rear-end collision at a stoplight with damage to the bumper and trunk lid.
+            ESTIMATE AMOUNT: $4,250.00
+            INSURED NAME: Sample Insured
+            DRIVER NAME
+            Sample Driver
+            OWNER NAME: Sample Owner
+            CLAIM TYPE: Property Damage
+            """;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    private Path input;
+    private Path output;
+    private AcordExtractor extractor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        input = Files.createDirectories(tempDir.resolve("in"));
+        output = tempDir.resolve("out");
+        extractor = AcordExtractor.builder().parserThreads(2, 2).scratchDirectory(tempDir).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        extractor.close();
+    }
+
+    @Test
+    void processesTreeAndResumesFromCheckpoint() throws IOException {
+        Files.writeString(input.resolve("claim.txt"), CLAIM);
+        writePdf(Files.createDirectories(input.resolve("branch/2026")).resolve("claim.PDF"), CLAIM);
+        Files.writeString(input.resolve("blank.txt"), " ");
+        Files.writeString(input.resolve("notes.md"), CLAIM);
+
+        Summary first = processor(2).run(input, output);
+
+        assertThat(first).isEqualTo(new Summary(2, 1, 0));
+        Map<String, BulkResult> results = results();
+        assertThat(results).containsOnlyKeys("claim.txt", "branch/2026/claim.PDF", "blank.txt");
+        assertThat(results.get("claim.txt").response().getRecommendedRoute()).isEqualTo(RouteType.FAST_TRACK);
+        assertThat(results.get("branch/2026/claim.PDF").response().getExtractedFields())
+                .isEqualTo(results.get("claim.txt").response().getExtractedFields());
+        assertThat(results.get("blank.txt").error()).startsWith("Text is empty.");
+        assertThat(checkpoint()).containsExactlyInAnyOrder("claim.txt", "branch/2026/claim.PDF", "blank.txt");
+
+        Files.writeString(input.resolve("later.txt"), CLAIM);
+        Summary second = processor(2).run(input, output);
+
+        assertThat(second).isEqualTo(new Summary(1, 0, 3));
+        assertThat(Files.readAllLines(output.resolve("claims-00002.ndjson"))).hasSize(1);
+        assertThat(checkpoint()).hasSize(4).contains("later.txt");
+    }
+
+    @Test
+    void rollsResultFilesAndReprocessesTornCheckpointLine() throws IOException {
+        for (int i = 0; i < 5; i++) {
+            Files.writeString(input.resolve("claim-" + i + ".txt"), CLAIM);
+        }
+        Files.createDirectories(output);
+        Files.writeString(output.resolve(BulkDirectoryProcessor.CHECKPOINT_FILE), "claim-0.txt\nclaim-1.t");
+
+        Summary summary = processor(2).run(input, output);
+
+        assertThat(summary).isEqualTo(new Summary(4, 0, 1));
+        assertThat(resultFiles()).containsExactly("claims-00001.ndjson", "claims-00002.ndjson");
+        assertThat(results()).containsOnlyKeys("claim-1.txt", "claim-2.txt", "claim-3.txt", "claim-4.txt");
+        assertThat(checkpoint()).containsExactlyInAnyOrder(
+                "claim-0.txt", "claim-1.txt", "claim-2.txt", "claim-3.txt", "claim-4.txt");
+    }
+
+    @Test
+    void writesDocumentWhoseStageFailsWithAnErrorAndRetriesItNextRun() throws IOException {
+        ClaimMetrics claimMetrics = new ClaimMetrics(new SimpleMeterRegistry());
+        AcordExtractor failing = new AcordExtractor(null, new FieldExtractorService(claimMetrics),
+                new ValidatorService(), new RoutingService(), null, claimMetrics) {
+            @Override
+            ClaimFields extractFields(PdfContent content) {
+                if (content.text().contains("BROKEN")) {
+                    throw new NoClassDefFoundError("com/example/Missing");
+                }
+                return super.extractFields(content);
+            }
+        };
+        Files.writeString(input.resolve("claim.txt"), CLAIM);
+        Files.writeString(input.resolve("broken.txt"), CLAIM + "BROKEN\n");
+
+        Summary summary = new BulkDirectoryProcessor(failing, objectMapper, 1, 1, 1, 1, 1, 10).run(input, output);
+
+        assertThat(summary).isEqualTo(new Summary(1, 1, 0));
+        assertThat(results().get("broken.txt").error()).startsWith("Unexpected error: java.lang.NoClassDefFoundError");
+        assertThat(checkpoint()).containsExactly("claim.txt");
+    }
+
+    private BulkDirectoryProcessor processor(int recordsPerFile) {
+        return new BulkDirectoryProcessor(extractor, objectMapper, 2, 2, 2, 1, 4, recordsPerFile);
+    }
+
+    private Map<String, BulkResult> results() throws IOException {
+        List<BulkResult> results = new ArrayList<>();
+        for (String file : resultFiles()) {
+            for (String line : Files.readAllLines(output.resolve(file))) {
+                results.add(objectMapper.readValue(line, BulkResult.class));
+            }
+        }
+        return results.stream().collect(Collectors.toMap(BulkResult::path, Function.identity()));
+    }
+
+    private List<String> resultFiles() throws IOException {
+        try (Stream<Path> listing = Files.list(output)) {
+            return listing.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(".ndjson"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private List<String> checkpoint() throws IOException {
+        return Files.readAllLines(output.resolve(BulkDirectoryProcessor.CHECKPOINT_FILE), StandardCharsets.UTF_8);
+    }
+
+    private static void writePdf(Path file, String text) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                contentStream.beginText();
+                contentStream.setFont(PDType1Font.HELVETICA, 10);
+                contentStream.setLeading(14);
+                contentStream.newLineAtOffset(50, 740);
+                for (String line : text.split("\n")) {
+                    contentStream.showText(line);
+                    contentStream.newLine();
+                }
+                contentStream.endText();
+            }
+            document.save(file.toFile());
+        }
+    }
+}
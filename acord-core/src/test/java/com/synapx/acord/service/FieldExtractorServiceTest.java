@@ -0,0 +1,158 @@
+package com.synapx.acord.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.synapx.acord.model.ClaimFields;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FieldExtractorServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ClaimMetrics claimMetrics = new ClaimMetrics(meterRegistry);
+
+    private final FieldExtractorService fieldExtractorService = new FieldExtractorService(claimMetrics);
+
+    @Test
+    void extractsFieldsFromLabeledTextWithLineBreaks() {
+        String text = """
+                POLICY NUMBER
+                PL-998877
+                DATE OF LOSS: 1/5/2026
+                TIME OF LOSS
+                14:45
+                LOCATION OF LOSS
+                123 Main St, Austin, TX 78701
+                DESCRIPTION OF ACCIDENT
+                Rear-end collision at a stoplight with minor bumper damage.
+                ESTIMATE AMOUNT
+                $12,450.00
+                INSURED NAME: John Doe
+                DRIVER NAME
+                Jane Doe
+                OWNER NAME: John Doe
+                CLAIM TYPE: Injury
+                """;
+
+        ClaimFields fields = fieldExtractorService.extractFields(text);
+
+        assertThat(fields.getPolicyNumber()).isEqualTo("PL-998877");
+        assertThat(fields.getDateOfLoss()).isEqualTo("01/05/2026");
+        assertThat(fields.getTimeOfLoss()).isEqualTo("14:45");
+        assertThat(fields.getLocationOfLoss()).contains("123 Main St");
+        assertThat(fields.getDescriptionOfAccident()).contains("Rear-end collision");
+        assertThat(fields.getEstimateAmount()).isEqualTo(12450);
+        assertThat(fields.getInsuredName()).isEqualTo("John Doe");
+        assertThat(fields.getDriverName()).isEqualTo("Jane Doe");
+        assertThat(fields.getOwnerName()).isEqualTo("John Doe");
+        assertThat(fields.getInjuryPresent()).isTrue();
+        assertThat(fields.getFraudFlagPresent()).isFalse();
+    }
+
+    @Test
+    void stopsMultilineValuesAtTheNextKnownLabel() {
+        String text = """
+                Policy No: PL-445566
+                LOCATION OF LOSS:
+                500 Elm Ave
+                Dallas, TX 75201
+                DESCRIPTION OF ACCIDENT - Vehicle slid on ice
+                and struck a guard rail.
+                ESTIMATE AMOUNT: $ 3,200.50
+                """;
+
+        ClaimFields fields = fieldExtractorService.extractFields(text);
+
+        assertThat(fields.getPolicyNumber()).isEqualTo("PL-445566");
+        assertThat(fields.getLocationOfLoss()).isEqualTo("500 Elm Ave Dallas, TX 75201");
+        assertThat(fields.getDescriptionOfAccident()).isEqualTo("Vehicle slid on ice and struck a guard rail.");
+        assertThat(fields.getEstimateAmount()).isEqualTo(3201);
+    }
+
+    @Test
+    void fallsBackToNextLineWhenSameLineValueIsAnotherLabel() {
+        String text = """
+                INSURED NAME
+                DRIVER NAME
+                Pat Smith
+                """;
+
+        ClaimFields fields = fieldExtractorService.extractFields(text);
+
+        assertThat(fields.getInsuredName()).isNull();
+        assertThat(fields.getDriverName()).isEqualTo("Pat Smith");
+    }
+
+    @Test
+    void reportsFieldsAsSettledOnlyOnceEveryLabeledValueIsComplete() {
+        String firstPage = """
+                POLICY NUMBER: PL-1
+                DATE OF LOSS: 01/05/2026
+                TIME OF LOSS: 14:45
+                LOCATION OF LOSS: 123 Main St, Austin, TX 78701
+                DESCRIPTION OF ACCIDENT: Rear-end collision.
+                ESTIMATE AMOUNT: $1200
+                INSURED NAME: John Doe
+                DRIVER NAME: Jane Doe
+                """;
+        String secondPage = """
+                OWNER NAME: John Doe
+                INJURED PERSON: None
+                CLAIM TYPE: Injury
+                """;
+
+        assertThat(fieldExtractorService.extractIfSettled(firstPage)).isEmpty();
+        assertThat(fieldExtractorService.extractIfSettled(firstPage + secondPage))
+                .hasValueSatisfying(fields -> assertThat(fields.getOwnerName()).isEqualTo("John Doe"));
+    }
+
+    @Test
+    void timesSettleCheckApartFromExtractionStages() {
+        fieldExtractorService.extractIfSettled("POLICY NUMBER: PL-1\nDATE OF LOSS: 01/05/2026\n");
+
+        assertThat(meterRegistry.get("acord.claim.stage").tag("stage", "settleCheck").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("acord.claim.stage").tag("stage", "normalization").timer().count()).isZero();
+        assertThat(meterRegistry.get("acord.claim.stage").tag("stage", "labelIndex").timer().count()).isZero();
+        assertThat(meterRegistry.find("acord.claim.field").timers()).isEmpty();
+    }
+
+    @Test
+    void settledPrefixesAgreeWithFullExtraction() {
+        List<List<String>> documents = List.of(
+                List.of(firstPage("POLICY NUMBER: PL-1", "CLAIM TYPE: Property"), "INJURED PERSON: Jane Roe\n"),
+                List.of(firstPage("POLICY NUMBER: PL-1", "INJURED: No"), "CLAIM TYPE: Injury\n"),
+                List.of(firstPage("POLICY NO: PL-OLD", "INJURED PERSON: None\nCLAIM TYPE: Property"),
+                        "POLICY NUMBER: PL-NEW\n"),
+                List.of(firstPage("POLICY NUMBER: PL-1", "INJURED PERSON: Jane Roe\nCLAIM TYPE: Property"),
+                        "Supporting photos of the rear bumper.\n"),
+                List.of(firstPage("POLICY NUMBER: PL-1", "INJURED PERSON: None\nCLAIM TYPE: Property"),
+                        "Supporting photos of the rear bumper.\n", "CLAIM TYPE: Injury\n"));
+
+        for (List<String> pages : documents) {
+            ClaimFields full = fieldExtractorService.extractFields(String.join("", pages));
+            StringBuilder prefix = new StringBuilder();
+            for (String page : pages) {
+                prefix.append(page);
+                fieldExtractorService.extractIfSettled(prefix.toString())
+                        .ifPresent(settled -> assertThat(settled).as(prefix.toString()).isEqualTo(full));
+            }
+        }
+        assertThat(fieldExtractorService.extractIfSettled(documents.get(3).get(0))).isPresent();
+        assertThat(fieldExtractorService.extractIfSettled(documents.get(4).get(0) + documents.get(4).get(1))).isEmpty();
+        assertThat(fieldExtractorService.extractFields(String.join("", documents.get(0))).getInjuryPresent()).isTrue();
+    }
+
+    private static String firstPage(String policyLine, String injuryLines) {
+        return policyLine + "\n" + """
+                DATE OF LOSS: 01/05/2026
+                TIME OF LOSS: 14:45
+                LOCATION OF LOSS: 123 Main St, Austin, TX 78701
+                DESCRIPTION OF ACCIDENT: Rear-end collision.
+                ESTIMATE AMOUNT: $1200
+                INSURED NAME: John Doe
+                DRIVER NAME: Jane Doe
+                OWNER NAME: John Doe
+                """ + injuryLines + "\n";
+    }
+}
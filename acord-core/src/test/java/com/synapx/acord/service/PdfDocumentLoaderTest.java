@@ -0,0 +1,79 @@
+package com.synapx.acord.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.synapx.acord.service.PdfDocumentLoader.LoadedPdf;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PdfDocumentLoaderTest {
+
+    @TempDir
+    Path scratchRoot;
+
+    @Test
+    void deletesScratchDirectoryWhenDocumentIsClosed() throws IOException {
+        PdfDocumentLoader loader = new PdfDocumentLoader(PdfMemoryMode.TEMP_FILE, 0, scratchRoot.toString());
+
+        try (LoadedPdf loadedPdf = loader.load(new ByteArrayInputStream(createPdfBytes(3)))) {
+            assertThat(loadedPdf.document().getNumberOfPages()).isEqualTo(3);
+            assertThat(scratchRoot).isNotEmptyDirectory();
+        }
+
+        assertThat(scratchRoot).isEmptyDirectory();
+    }
+
+    @Test
+    void deletesScratchDirectoryWhenLoadingFails() {
+        PdfDocumentLoader loader = new PdfDocumentLoader(PdfMemoryMode.MIXED, 1024, scratchRoot.toString());
+
+        assertThrows(IOException.class, () -> loader.load(
+                new ByteArrayInputStream("not-a-real-pdf".getBytes(StandardCharsets.UTF_8))));
+
+        assertThat(scratchRoot).isEmptyDirectory();
+    }
+
+    @Test
+    void keepsOnlyConfiguredShareOfDocumentOnHeap() {
+        assertThat(new PdfDocumentLoader(PdfMemoryMode.MAIN_MEMORY, 1024, scratchRoot.toString()).residentBytes(4096))
+                .isEqualTo(4096);
+        assertThat(new PdfDocumentLoader(PdfMemoryMode.MIXED, 1024, scratchRoot.toString()).residentBytes(4096))
+                .isEqualTo(1024);
+        assertThat(new PdfDocumentLoader(PdfMemoryMode.TEMP_FILE, 1024, scratchRoot.toString()).residentBytes(4096))
+                .isZero();
+    }
+
+    @Test
+    void readsFileSourceInPlace(@TempDir Path directory) throws IOException {
+        Path file = Files.write(directory.resolve("claim.pdf"), createPdfBytes(4));
+        PdfSource source = PdfSource.of(file);
+        PdfDocumentLoader loader = new PdfDocumentLoader(PdfMemoryMode.MAIN_MEMORY, 0, scratchRoot.toString());
+
+        assertThat(source.size()).isEqualTo(Files.size(file));
+        assertThat(loader.residentBytes(source)).isEqualTo(Math.min(source.size(), 4_096_000));
+        try (LoadedPdf loadedPdf = loader.load(source)) {
+            assertThat(loadedPdf.document().getNumberOfPages()).isEqualTo(4);
+        }
+    }
+
+    private byte[] createPdfBytes(int pages) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 0; i < pages; i++) {
+                document.addPage(new PDPage());
+            }
+            try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+                document.save(outputStream);
+                return outputStream.toByteArray();
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.synapx.acord.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.synapx.acord.exception.ProcessingTimeoutException;
+import com.synapx.acord.exception.ServiceOverloadedException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class PdfParsingSchedulerTest {
+
+    private static final long DOCUMENT_BYTES = 1_000;
+
+    private final PdfParsingScheduler scheduler = new PdfParsingScheduler(
+            1, 1, DOCUMENT_BYTES * PdfParsingScheduler.HEAP_BYTES_PER_DOCUMENT_BYTE * 2, 3);
+
+    @AfterEach
+    void shutDownPool() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void admitsSingleDocumentLargerThanBudgetAndReleasesItAfterwards() {
+        String result = scheduler.run(DOCUMENT_BYTES * 10, reservation -> {
+            reservation.reservePages(100);
+            return "parsed";
+        });
+
+        assertThat(result).isEqualTo("parsed");
+        assertThat(scheduler.reservedBytes()).isZero();
+    }
+
+    @Test
+    void refusesWith503WhenHeapBudgetIsUsedUp() throws Exception {
+        CountDownLatch parsing = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> scheduler.run(DOCUMENT_BYTES, reservation -> {
+            parsing.countDown();
+            await(finish);
+            return "first";
+        }));
+        parsing.await();
+
+        ServiceOverloadedException exception = assertThrows(
+                ServiceOverloadedException.class,
+                () -> scheduler.run(DOCUMENT_BYTES * 2, reservation -> "second"));
+
+        assertThat(exception.getStatus()).isEqualTo(ServiceOverloadedException.SERVICE_UNAVAILABLE);
+        assertThat(exception.getRetryAfterSeconds()).isEqualTo(3);
+        finish.countDown();
+        assertThat(first.get()).isEqualTo("first");
+        assertThat(scheduler.reservedBytes()).isZero();
+    }
+
+    @Test
+    void doesNotParseDocumentWhoseDeadlinePassedWhileQueued() throws Exception {
+        Deadline deadline = Deadline.after(Duration.ofMillis(1));
+        Thread.sleep(5);
+
+        assertThrows(ProcessingTimeoutException.class, () -> scheduler.run(DOCUMENT_BYTES, deadline, reservation -> "parsed"));
+        assertThat(scheduler.reservedBytes()).isZero();
+    }
+
+    @Test
+    void releasesReservationOfDocumentWhoseDeadlinePassedWhileQueued() throws Exception {
+        CountDownLatch parsing = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> scheduler.run(DOCUMENT_BYTES, reservation -> {
+            parsing.countDown();
+            await(finish);
+            return "first";
+        }));
+        parsing.await();
+
+        assertThrows(ProcessingTimeoutException.class, () -> scheduler.run(
+                DOCUMENT_BYTES, Deadline.after(Duration.ofMillis(10)), reservation -> "queued"));
+
+        assertThat(scheduler.reservedBytes()).isEqualTo(DOCUMENT_BYTES * PdfParsingScheduler.HEAP_BYTES_PER_DOCUMENT_BYTE);
+        finish.countDown();
+        assertThat(first.get()).isEqualTo("first");
+        assertThat(scheduler.reservedBytes()).isZero();
+    }
+
+    @Test
+    void stopsWaitingForParseThatOverrunsDeadline() {
+        CountDownLatch never = new CountDownLatch(1);
+
+        long start = System.nanoTime();
+        assertThrows(ProcessingTimeoutException.class, () -> scheduler.run(
+                DOCUMENT_BYTES, Deadline.after(Duration.ofMillis(50)), reservation -> {
+                    await(never);
+                    return "parsed";
+                }));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start))
+                .isLessThan(Duration.ofNanos(PdfParsingScheduler.DEADLINE_GRACE_NANOS).plusSeconds(1));
+    }
+
+    @Test
+    void releasesReservationOfQueuedDocumentWhenCallerIsInterrupted() throws Exception {
+        CountDownLatch parsing = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> scheduler.run(DOCUMENT_BYTES, reservation -> {
+            parsing.countDown();
+            await(finish);
+            return "first";
+        }));
+        parsing.await();
+        CompletableFuture<RuntimeException> queuedFailure = new CompletableFuture<>();
+        Thread caller = new Thread(() -> {
+            try {
+                scheduler.run(DOCUMENT_BYTES, reservation -> "queued");
+            } catch (RuntimeException ex) {
+                queuedFailure.complete(ex);
+            }
+        });
+        caller.start();
+        while (scheduler.queuedDocuments() == 0) {
+            Thread.onSpinWait();
+        }
+
+        caller.interrupt();
+
+        assertThat(queuedFailure.get()).isInstanceOf(ServiceOverloadedException.class);
+        finish.countDown();
+        assertThat(first.get()).isEqualTo("first");
+        assertThat(scheduler.reservedBytes()).isZero();
+    }
+
+    @Test
+    void refusesExtraDocumentCopiesBeyondBudgetEvenForSingleDocument() {
+        boolean[] reserved = scheduler.run(DOCUMENT_BYTES, reservation -> new boolean[] {
+                reservation.tryReserveCopies(2), reservation.tryReserveCopies(3)});
+
+        assertThat(reserved).containsExactly(true, false);
+        assertThat(scheduler.reservedBytes()).isZero();
+    }
+
+    @Test
+    void refusesWith429WhenParserQueueIsFull() throws Exception {
+        PdfParsingScheduler unboundedHeap = new PdfParsingScheduler(1, 1, Long.MAX_VALUE / 2, 3);
+        CountDownLatch parsing = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture.runAsync(() -> unboundedHeap.run(1, reservation -> {
+            parsing.countDown();
+            await(finish);
+            return null;
+        }));
+        parsing.await();
+        CompletableFuture.runAsync(() -> unboundedHeap.run(1, reservation -> null));
+        while (unboundedHeap.queuedDocuments() == 0) {
+            Thread.onSpinWait();
+        }
+
+        ServiceOverloadedException exception = assertThrows(
+                ServiceOverloadedException.class,
+                () -> unboundedHeap.run(1, reservation -> null));
+
+        assertThat(exception.getStatus()).isEqualTo(ServiceOverloadedException.TOO_MANY_REQUESTS);
+        finish.countDown();
+        unboundedHeap.shutdown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
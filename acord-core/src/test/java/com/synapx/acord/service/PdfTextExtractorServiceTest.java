@@ -0,0 +1,377 @@
+package com.synapx.acord.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.synapx.acord.exception.BadRequestException;
+import com.synapx.acord.exception.RejectedDocumentException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PdfTextExtractorServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ClaimMetrics claimMetrics = new ClaimMetrics(meterRegistry);
+
+    private final List<PdfParsingScheduler> schedulers = new ArrayList<>();
+
+    private final PdfTextExtractorService pdfTextExtractorService =
+            extractor(false, Duration.ZERO, sequentialStripper());
+
+    @AfterEach
+    void shutDownSchedulers() {
+        schedulers.forEach(PdfParsingScheduler::shutdown);
+    }
+
+    @Test
+    void throwsScannedPdfErrorWhenExtractedTextIsTooShort() throws IOException {
+        PdfSource pdf = PdfSource.of(createPdfBytesWithText("Too short"));
+
+        BadRequestException exception =
+                assertThrows(BadRequestException.class, () -> pdfTextExtractorService.extractText(pdf));
+
+        assertThat(exception.getMessage()).isEqualTo(
+                "PDF appears to be scanned/image-only. OCR is not supported. Please upload a text-based PDF or use /claims/process-text.");
+    }
+
+    @Test
+    void throwsScannedPdfErrorWhenExtractedTextIsEmpty() throws IOException {
+        PdfSource pdf = PdfSource.of(createBlankPdfBytes());
+
+        BadRequestException exception =
+                assertThrows(BadRequestException.class, () -> pdfTextExtractorService.extractText(pdf));
+
+        assertThat(exception.getMessage()).isEqualTo(
+                "PDF appears to be scanned/image-only. OCR is not supported. Please upload a text-based PDF or use /claims/process-text.");
+    }
+
+    @Test
+    void rejectsImageOnlyPdfBeforeStrippingText() throws IOException {
+        PdfSource pdf = PdfSource.of(createImageOnlyPdfBytes(3));
+
+        RejectedDocumentException exception =
+                assertThrows(RejectedDocumentException.class, () -> pdfTextExtractorService.extractText(pdf));
+
+        assertThat(exception.getMessage()).isEqualTo(
+                "PDF appears to be scanned/image-only. OCR is not supported. Please upload a text-based PDF or use /claims/process-text.");
+        assertThat(meterRegistry.get("acord.claim.stage").tag("stage", "scanCheck").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("acord.claim.stage").tag("stage", "textStrip").timer().count()).isZero();
+    }
+
+    @Test
+    void throwsInvalidPdfErrorWhenPdfBoxLoadFails() {
+        PdfSource pdf = PdfSource.of("not-a-real-pdf".getBytes(StandardCharsets.UTF_8));
+
+        BadRequestException exception =
+                assertThrows(BadRequestException.class, () -> pdfTextExtractorService.extractText(pdf));
+
+        assertThat(exception).isInstanceOf(RejectedDocumentException.class);
+        assertThat(exception.getMessage()).isEqualTo("Invalid PDF input. Please upload a valid PDF document.");
+    }
+
+    @Test
+    void rejectsInvalidPdfReadInPlace(@TempDir Path tempDir) throws IOException {
+        Path file = Files.writeString(tempDir.resolve("claim.pdf"), "%PDF-1.4 truncated");
+
+        BadRequestException exception =
+                assertThrows(BadRequestException.class, () -> pdfTextExtractorService.extractText(PdfSource.of(file)));
+
+        assertThat(exception).isInstanceOf(RejectedDocumentException.class);
+    }
+
+    @Test
+    void doesNotRejectDocumentWhoseSourceFailsWhileLoading() throws IOException {
+        byte[] bytes = createPdfBytesWithText("This ACORD claim document carries enough text to be extracted.");
+        PdfSource pdf = sourceFailingFromOpen(bytes, 1);
+
+        BadRequestException exception =
+                assertThrows(BadRequestException.class, () -> pdfTextExtractorService.extractText(pdf));
+
+        assertThat(exception).isNotInstanceOf(RejectedDocumentException.class);
+    }
+
+    @Test
+    void doesNotRejectDocumentWhoseWorkerCopyFailsToLoad() throws IOException {
+        byte[] bytes = createPacketPdfBytes(8);
+        ParallelPageStripper parallelPageStripper = new ParallelPageStripper(true, 2, 2);
+        PdfTextExtractorService parallelExtractor = extractor(false, Duration.ZERO, parallelPageStripper);
+        try {
+            BadRequestException exception = assertThrows(BadRequestException.class,
+                    () -> parallelExtractor.extractText(sourceFailingFromOpen(bytes, 2)));
+
+            assertThat(exception).isNotInstanceOf(RejectedDocumentException.class);
+        } finally {
+            parallelPageStripper.shutdown();
+        }
+    }
+
+    @Test
+    void treatsUnusableScratchDirectoryAsServerFault(@TempDir Path tempDir) throws IOException {
+        Path notADirectory = Files.writeString(tempDir.resolve("scratch"), "");
+        PdfTextExtractorService scratchlessExtractor = extractor(false, Duration.ZERO,
+                new PdfDocumentLoader(PdfMemoryMode.TEMP_FILE, 16_777_216, notADirectory.toString()),
+                sequentialStripper());
+        PdfSource pdf = PdfSource.of(createPdfBytesWithText("This ACORD claim document carries enough text."));
+
+        assertThrows(UncheckedIOException.class, () -> scratchlessExtractor.extractText(pdf));
+    }
+
+    @Test
+    void extractsTextFromPdfWithoutDeclaredContentType() throws IOException {
+        String text = "This ACORD claim document contains enough textual signal for extraction to succeed.";
+        PdfSource pdf = PdfSource.of(createPdfBytesWithText(text));
+
+        String extracted = pdfTextExtractorService.extractText(pdf);
+
+        assertThat(extracted).contains("ACORD claim document");
+    }
+
+    @Test
+    void stopsStrippingAfterFirstSufficientPageInIncrementalMode() throws IOException {
+        PdfTextExtractorService incrementalExtractor = extractor(true, Duration.ZERO, sequentialStripper());
+        PdfSource pdf = PdfSource.of(createPdfBytesWithPages(
+                "Page one of the claim packet carries the labeled ACORD loss notice fields.",
+                "Page two carries supporting repair photos and the police report narrative.",
+                "Page three carries the signed statement of the insured driver and witness."));
+
+        String extracted = incrementalExtractor.extractText(pdf, text -> text.contains("Page two"));
+
+        assertThat(extracted).contains("Page one").contains("Page two").doesNotContain("Page three");
+    }
+
+    @Test
+    void asksForSufficiencyOnlyAfterTheFirstPages() throws IOException {
+        PdfTextExtractorService incrementalExtractor = extractor(true, Duration.ZERO, sequentialStripper());
+        AtomicInteger checks = new AtomicInteger();
+
+        String extracted = incrementalExtractor.extractText(PdfSource.of(createPacketPdfBytes(13)), text -> {
+            checks.incrementAndGet();
+            return false;
+        });
+
+        assertThat(checks).hasValue(PdfTextExtractorService.SUFFICIENCY_CHECK_PAGES);
+        assertThat(extracted).contains("page 13 of");
+    }
+
+    @Test
+    void returnsPagesStrippedBeforeDeadlineAsPartialContent() throws IOException {
+        PdfTextExtractorService deadlineExtractor = extractor(true, Duration.ofMillis(200), sequentialStripper());
+        PdfSource pdf = PdfSource.of(createPdfBytesWithPages(
+                "Page one of the claim packet carries the labeled ACORD loss notice fields.",
+                "Page two carries supporting repair photos and the police report narrative."));
+
+        PdfContent content = deadlineExtractor.extractContent(pdf, document -> Optional.empty(), fields -> false, text -> {
+            sleep(Duration.ofMillis(300));
+            return false;
+        });
+
+        assertThat(content.partial()).isTrue();
+        assertThat(content.text()).contains("Page one").doesNotContain("Page two");
+    }
+
+    @Test
+    void parallelStrippingMatchesSequentialOutput() throws IOException {
+        PdfSource pdf = PdfSource.of(createPacketPdfBytes(13));
+        ParallelPageStripper parallelPageStripper = new ParallelPageStripper(true, 4, 2);
+        PdfTextExtractorService parallelExtractor = extractor(false, Duration.ZERO, parallelPageStripper);
+        try {
+            assertThat(parallelExtractor.extractText(pdf)).isEqualTo(pdfTextExtractorService.extractText(pdf));
+
+            PdfPages pages = parallelExtractor.extractPages(pdf);
+            assertThat(pages.pages()).hasSize(13).isEqualTo(pdfTextExtractorService.extractPages(pdf).pages());
+            assertThat(pages.text()).isEqualTo(pdfTextExtractorService.extractText(pdf));
+        } finally {
+            parallelPageStripper.shutdown();
+        }
+    }
+
+    @Test
+    void parallelIncrementalStrippingStopsAtSamePageAsSequential() throws IOException {
+        PdfSource pdf = PdfSource.of(createPacketPdfBytes(13));
+        PdfDocumentLoader loader = new PdfDocumentLoader(PdfMemoryMode.MIXED, 16_777_216, System.getProperty("java.io.tmpdir"));
+        ParallelPageStripper parallelPageStripper = new ParallelPageStripper(true, 4, 2);
+        PdfTextExtractorService sequentialExtractor = extractor(true, Duration.ZERO, loader, sequentialStripper());
+        PdfTextExtractorService parallelExtractor = extractor(true, Duration.ZERO, loader, parallelPageStripper);
+        try {
+            String sequential = sequentialExtractor.extractText(pdf, text -> text.contains("page 6 of"));
+            String parallel = parallelExtractor.extractText(pdf, text -> text.contains("page 6 of"));
+
+            assertThat(parallel).isEqualTo(sequential).contains("page 6 of").doesNotContain("page 7 of");
+        } finally {
+            parallelPageStripper.shutdown();
+        }
+    }
+
+    private PdfTextExtractorService extractor(
+            boolean incrementalExtraction, Duration timeout, ParallelPageStripper parallelPageStripper) {
+        return extractor(incrementalExtraction, timeout,
+                new PdfDocumentLoader(PdfMemoryMode.MIXED, 16_777_216, System.getProperty("java.io.tmpdir")),
+                parallelPageStripper);
+    }
+
+    private PdfTextExtractorService extractor(
+            boolean incrementalExtraction,
+            Duration timeout,
+            PdfDocumentLoader loader,
+            ParallelPageStripper parallelPageStripper) {
+        PdfParsingScheduler scheduler = new PdfParsingScheduler(2, 16, 0, 1);
+        schedulers.add(scheduler);
+        return new PdfTextExtractorService(
+                50, incrementalExtraction, timeout, loader, scheduler, parallelPageStripper, claimMetrics);
+    }
+
+    private static ParallelPageStripper sequentialStripper() {
+        return new ParallelPageStripper(false, 0, 8);
+    }
+
+    /**
+     * A source whose streams fail half way through, from the given opening on.
+     */
+    private static PdfSource sourceFailingFromOpen(byte[] bytes, int failingOpen) {
+        AtomicInteger opens = new AtomicInteger();
+        return new PdfSource() {
+
+            @Override
+            public long size() {
+                return bytes.length;
+            }
+
+            @Override
+            public String contentType() {
+                return null;
+            }
+
+            @Override
+            public InputStream openStream() {
+                if (opens.incrementAndGet() < failingOpen) {
+                    return new ByteArrayInputStream(bytes);
+                }
+                return new FilterInputStream(new ByteArrayInputStream(bytes, 0, bytes.length / 2)) {
+                    @Override
+                    public int read() throws IOException {
+                        return failAtEnd(super.read());
+                    }
+
+                    @Override
+                    public int read(byte[] buffer, int offset, int length) throws IOException {
+                        return failAtEnd(super.read(buffer, offset, length));
+                    }
+
+                    private int failAtEnd(int read) throws IOException {
+                        if (read < 0) {
+                            // Raised where the parser could be, as with PDFBox code moved or stack traces omitted.
+                            IOException failure = new IOException("Connection reset");
+                            failure.setStackTrace(new StackTraceElement[] {
+                                    new StackTraceElement("org.apache.pdfbox.pdfparser.COSParser", "parseXref", null, -1)});
+                            throw failure;
+                        }
+                        return read;
+                    }
+                };
+            }
+        };
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private byte[] createPacketPdfBytes(int pages) throws IOException {
+        String[] pageTexts = new String[pages];
+        for (int i = 0; i < pages; i++) {
+            pageTexts[i] = "Claim packet page " + (i + 1) + " of " + pages + " with police report and repair narrative.";
+        }
+        return createPdfBytesWithPages(pageTexts);
+    }
+
+    private byte[] createPdfBytesWithText(String text) throws IOException {
+        return createPdfBytesWithPages(text);
+    }
+
+    private byte[] createPdfBytesWithPages(String... pageTexts) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            for (String text : pageTexts) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                    contentStream.beginText();
+                    contentStream.setFont(PDType1Font.HELVETICA, 12);
+                    contentStream.newLineAtOffset(50, 700);
+                    contentStream.showText(text);
+                    contentStream.endText();
+                }
+            }
+
+            try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+                document.save(outputStream);
+                return outputStream.toByteArray();
+            }
+        }
+    }
+
+    private byte[] createBlankPdfBytes() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            document.addPage(new PDPage());
+            try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+                document.save(outputStream);
+                return outputStream.toByteArray();
+            }
+        }
+    }
+
+    private byte[] createImageOnlyPdfBytes(int pages) throws IOException {
+        BufferedImage scan = new BufferedImage(200, 100, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scan.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, 200, 100);
+        graphics.setColor(Color.BLACK);
+        graphics.drawString("Scanned claim notice", 10, 50);
+        graphics.dispose();
+
+        try (PDDocument document = new PDDocument()) {
+            PDImageXObject image = LosslessFactory.createFromImage(document, scan);
+            for (int i = 0; i < pages; i++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                    contentStream.drawImage(image, 50, 500);
+                }
+            }
+
+            try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+                document.save(outputStream);
+                return outputStream.toByteArray();
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.synapx.acord.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synapx.acord.exception.BadRequestException;
+import com.synapx.acord.model.ClaimFields;
+import com.synapx.acord.model.RouteDecision;
+import com.synapx.acord.model.RouteType;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RoutingServiceTest {
+
+    private final RoutingService routingService = new RoutingService();
+
+    @Test
+    void fraudKeywordHasHighestPriority() {
+        ClaimFields fields = new ClaimFields();
+        fields.setDescriptionOfAccident("Potential staged event with inconsistent details.");
+        fields.setInjuryPresent(true);
+        fields.setEstimateAmount(1000);
+
+        RouteDecision decision = routingService.determineRoute(fields, List.of("policyNumber"));
+
+        assertThat(decision.route()).isEqualTo(RouteType.INVESTIGATION_FLAG);
+    }
+
+    @Test
+    void injuryHasPriorityOverMissingMandatoryFields() {
+        ClaimFields fields = new ClaimFields();
+        fields.setDescriptionOfAccident("Rear-end collision in city traffic.");
+        fields.setInjuryPresent(true);
+        fields.setEstimateAmount(1200);
+
+        RouteDecision decision = routingService.determineRoute(fields, List.of("policyNumber"));
+
+        assertThat(decision.route()).isEqualTo(RouteType.SPECIALIST_QUEUE);
+    }
+
+    @Test
+    void missingMandatoryFieldsBeatFastTrack() {
+        ClaimFields fields = new ClaimFields();
+        fields.setDescriptionOfAccident("Low-speed parking lot accident.");
+        fields.setInjuryPresent(false);
+        fields.setEstimateAmount(5000);
+
+        RouteDecision decision = routingService.determineRoute(fields, List.of("dateOfLoss"));
+
+        assertThat(decision.route()).isEqualTo(RouteType.MANUAL_REVIEW);
+    }
+
+    @Test
+    void fastTrackWhenCompleteAndUnderThreshold() {
+        ClaimFields fields = new ClaimFields();
+        fields.setDescriptionOfAccident("Minor bumper damage at stop sign.");
+        fields.setInjuryPresent(false);
+        fields.setEstimateAmount(20000);
+
+        RouteDecision decision = routingService.determineRoute(fields, List.of());
+
+        assertThat(decision.route()).isEqualTo(RouteType.FAST_TRACK);
+    }
+
+    @Test
+    void namesMissingFieldsInReasoning() {
+        ClaimFields fields = new ClaimFields();
+        fields.setEstimateAmount(5000);
+
+        RouteDecision decision = routingService.determineRoute(fields, List.of("policyNumber", "dateOfLoss"));
+
+        assertThat(decision.reasoning()).isEqualTo("Mandatory field(s) missing: policyNumber, dateOfLoss.");
+    }
+
+    @Test
+    void matchesKeywordsLikeLowerCasedDescription() {
+        List<String> descriptions = List.of(
+                "STAGED rear-end collision", "Possible FrAuD", "stage", "\u00DCnfall, inconsistent statements",
+                "\u0130NCONSISTENT", "fraUD\u212A", "stag\u00C9d", "", "   ", "inconsistenT");
+        for (String description : descriptions) {
+            ClaimFields fields = new ClaimFields();
+            fields.setDescriptionOfAccident(description);
+            String lowerCase = description.toLowerCase(Locale.ROOT);
+            boolean expected = lowerCase.contains("fraud") || lowerCase.contains("inconsistent") || lowerCase.contains("staged");
+
+            RouteDecision decision = routingService.determineRoute(fields, List.of());
+
+            assertThat(decision.route() == RouteType.INVESTIGATION_FLAG).as(description).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void reloadsRulesFileAndKeepsActiveRulesWhenItDoesNotCompile(@TempDir Path directory) throws IOException {
+        Path rulesFile = directory.resolve("routing-rules.json");
+        Files.writeString(rulesFile, rules(10_000));
+        RoutingService reloadable = new RoutingService(new ObjectMapper(), rulesFile.toString(), Duration.ZERO);
+        ClaimFields fields = new ClaimFields();
+        fields.setEstimateAmount(20_000);
+
+        assertThat(reloadable.determineRoute(fields, List.of()).route()).isEqualTo(RouteType.MANUAL_REVIEW);
+
+        long loadedVersion = reloadable.rulesVersion();
+
+        Files.writeString(rulesFile, rules(30_000));
+        reloadable.reload();
+        assertThat(reloadable.determineRoute(fields, List.of()).route()).isEqualTo(RouteType.FAST_TRACK);
+        assertThat(reloadable.rulesVersion()).isGreaterThan(loadedVersion);
+        long reloadedVersion = reloadable.rulesVersion();
+
+        Files.writeString(rulesFile, """
+                {"rules": [{"name": "fastTrack", "route": "FAST_TRACK", "estimateBelow": 5000, "reasoning": "Cheap."}]}
+                """);
+        assertThatThrownBy(reloadable::reload)
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("must have no conditions");
+        assertThat(reloadable.determineRoute(fields, List.of()).route()).isEqualTo(RouteType.FAST_TRACK);
+        assertThat(reloadable.activeRules().rules().get(0).estimateBelow()).isEqualTo(30_000);
+        assertThat(reloadable.rulesVersion()).isEqualTo(reloadedVersion);
+    }
+
+    @Test
+    void refusesReloadWithoutRulesFile() {
+        assertThatThrownBy(routingService::reload).isInstanceOf(BadRequestException.class);
+    }
+
+    private static String rules(int fastTrackBelow) {
+        return """
+                {"rules": [
+                  {"name": "fastTrack", "route": "FAST_TRACK", "estimateBelow": %d, "reasoning": "Below threshold."},
+                  {"name": "default", "route": "MANUAL_REVIEW", "reasoning": "Default."}
+                ]}
+                """.formatted(fastTrackBelow);
+    }
+}
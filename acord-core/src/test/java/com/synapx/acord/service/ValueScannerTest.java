@@ -0,0 +1,110 @@
+package com.synapx.acord.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Differential fuzz test of {@link ValueScanner} against the regex and replace chains it stands in for.
+ */
+class ValueScannerTest {
+
+    private static final Pattern DATE_PATTERN =
+            Pattern.compile("\\b(0?[1-9]|1[0-2])[/-](0?[1-9]|[12]\\d|3[01])[/-](\\d{2}|\\d{4})\\b");
+
+    private static final Pattern TIME_PATTERN =
+            Pattern.compile("\\b(?:[01]?\\d|2[0-3]):[0-5]\\d(?:\\s?[APMapm]{2})?\\b|\\b(?:1[0-2]|0?[1-9])\\s?[APMapm]{2}\\b");
+
+    private static final Pattern MONEY_PATTERN = Pattern.compile("[$]?\\s*\\d[\\d,]*(?:\\.\\d{1,2})?");
+
+    private static final List<String> LABELS = List.of("DATE OF LOSS", "INJURED", "CLAIM TYPE");
+
+    private static final String[] TOKENS = {
+            " ", "  ", "\t", "\n", "\r", "\r\n", "\u000B", "\f", "\u00A0", "\u0001", "\u2003",
+            ":", ";", "-", "/", "$", ",", ".", "_", "#", "é", "Ω",
+            "0", "1", "2", "3", "5", "9", "00", "12", "13", "24", "31", "32", "59", "60", "2026", "99999999999",
+            "am", "PM", "pM", "x", "date of loss", "Date  Of\tLoss", "INJURED", "injured:", "claim", "type",
+            "12:30", "9 am", "1/5/26", "12-31-2026", "$ 1,250.50", "7.49"
+    };
+
+    private final Random random = new Random(20240611L);
+
+    @Test
+    void matchesRegexImplementationsOnRandomInput() {
+        for (int n = 0; n < 100_000; n++) {
+            String input = randomInput();
+            String shown = input.replace("\n", "\\n").replace("\r", "\\r");
+
+            assertThat(ValueScanner.collapse(input)).as("collapse %s", shown).isEqualTo(collapse(input));
+            assertThat(ValueScanner.collapseBlock(input)).as("collapseBlock %s", shown)
+                    .isEqualTo(collapse(input.replaceAll("\\s*\\r?\\n\\s*", " ").trim()));
+            for (String label : LABELS) {
+                assertThat(ValueScanner.equalsLabelWords(input, label)).as("label %s %s", label, shown)
+                        .isEqualTo(label.equals(labelWords(input)));
+            }
+            assertThat(ValueScanner.findDate(input)).as("date %s", shown).isEqualTo(findDate(input));
+            assertThat(ValueScanner.findTime(input)).as("time %s", shown).isEqualTo(findTime(input));
+            assertThat(ValueScanner.findAmount(input)).as("amount %s", shown).isEqualTo(findAmount(input));
+            assertThat(ValueScanner.normalizeLineBreaks(input)).as("line breaks %s", shown)
+                    .isEqualTo(input.replace('\u00A0', ' ').replace("\r\n", "\n").replace('\r', '\n'));
+        }
+    }
+
+    @Test
+    void returnsInputUnchangedWhenNothingNeedsRewriting() {
+        String value = "PL-998877 John Doe";
+
+        assertThat(ValueScanner.collapse(value)).isSameAs(value);
+        assertThat(ValueScanner.normalizeLineBreaks(value)).isSameAs(value);
+    }
+
+    private String randomInput() {
+        StringBuilder input = new StringBuilder();
+        int tokens = random.nextInt(12);
+        for (int i = 0; i < tokens; i++) {
+            input.append(TOKENS[random.nextInt(TOKENS.length)]);
+        }
+        return input.toString();
+    }
+
+    private static String collapse(String value) {
+        return value.replaceAll("^[\\s:;\\-]+", "").replaceAll("\\s+", " ").trim();
+    }
+
+    private static String labelWords(String value) {
+        return value.replaceAll("[^A-Za-z ]", " ").replaceAll("\\s+", " ").trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String findDate(String source) {
+        Matcher matcher = DATE_PATTERN.matcher(source);
+        if (!matcher.find()) {
+            return null;
+        }
+        String rawYear = matcher.group(3);
+        return String.format(Locale.ROOT, "%02d/%02d/%04d",
+                Integer.parseInt(matcher.group(1)),
+                Integer.parseInt(matcher.group(2)),
+                Integer.parseInt(rawYear.length() == 2 ? "20" + rawYear : rawYear));
+    }
+
+    private static String findTime(String source) {
+        Matcher matcher = TIME_PATTERN.matcher(source);
+        return matcher.find() ? matcher.group().replaceAll("\\s+", " ") : null;
+    }
+
+    private static Integer findAmount(String source) {
+        Matcher matcher = MONEY_PATTERN.matcher(source);
+        if (!matcher.find()) {
+            return null;
+        }
+        String rawAmount = matcher.group().replace("$", "").replace(",", "").trim();
+        return new BigDecimal(rawAmount).setScale(0, RoundingMode.HALF_UP).intValue();
+    }
+}
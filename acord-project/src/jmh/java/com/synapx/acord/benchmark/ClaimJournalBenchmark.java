@@ -0,0 +1,75 @@
+package com.synapx.acord.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synapx.acord.benchmark.SyntheticClaimGenerator.LabelLayout;
+import com.synapx.acord.model.ClaimFields;
+import com.synapx.acord.model.ClaimProcessingResponse;
+import com.synapx.acord.model.RouteDecision;
+import com.synapx.acord.service.ClaimJournal;
+import com.synapx.acord.service.ClaimMetrics;
+import com.synapx.acord.service.FieldExtractorService;
+import com.synapx.acord.service.RoutingService;
+import com.synapx.acord.service.ValidatorService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Append throughput of the claim journal from several writer threads, with fsync batched by the flush interval.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ClaimJournalBenchmark {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private Path directory;
+    private ClaimJournal claimJournal;
+    private ClaimProcessingResponse response;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("acord-journal-bench-");
+        claimJournal = new ClaimJournal(
+                new ObjectMapper().findAndRegisterModules(), true, directory.toString(), 64 << 20, Duration.ofMillis(200));
+        String text = new SyntheticClaimGenerator(42).text(1, LabelLayout.SAME_LINE);
+        ClaimFields fields = new FieldExtractorService(new ClaimMetrics(new SimpleMeterRegistry())).extractFields(text);
+        List<String> missingFields = new ValidatorService().findMissingMandatoryFields(fields);
+        RouteDecision decision = new RoutingService().determineRoute(fields, missingFields);
+        response = new ClaimProcessingResponse(fields, missingFields, decision.route(), decision.reasoning(), false);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        claimJournal.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public void append() {
+        claimJournal.append(Long.toHexString(sequence.incrementAndGet()), response);
+    }
+}
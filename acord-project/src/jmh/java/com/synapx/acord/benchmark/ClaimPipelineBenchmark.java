@@ -0,0 +1,91 @@
+package com.synapx.acord.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synapx.acord.benchmark.SyntheticClaimGenerator.LabelLayout;
+import com.synapx.acord.model.ClaimProcessingResponse;
+import com.synapx.acord.service.AcordExtractor;
+import com.synapx.acord.service.ClaimJournal;
+import com.synapx.acord.service.ClaimProcessingService;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+
+/**
+ * End-to-end throughput through {@link ClaimProcessingService}, wired by hand without a Spring context.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClaimPipelineBenchmark {
+
+    @Param({"1", "10", "40"})
+    private int pages;
+
+    @Param({"SAME_LINE", "NEXT_LINE", "MIXED"})
+    private LabelLayout layout;
+
+    @Param({"false", "true"})
+    private boolean incrementalExtraction;
+
+    /** Page-stripping threads per document; 1 strips on the parser thread. */
+    @Param({"1", "4"})
+    private int parallelism;
+
+    private AcordExtractor acordExtractor;
+    private ClaimProcessingService claimProcessingService;
+    private MockMultipartFile pdf;
+    private MockMultipartFile fillablePdf;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        AcordExtractor.Builder builder = AcordExtractor.builder()
+                .incrementalExtraction(incrementalExtraction)
+                .pdfTimeout(Duration.ZERO);
+        if (parallelism > 1) {
+            builder.parallelExtraction(parallelism, 8);
+        }
+        acordExtractor = builder.build();
+        claimProcessingService = new ClaimProcessingService(
+                acordExtractor, new ClaimJournal(new ObjectMapper(), false, "", 0, Duration.ZERO));
+        SyntheticClaimGenerator generator = new SyntheticClaimGenerator(42);
+        pdf = new MockMultipartFile("file", "claim.pdf", "application/pdf", generator.pdf(pages, layout));
+        fillablePdf = new MockMultipartFile("file", "claim.pdf", "application/pdf", generator.fillablePdf(pages, layout));
+        text = generator.text(pages, layout);
+    }
+
+    @TearDown
+    public void tearDown() {
+        acordExtractor.close();
+    }
+
+    @Benchmark
+    public ClaimProcessingResponse processPdf() {
+        return claimProcessingService.processPdf(pdf);
+    }
+
+    @Benchmark
+    public ClaimProcessingResponse processFillablePdf() {
+        return claimProcessingService.processPdf(fillablePdf);
+    }
+
+    @Benchmark
+    public ClaimProcessingResponse processText() {
+        return claimProcessingService.processText(text);
+    }
+}
@@ -0,0 +1,83 @@
+package com.synapx.acord.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synapx.acord.benchmark.SyntheticClaimGenerator.LabelLayout;
+import com.synapx.acord.model.ClaimFields;
+import com.synapx.acord.service.AcordExtractor;
+import com.synapx.acord.service.ClaimJournal;
+import com.synapx.acord.service.ClaimMetrics;
+import com.synapx.acord.service.ClaimProcessingService;
+import com.synapx.acord.service.FieldExtractorService;
+import com.synapx.acord.service.NdjsonClaimStreamService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Records per second through the bulk re-route stream, from NDJSON bytes in to NDJSON bytes out.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClaimRerouteBenchmark {
+
+    private static final int RECORDS = 10_000;
+
+    private AcordExtractor acordExtractor;
+    private NdjsonClaimStreamService ndjsonClaimStreamService;
+    private byte[] input;
+
+    @Setup
+    public void setUp() throws IOException {
+        ClaimMetrics claimMetrics = new ClaimMetrics(new SimpleMeterRegistry());
+        ObjectMapper objectMapper = new ObjectMapper();
+        acordExtractor = AcordExtractor.builder().incrementalExtraction(false).pdfTimeout(Duration.ZERO).build();
+        ClaimProcessingService claimProcessingService = new ClaimProcessingService(
+                acordExtractor, new ClaimJournal(objectMapper, false, "", 0, Duration.ZERO));
+        ndjsonClaimStreamService = new NdjsonClaimStreamService(claimProcessingService, objectMapper, 1_048_576);
+
+        FieldExtractorService fieldExtractorService = new FieldExtractorService(claimMetrics);
+        Random random = new Random(42);
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        for (int i = 0; i < RECORDS; i++) {
+            ClaimFields fields = fieldExtractorService.extractFields(
+                    new SyntheticClaimGenerator(i).text(1, LabelLayout.SAME_LINE));
+            fields.setEstimateAmount(random.nextInt(50_000));
+            fields.setInjuryPresent(random.nextInt(10) == 0);
+            lines.write(objectMapper.writeValueAsBytes(fields));
+            lines.write('\n');
+        }
+        input = lines.toByteArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        acordExtractor.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public long reroute() throws IOException {
+        return ndjsonClaimStreamService.reroute(new ByteArrayInputStream(input), OutputStream.nullOutputStream());
+    }
+}
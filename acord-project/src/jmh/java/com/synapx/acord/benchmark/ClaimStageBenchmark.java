@@ -0,0 +1,91 @@
+package com.synapx.acord.benchmark;
+
+import com.synapx.acord.benchmark.SyntheticClaimGenerator.LabelLayout;
+import com.synapx.acord.model.ClaimFields;
+import com.synapx.acord.model.RouteDecision;
+import com.synapx.acord.service.AcordExtractor;
+import com.synapx.acord.service.ClaimMetrics;
+import com.synapx.acord.service.FieldExtractorService;
+import com.synapx.acord.service.PdfSource;
+import com.synapx.acord.service.RoutingService;
+import com.synapx.acord.service.ValidatorService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of each claim pipeline stage in isolation. Run with {@code -prof gc} for bytes allocated per op.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClaimStageBenchmark {
+
+    @Param({"1", "10", "40"})
+    private int pages;
+
+    @Param({"SAME_LINE", "NEXT_LINE", "MIXED"})
+    private LabelLayout layout;
+
+    private final ClaimMetrics claimMetrics = new ClaimMetrics(new SimpleMeterRegistry());
+    private final AcordExtractor acordExtractor =
+            AcordExtractor.builder().incrementalExtraction(false).pdfTimeout(Duration.ZERO).build();
+    private final FieldExtractorService fieldExtractorService = new FieldExtractorService(claimMetrics);
+    private final ValidatorService validatorService = new ValidatorService();
+    private final RoutingService routingService = new RoutingService();
+
+    private PdfSource pdf;
+    private String text;
+    private ClaimFields fields;
+    private List<String> missingFields;
+
+    @Setup
+    public void setUp() {
+        SyntheticClaimGenerator generator = new SyntheticClaimGenerator(42);
+        pdf = PdfSource.of(generator.pdf(pages, layout));
+        text = generator.text(pages, layout);
+        fields = fieldExtractorService.extractFields(text);
+        missingFields = validatorService.findMissingMandatoryFields(fields);
+    }
+
+    @TearDown
+    public void tearDown() {
+        acordExtractor.close();
+    }
+
+    @Benchmark
+    public String extractText() {
+        return acordExtractor.parsePdf(pdf).text();
+    }
+
+    @Benchmark
+    public ClaimFields extractFields() {
+        return fieldExtractorService.extractFields(text);
+    }
+
+    @Benchmark
+    public List<String> findMissingMandatoryFields() {
+        return validatorService.findMissingMandatoryFields(fields);
+    }
+
+    @Benchmark
+    public RouteDecision determineRoute() {
+        return routingService.determineRoute(fields, missingFields);
+    }
+}
@@ -0,0 +1,103 @@
+package com.synapx.acord.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.synapx.acord.benchmark.SyntheticClaimGenerator.LabelLayout;
+import com.synapx.acord.config.EncodingConfig;
+import com.synapx.acord.model.BatchItemResult;
+import com.synapx.acord.service.AcordExtractor;
+import com.synapx.acord.service.ClaimJournal;
+import com.synapx.acord.service.ClaimProcessingService;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Serialization and parsing time of a {@code /process-batch} response in each response encoding, with mappers
+ * configured as the server configures them. The encoded size is printed once per parameter combination.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseEncodingBenchmark {
+
+    public enum Encoding {
+        JSON,
+        CBOR,
+        SMILE
+    }
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    private Encoding encoding;
+
+    /** Claims per batch response. */
+    @Param({"1", "100"})
+    private int claims;
+
+    private List<BatchItemResult> batch;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (AcordExtractor acordExtractor = AcordExtractor.builder().incrementalExtraction(false).build()) {
+            ClaimProcessingService claimProcessingService = new ClaimProcessingService(
+                    acordExtractor, new ClaimJournal(new ObjectMapper(), false, "", 0, Duration.ZERO));
+            batch = new ArrayList<>(claims);
+            LabelLayout[] layouts = LabelLayout.values();
+            for (int i = 0; i < claims; i++) {
+                String text = new SyntheticClaimGenerator(i).text(1, layouts[i % layouts.length]);
+                batch.add(BatchItemResult.success(i, claimProcessingService.processText(text)));
+            }
+        }
+
+        ObjectMapper mapper = mapper(encoding);
+        TypeReference<List<BatchItemResult>> type = new TypeReference<>() {
+        };
+        writer = mapper.writerFor(type);
+        reader = mapper.readerFor(type);
+        encoded = writer.writeValueAsBytes(batch);
+        System.out.printf(Locale.ROOT, "%n%s, %d claims: %d bytes (%.0f per claim)%n",
+                encoding, claims, encoded.length, encoded.length / (double) claims);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(batch);
+    }
+
+    @Benchmark
+    public List<BatchItemResult> deserialize() throws IOException {
+        return reader.readValue(encoded);
+    }
+
+    private static ObjectMapper mapper(Encoding encoding) {
+        EncodingConfig encodingConfig = new EncodingConfig();
+        return switch (encoding) {
+            case JSON -> new Jackson2ObjectMapperBuilder().build();
+            case CBOR -> encodingConfig.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+            case SMILE -> encodingConfig.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+        };
+    }
+}
@@ -0,0 +1,184 @@
+package com.synapx.acord.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationWidget;
+import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
+import org.apache.pdfbox.pdmodel.interactive.form.PDTextField;
+
+/**
+ * Builds synthetic ACORD Automobile Loss Notice documents for benchmarking.
+ * The first page carries the labeled FNOL fields; every further page is filler narrative
+ * (police report / repair notes) that contains no labels.
+ */
+public final class SyntheticClaimGenerator {
+
+    public static final int LINES_PER_PAGE = 48;
+
+    private static final String[] STREETS = {"Main St", "Elm Ave", "Oak Blvd", "Cedar Ln", "Lakeshore Dr"};
+    private static final String[] CITIES = {"Austin, TX 78701", "Dallas, TX 75201", "Denver, CO 80202", "Tampa, FL 33602"};
+    private static final String[] NAMES = {"John Doe", "Jane Roe", "Pat Smith", "Alex Kim", "Maria Lopez"};
+    private static final String[] FILLER = {
+            "Officer noted light rain and moderate traffic at the time of the incident.",
+            "Vehicle was towed to the preferred repair facility for a teardown inspection.",
+            "Photos of the front bumper, grille and hood were attached by the adjuster.",
+            "Witness statement was collected at the scene and signed by both parties.",
+            "Rental coverage was confirmed with the agency on the following business day.",
+            "Repair shop requested supplemental approval for hidden structural damage."
+    };
+
+    public enum LabelLayout {
+        /** "LABEL: value" on one line. */
+        SAME_LINE,
+        /** Label on its own line, value on the next one. */
+        NEXT_LINE,
+        /** Alternates between the two layouts field by field. */
+        MIXED
+    }
+
+    /** ACORD 2 AcroForm field names, in the order of the labeled fields. */
+    private static final String[] FORM_FIELD_NAMES = {
+            "Policy_PolicyNumberIdentifier_A",
+            "Loss_IncidentDate_A",
+            "Loss_IncidentTime_A",
+            "Loss_LocationDescription_A",
+            "Loss_IncidentDescription_A",
+            "Loss_EstimatedAmount_A",
+            "NamedInsured_FullName_A",
+            "Driver_FullName_A",
+            "VehicleOwner_FullName_A",
+            "Loss_ClaimType_A"
+    };
+
+    private final Random random;
+
+    public SyntheticClaimGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public String text(int pages, LabelLayout layout) {
+        return String.join("\n", lines(pages, layout)) + "\n";
+    }
+
+    public byte[] pdf(int pages, LabelLayout layout) {
+        return render(lines(pages, layout), false);
+    }
+
+    /**
+     * Same document, with the labeled values also stored in AcroForm text fields on the first page.
+     */
+    public byte[] fillablePdf(int pages, LabelLayout layout) {
+        return render(lines(pages, layout), true);
+    }
+
+    private byte[] render(List<String> lines, boolean fillable) {
+        try (PDDocument document = new PDDocument()) {
+            for (int first = 0; first < lines.size(); first += LINES_PER_PAGE) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                    contentStream.beginText();
+                    contentStream.setFont(PDType1Font.HELVETICA, 10);
+                    contentStream.setLeading(14);
+                    contentStream.newLineAtOffset(50, 740);
+                    for (String line : lines.subList(first, Math.min(first + LINES_PER_PAGE, lines.size()))) {
+                        contentStream.showText(line);
+                        contentStream.newLine();
+                    }
+                    contentStream.endText();
+                }
+            }
+            if (fillable) {
+                addForm(document, lines);
+            }
+            try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+                document.save(outputStream);
+                return outputStream.toByteArray();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void addForm(PDDocument document, List<String> lines) throws IOException {
+        PDAcroForm acroForm = new PDAcroForm(document);
+        document.getDocumentCatalog().setAcroForm(acroForm);
+        PDResources resources = new PDResources();
+        resources.put(COSName.getPDFName("Helv"), PDType1Font.HELVETICA);
+        acroForm.setDefaultResources(resources);
+        acroForm.setDefaultAppearance("/Helv 10 Tf 0 g");
+
+        PDPage firstPage = document.getPage(0);
+        List<String> values = fieldValues(lines);
+        for (int i = 0; i < FORM_FIELD_NAMES.length; i++) {
+            PDTextField field = new PDTextField(acroForm);
+            field.setPartialName(FORM_FIELD_NAMES[i]);
+            PDAnnotationWidget widget = field.getWidgets().get(0);
+            widget.setRectangle(new PDRectangle(320, 700 - 20 * i, 240, 16));
+            widget.setPage(firstPage);
+            firstPage.getAnnotations().add(widget);
+            acroForm.getFields().add(field);
+            field.setValue(values.get(i));
+        }
+    }
+
+    private static List<String> fieldValues(List<String> lines) {
+        List<String> values = new ArrayList<>();
+        for (int i = 1; values.size() < FORM_FIELD_NAMES.length; i++) {
+            String line = lines.get(i);
+            int separator = line.indexOf(": ");
+            if (separator >= 0) {
+                values.add(line.substring(separator + 2));
+            } else {
+                values.add(lines.get(++i));
+            }
+        }
+        return values;
+    }
+
+    private List<String> lines(int pages, LabelLayout layout) {
+        List<String> lines = new ArrayList<>();
+        lines.add("ACORD AUTOMOBILE LOSS NOTICE");
+        String[][] fields = {
+                {"POLICY NUMBER", "PL-" + (100000 + random.nextInt(900000))},
+                {"DATE OF LOSS", String.format(Locale.ROOT, "%d/%d/2026", 1 + random.nextInt(12), 1 + random.nextInt(28))},
+                {"TIME OF LOSS", String.format(Locale.ROOT, "%02d:%02d", random.nextInt(24), random.nextInt(60))},
+                {"LOCATION OF LOSS", (100 + random.nextInt(9000)) + " " + pick(STREETS) + ", " + pick(CITIES)},
+                {"DESCRIPTION OF ACCIDENT", "Rear-end collision at a stoplight with damage to the bumper and trunk lid."},
+                {"ESTIMATE AMOUNT", String.format(Locale.ROOT, "$%,d.00", 500 + random.nextInt(40000))},
+                {"INSURED NAME", pick(NAMES)},
+                {"DRIVER NAME", pick(NAMES)},
+                {"OWNER NAME", pick(NAMES)},
+                {"CLAIM TYPE", random.nextInt(5) == 0 ? "Injury" : "Property Damage"}
+        };
+        for (int i = 0; i < fields.length; i++) {
+            boolean sameLine = layout == LabelLayout.SAME_LINE || (layout == LabelLayout.MIXED && i % 2 == 0);
+            if (sameLine) {
+                lines.add(fields[i][0] + ": " + fields[i][1]);
+            } else {
+                lines.add(fields[i][0]);
+                lines.add(fields[i][1]);
+            }
+        }
+        while (lines.size() < pages * LINES_PER_PAGE) {
+            lines.add(pick(FILLER));
+        }
+        return lines;
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,270 @@
+package com.synapx.acord.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synapx.acord.AcordProjectApplication;
+import com.synapx.acord.loadtest.LatencyRecorder.EndpointReport;
+import com.synapx.acord.loadtest.LoadCorpus.LoadRequest;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Drives {@code /claims/process} and {@code /claims/process-text} with a synthetic ACORD corpus and writes a latency
+ * and throughput report.
+ *
+ * <p>Without {@code --url} the application is started in this JVM on a free port, with the result caches disabled
+ * (re-sent documents would otherwise be answered from the cache) and the journal in a temporary directory. Client and
+ * server then share the machine; point {@code --url} at another node to measure it alone.
+ *
+ * <p>With {@code --rate} requests are sent on a fixed schedule and latency is measured from the scheduled send time,
+ * so a server that falls behind shows up as latency rather than as a lower send rate. {@code --concurrency} caps the
+ * requests in flight; once it is reached, later requests wait and that wait counts as latency. With {@code --rate=0}
+ * each of the {@code --concurrency} slots sends its next request as soon as the previous one is answered.
+ *
+ * <pre>
+ * ./mvnw -Pbenchmark -DskipTests test-compile exec:exec@loadtest -Dloadtest.args="--concurrency=32 --rate=40"
+ * </pre>
+ */
+public final class ClaimLoadTest {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("url", "");
+        DEFAULTS.put("duration", "60s");
+        DEFAULTS.put("warmup", "15s");
+        DEFAULTS.put("concurrency", "16");
+        DEFAULTS.put("rate", "0");
+        DEFAULTS.put("textShare", "0.5");
+        DEFAULTS.put("pages", "1,3,10,40");
+        DEFAULTS.put("documents", "200");
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("timeout", "60s");
+        DEFAULTS.put("cache", "false");
+        DEFAULTS.put("report", "target/loadtest/report.json");
+    }
+
+    private final HttpClient client;
+    private final LoadCorpus corpus;
+    private final int concurrency;
+    private final double rate;
+
+    private ClaimLoadTest(HttpClient client, LoadCorpus corpus, int concurrency, double rate) {
+        this.client = client;
+        this.corpus = corpus;
+        this.concurrency = concurrency;
+        this.rate = rate;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        Duration duration = DurationStyle.detectAndParse(options.get("duration"));
+        Duration warmup = DurationStyle.detectAndParse(options.get("warmup"));
+        int concurrency = Integer.parseInt(options.get("concurrency"));
+        double rate = Double.parseDouble(options.get("rate"));
+        double textShare = Double.parseDouble(options.get("textShare"));
+        if (concurrency < 1 || rate < 0 || textShare < 0 || textShare > 1 || duration.isZero()) {
+            throw new IllegalArgumentException("Need concurrency >= 1, rate >= 0, 0 <= textShare <= 1 and a duration.");
+        }
+
+        ConfigurableApplicationContext application = null;
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(
+                Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+                    Thread thread = new Thread(runnable, "loadtest-client");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        try {
+            String url = options.get("url");
+            if (url.isEmpty()) {
+                application = start(Boolean.parseBoolean(options.get("cache")));
+                url = localUrl(application);
+            }
+            URI baseUri = URI.create(url.endsWith("/") ? url : url + "/");
+            int[] pages = Arrays.stream(options.get("pages").split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+            LoadCorpus corpus = new LoadCorpus(
+                    baseUri,
+                    Integer.parseInt(options.get("documents")),
+                    pages,
+                    textShare,
+                    Long.parseLong(options.get("seed")),
+                    DurationStyle.detectAndParse(options.get("timeout")));
+            System.out.printf(Locale.ROOT, "Target %s, corpus of %d requests (%.1f MB)%n",
+                    baseUri, corpus.size(), corpus.totalBytes() / 1_048_576.0);
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientExecutor)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            ClaimLoadTest loadTest = new ClaimLoadTest(client, corpus, concurrency, rate);
+            if (!warmup.isZero()) {
+                System.out.printf(Locale.ROOT, "Warming up for %s%n", warmup);
+                loadTest.run(warmup);
+            }
+            System.out.printf(Locale.ROOT, "Measuring for %s at concurrency %d, %s%n",
+                    duration, concurrency, rate > 0 ? rate + " requests/s" : "closed loop");
+            Run run = loadTest.run(duration);
+
+            Map<String, Object> report = report(options, baseUri, run);
+            Path reportFile = Paths.get(options.get("report"));
+            if (reportFile.getParent() != null) {
+                Files.createDirectories(reportFile.getParent());
+            }
+            new ObjectMapper().writerWithDefaultPrettyPrinter()
+                    .writeValue(reportFile.toFile(), report);
+            print(run);
+            System.out.printf(Locale.ROOT, "Report written to %s%n", reportFile.toAbsolutePath());
+        } finally {
+            clientExecutor.shutdownNow();
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    /**
+     * Sends requests for {@code duration} and waits for the ones in flight. Every run sends the corpus in the same
+     * order.
+     */
+    private Run run(Duration duration) throws InterruptedException {
+        Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        recorders.put(LoadCorpus.PDF_ENDPOINT, new LatencyRecorder());
+        recorders.put(LoadCorpus.TEXT_ENDPOINT, new LatencyRecorder());
+        Semaphore inFlight = new Semaphore(concurrency);
+        long intervalNanos = rate > 0 ? Math.round(1_000_000_000 / rate) : 0;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long sent = 0;
+        while (true) {
+            long scheduled = start + sent * intervalNanos;
+            if (scheduled >= end) {
+                break;
+            }
+            if (intervalNanos > 0) {
+                waitUntil(scheduled);
+            }
+            inFlight.acquire();
+            long sendTime = intervalNanos > 0 ? scheduled : System.nanoTime();
+            if (sendTime >= end) {
+                inFlight.release();
+                break;
+            }
+            LoadRequest request = corpus.request(sent);
+            LatencyRecorder recorder = recorders.get(request.endpoint());
+            client.sendAsync(request.request(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        if (response != null) {
+                            recorder.record(response.statusCode(), System.nanoTime() - sendTime);
+                        } else {
+                            recorder.recordFailure();
+                        }
+                        inFlight.release();
+                    });
+            sent++;
+        }
+        inFlight.acquire(concurrency);
+        return new Run(recorders, sent, (System.nanoTime() - start) / 1e9);
+    }
+
+    private static void waitUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean cache) throws IOException {
+        Path journalDir = Files.createTempDirectory("acord-loadtest-journal");
+        String[] properties = {
+                "--server.port=0",
+                "--acord.journal.dir=" + journalDir,
+                "--acord.cache.maxEntries=" + (cache ? 10_000 : 0),
+                "--acord.cache.rejectedMaxEntries=" + (cache ? 10_000 : 0)
+        };
+        return new SpringApplicationBuilder(AcordProjectApplication.class).run(properties);
+    }
+
+    private static String localUrl(ConfigurableApplicationContext application) {
+        int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+        String contextPath = application.getEnvironment().getProperty("server.servlet.context-path", "");
+        return "http://localhost:" + port + contextPath;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0 || !DEFAULTS.containsKey(arg.substring(2, separator))) {
+                throw new IllegalArgumentException("Unknown option " + arg + "; options are --name=value with names "
+                        + DEFAULTS.keySet());
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static Map<String, Object> report(Map<String, String> options, URI baseUri, Run run) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("finishedAt", Instant.now().toString());
+        report.put("target", baseUri.toString());
+        report.put("cpus", Runtime.getRuntime().availableProcessors());
+        Map<String, String> effectiveOptions = new LinkedHashMap<>(DEFAULTS);
+        effectiveOptions.putAll(options);
+        report.put("options", effectiveOptions);
+        report.put("sent", run.sent());
+        report.put("elapsedSeconds", run.elapsedSeconds());
+        Map<String, EndpointReport> endpoints = new LinkedHashMap<>();
+        run.recorders().forEach((endpoint, recorder) -> endpoints.put(endpoint, recorder.report(run.elapsedSeconds())));
+        report.put("endpoints", endpoints);
+        report.put("total", run.total());
+        return report;
+    }
+
+    private static void print(Run run) {
+        System.out.printf(Locale.ROOT, "%n%-22s %9s %9s %10s %9s %9s %9s %9s  %s%n",
+                "endpoint", "requests", "ok", "ok/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "statuses");
+        run.recorders().forEach((endpoint, recorder) -> print(endpoint, recorder.report(run.elapsedSeconds())));
+        print("total", run.total());
+    }
+
+    private static void print(String name, EndpointReport report) {
+        System.out.printf(Locale.ROOT, "%-22s %9d %9d %10.1f %9.1f %9.1f %9.1f %9.1f  %s%n",
+                name,
+                report.requests(),
+                report.ok(),
+                report.throughputPerSecond(),
+                report.latencyMillis().p50(),
+                report.latencyMillis().p95(),
+                report.latencyMillis().p99(),
+                report.latencyMillis().max(),
+                report.statuses());
+    }
+
+    private record Run(Map<String, LatencyRecorder> recorders, long sent, double elapsedSeconds) {
+
+        EndpointReport total() {
+            return LatencyRecorder.merge(List.copyOf(recorders.values())).report(elapsedSeconds);
+        }
+    }
+}
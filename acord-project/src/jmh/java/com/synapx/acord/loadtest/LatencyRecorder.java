@@ -0,0 +1,101 @@
+package com.synapx.acord.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latencies and response statuses of one endpoint. Every successful latency is kept, so percentiles are exact; a run
+ * of a few minutes holds well under a million samples.
+ */
+final class LatencyRecorder {
+
+    /** Status key for requests that got no HTTP response (connection error or client timeout). */
+    static final String NO_RESPONSE = "none";
+
+    private final Map<String, Long> statuses = new ConcurrentHashMap<>();
+    private long[] latencies = new long[1024];
+    private int count;
+
+    void record(int status, long latencyNanos) {
+        statuses.merge(Integer.toString(status), 1L, Long::sum);
+        if (status / 100 == 2) {
+            add(latencyNanos);
+        }
+    }
+
+    void recordFailure() {
+        statuses.merge(NO_RESPONSE, 1L, Long::sum);
+    }
+
+    EndpointReport report(double elapsedSeconds) {
+        long[] sorted;
+        synchronized (this) {
+            sorted = Arrays.copyOf(latencies, count);
+        }
+        Arrays.sort(sorted);
+        long requests = statuses.values().stream().mapToLong(Long::longValue).sum();
+        return new EndpointReport(
+                requests,
+                sorted.length,
+                new TreeMap<>(statuses),
+                sorted.length / elapsedSeconds,
+                new LatencyMillis(
+                        millis(percentile(sorted, 50)),
+                        millis(percentile(sorted, 95)),
+                        millis(percentile(sorted, 99)),
+                        millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1])));
+    }
+
+    /**
+     * Combines several recorders into one, for the totals over all endpoints.
+     */
+    static LatencyRecorder merge(Iterable<LatencyRecorder> recorders) {
+        LatencyRecorder merged = new LatencyRecorder();
+        for (LatencyRecorder recorder : recorders) {
+            synchronized (recorder) {
+                for (int i = 0; i < recorder.count; i++) {
+                    merged.add(recorder.latencies[i]);
+                }
+            }
+            recorder.statuses.forEach((status, n) -> merged.statuses.merge(status, n, Long::sum));
+        }
+        return merged;
+    }
+
+    private synchronized void add(long latencyNanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+    }
+
+    /** Nearest-rank percentile; 0 without samples. */
+    private static long percentile(long[] sorted, int percent) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    record LatencyMillis(double p50, double p95, double p99, double max) {
+    }
+
+    /**
+     * @param ok                  requests answered with a 2xx status; only these count towards latency and throughput
+     * @param throughputPerSecond successful requests per second of measured time
+     */
+    record EndpointReport(
+            long requests,
+            long ok,
+            Map<String, Long> statuses,
+            double throughputPerSecond,
+            LatencyMillis latencyMillis) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.synapx.acord.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synapx.acord.benchmark.SyntheticClaimGenerator;
+import com.synapx.acord.benchmark.SyntheticClaimGenerator.LabelLayout;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Pre-built requests against {@code /claims/process} (multipart PDF upload) and {@code /claims/process-text}, so that
+ * building a request costs the load generator nothing while the test runs.
+ *
+ * <p>Documents come from {@link SyntheticClaimGenerator}, one seed each, so no two documents share a content hash.
+ * Page counts, label layouts and fillable forms rotate over the corpus; the endpoint of each request is drawn at random
+ * with the configured text share.
+ */
+final class LoadCorpus {
+
+    static final String PDF_ENDPOINT = "/claims/process";
+    static final String TEXT_ENDPOINT = "/claims/process-text";
+
+    private static final String BOUNDARY = "acord-load-test-boundary";
+
+    private final List<LoadRequest> pdfRequests = new ArrayList<>();
+    private final List<LoadRequest> textRequests = new ArrayList<>();
+    private final double textShare;
+    private final long seed;
+    private final long totalBytes;
+
+    record LoadRequest(String endpoint, HttpRequest request) {
+    }
+
+    /**
+     * @param documents documents per endpoint
+     * @param pages     page counts to rotate over
+     * @param textShare fraction of requests sent to {@code /claims/process-text}
+     */
+    LoadCorpus(URI baseUri, int documents, int[] pages, double textShare, long seed, Duration timeout) {
+        this.textShare = textShare;
+        this.seed = seed;
+        LabelLayout[] layouts = LabelLayout.values();
+        ObjectMapper objectMapper = new ObjectMapper();
+        long bytes = 0;
+        for (int i = 0; i < documents; i++) {
+            SyntheticClaimGenerator generator = new SyntheticClaimGenerator(seed + i);
+            int pageCount = pages[i % pages.length];
+            LabelLayout layout = layouts[(i / pages.length) % layouts.length];
+            if (textShare < 1) {
+                byte[] pdf = i % 4 == 3 ? generator.fillablePdf(pageCount, layout) : generator.pdf(pageCount, layout);
+                byte[] body = multipart("claim-" + i + ".pdf", pdf);
+                bytes += body.length;
+                pdfRequests.add(new LoadRequest(PDF_ENDPOINT, HttpRequest.newBuilder(baseUri.resolve("claims/process"))
+                        .timeout(timeout)
+                        .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                        .build()));
+            }
+            if (textShare > 0) {
+                byte[] body = json(objectMapper, generator.text(pageCount, layout));
+                bytes += body.length;
+                textRequests.add(new LoadRequest(TEXT_ENDPOINT, HttpRequest.newBuilder(baseUri.resolve("claims/process-text"))
+                        .timeout(timeout)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                        .build()));
+            }
+        }
+        this.totalBytes = bytes;
+    }
+
+    /**
+     * The request for sequence number {@code n}; the same {@code n} always yields the same request.
+     */
+    LoadRequest request(long n) {
+        SplittableRandom random = new SplittableRandom(seed + n);
+        List<LoadRequest> requests = textRequests.isEmpty() || (!pdfRequests.isEmpty() && random.nextDouble() >= textShare)
+                ? pdfRequests
+                : textRequests;
+        return requests.get((int) Long.remainderUnsigned(n, requests.size()));
+    }
+
+    int size() {
+        return pdfRequests.size() + textRequests.size();
+    }
+
+    long totalBytes() {
+        return totalBytes;
+    }
+
+    private static byte[] multipart(String filename, byte[] pdf) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(pdf.length + 256);
+        body.writeBytes(("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + filename + "\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        body.writeBytes(pdf);
+        body.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        return body.toByteArray();
+    }
+
+    private static byte[] json(ObjectMapper objectMapper, String text) {
+        try {
+            return objectMapper.writeValueAsBytes(Map.of("text", text));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.synapx.acord.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary encodings of the {@code /claims} request and response bodies, chosen by {@code Accept} and
+ * {@code Content-Type}: CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}), next to JSON.
+ *
+ * <p>Both mappers are built from Spring Boot's {@link Jackson2ObjectMapperBuilder}, so {@code spring.jackson.*}
+ * settings and modules apply as they do to JSON and every encoding carries the same fields. Smile also back-references
+ * repeated short string values, such as routes and reasoning in batch responses.
+ */
+@Configuration
+public class EncodingConfig {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(smileFactory).build());
+    }
+}
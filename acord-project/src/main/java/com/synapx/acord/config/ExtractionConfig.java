@@ -0,0 +1,99 @@
+package com.synapx.acord.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synapx.acord.service.AcroFormFieldReader;
+import com.synapx.acord.service.ClaimMetrics;
+import com.synapx.acord.service.FieldExtractorService;
+import com.synapx.acord.service.ParallelPageStripper;
+import com.synapx.acord.service.PdfDocumentLoader;
+import com.synapx.acord.service.PdfMemoryMode;
+import com.synapx.acord.service.PdfParsingScheduler;
+import com.synapx.acord.service.PdfTextExtractorService;
+import com.synapx.acord.service.RoutingService;
+import com.synapx.acord.service.ValidatorService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Beans for the extraction classes of {@code acord-core}, which know nothing of Spring, configured from the
+ * {@code acord.pdf.*} and {@code acord.routing.*} properties. The thread pools are stopped through their
+ * {@code shutdown()} and {@code close()} methods when the context closes.
+ */
+@Configuration
+public class ExtractionConfig {
+
+    @Bean
+    public ClaimMetrics claimMetrics(MeterRegistry meterRegistry) {
+        return new ClaimMetrics(meterRegistry);
+    }
+
+    @Bean
+    public FieldExtractorService fieldExtractorService(ClaimMetrics claimMetrics) {
+        return new FieldExtractorService(claimMetrics);
+    }
+
+    @Bean
+    public ValidatorService validatorService() {
+        return new ValidatorService();
+    }
+
+    @Bean
+    public AcroFormFieldReader acroFormFieldReader() {
+        return new AcroFormFieldReader();
+    }
+
+    @Bean
+    public RoutingService routingService(
+            ObjectMapper objectMapper,
+            @Value("${acord.routing.rulesFile:}") String rulesFile,
+            @Value("${acord.routing.reloadInterval:10s}") Duration reloadInterval) {
+        return new RoutingService(objectMapper, rulesFile, reloadInterval);
+    }
+
+    @Bean
+    public PdfDocumentLoader pdfDocumentLoader(
+            @Value("${acord.pdf.memoryMode:MIXED}") PdfMemoryMode memoryMode,
+            @Value("${acord.pdf.maxMainMemoryBytes:16777216}") long maxMainMemoryBytes,
+            @Value("${acord.pdf.scratchDir:${java.io.tmpdir}}") String scratchDir) {
+        return new PdfDocumentLoader(memoryMode, maxMainMemoryBytes, scratchDir);
+    }
+
+    @Bean
+    public PdfParsingScheduler pdfParsingScheduler(
+            @Value("${acord.pdf.parserThreads:0}") int parserThreads,
+            @Value("${acord.pdf.parserQueueCapacity:64}") int parserQueueCapacity,
+            @Value("${acord.pdf.heapBudgetBytes:0}") long heapBudgetBytes,
+            @Value("${acord.pdf.retryAfterSeconds:2}") long retryAfterSeconds) {
+        return new PdfParsingScheduler(parserThreads, parserQueueCapacity, heapBudgetBytes, retryAfterSeconds);
+    }
+
+    @Bean
+    public ParallelPageStripper parallelPageStripper(
+            @Value("${acord.pdf.parallelExtraction:false}") boolean enabled,
+            @Value("${acord.pdf.parallelism:0}") int parallelism,
+            @Value("${acord.pdf.parallelMinPages:8}") int minPages) {
+        return new ParallelPageStripper(enabled, parallelism, minPages);
+    }
+
+    @Bean
+    public PdfTextExtractorService pdfTextExtractorService(
+            @Value("${acord.pdf.minTextLengthForNonScanned:50}") int minTextLengthForNonScanned,
+            @Value("${acord.pdf.incrementalExtraction:true}") boolean incrementalExtraction,
+            @Value("${acord.pdf.timeout:30s}") Duration timeout,
+            PdfDocumentLoader pdfDocumentLoader,
+            PdfParsingScheduler pdfParsingScheduler,
+            ParallelPageStripper parallelPageStripper,
+            ClaimMetrics claimMetrics) {
+        return new PdfTextExtractorService(
+                minTextLengthForNonScanned,
+                incrementalExtraction,
+                timeout,
+                pdfDocumentLoader,
+                pdfParsingScheduler,
+                parallelPageStripper,
+                claimMetrics);
+    }
+}
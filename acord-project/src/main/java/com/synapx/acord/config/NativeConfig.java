@@ -0,0 +1,51 @@
+package com.synapx.acord.config;
+
+import com.synapx.acord.model.ClaimFields;
+import com.synapx.acord.model.ClaimJob;
+import com.synapx.acord.model.ClaimProcessingResponse;
+import com.synapx.acord.model.JournalEntry;
+import com.synapx.acord.model.ProcessTextRequest;
+import com.synapx.acord.model.RoutingRule;
+import com.synapx.acord.model.RoutingRules;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reflection and resource metadata for the GraalVM native image ({@code ./mvnw -Pnative package}).
+ *
+ * <p>Spring's AOT processing covers the beans and the request and response types of the controllers. This adds the
+ * models that are read or written with the {@code ObjectMapper} directly (journal, NDJSON streams, job callbacks,
+ * routing rules), the resources PDFBox and FontBox load by name (AFM metrics, glyph lists, CMaps, the fallback font),
+ * the application's own resource files, and the springdoc annotations on {@link SwaggerConfig}.
+ */
+@Configuration
+@ImportRuntimeHints(NativeConfig.ResourceHints.class)
+@RegisterReflectionForBinding({
+        ClaimFields.class,
+        ClaimJob.class,
+        ClaimProcessingResponse.class,
+        JournalEntry.class,
+        ProcessTextRequest.class,
+        RoutingRule.class,
+        RoutingRules.class
+})
+public class NativeConfig {
+
+    static class ResourceHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.resources()
+                    .registerPattern("org/apache/pdfbox/resources/**")
+                    .registerPattern("org/apache/fontbox/cmap/*")
+                    .registerPattern("org/apache/fontbox/unicode/*")
+                    .registerPattern("routing-rules.json")
+                    .registerPattern("sample-claim.txt");
+            // springdoc finds the @OpenAPIDefinition and @SecurityScheme annotations by reflection.
+            hints.reflection().registerType(SwaggerConfig.class);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.synapx.acord.controller;
+
+import com.synapx.acord.config.EncodingConfig;
+import com.synapx.acord.exception.BadRequestException;
+import com.synapx.acord.exception.NotFoundException;
+import com.synapx.acord.model.BatchItemResult;
+import com.synapx.acord.model.BundleItemResult;
+import com.synapx.acord.model.ClaimJob;
+import com.synapx.acord.model.ClaimProcessingResponse;
+import com.synapx.acord.model.JournalEntry;
+import com.synapx.acord.model.ProcessTextRequest;
+import com.synapx.acord.model.RoutingRules;
+import com.synapx.acord.service.BatchClaimProcessingService;
+import com.synapx.acord.service.ClaimJobService;
+import com.synapx.acord.service.ClaimJournal;
+import com.synapx.acord.service.ClaimProcessingService;
+import com.synapx.acord.service.ClaimMetrics;
+import com.synapx.acord.service.ClaimResultCache;
+import com.synapx.acord.service.ContentHashes;
+import com.synapx.acord.service.NdjsonClaimStreamService;
+import com.synapx.acord.service.PdfUploadSpooler;
+import com.synapx.acord.service.RejectionReason;
+import com.synapx.acord.service.RoutingService;
+import com.synapx.acord.service.SpooledMultipartFile;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.multipart.MultipartFile;
+
+@RestController
+@RequestMapping("/claims")
+@RequiredArgsConstructor
+public class ClaimProcessingController {
+
+    private final ClaimProcessingService claimProcessingService;
+    private final BatchClaimProcessingService batchClaimProcessingService;
+    private final NdjsonClaimStreamService ndjsonClaimStreamService;
+    private final ClaimResultCache claimResultCache;
+    private final ClaimMetrics claimMetrics;
+    private final ClaimJobService claimJobService;
+    private final ClaimJournal claimJournal;
+    private final RoutingService routingService;
+    private final PdfUploadSpooler pdfUploadSpooler;
+
+    @PostMapping(
+            value = "/process",
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, EncodingConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ClaimProcessingResponse> processPdf(@RequestParam("file") MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            claimMetrics.countRejection(RejectionReason.EMPTY);
+            throw new BadRequestException("No file provided. Use multipart field 'file' with a non-empty PDF.");
+        }
+        String contentHash = ContentHashes.pdf(file);
+        ClaimProcessingResponse response =
+                claimResultCache.getOrCompute(contentHash, () -> claimProcessingService.processPdf(file, contentHash));
+        return ResponseEntity.ok().eTag(contentHash).varyBy(HttpHeaders.ACCEPT).body(response);
+    }
+
+    /**
+     * Same as the multipart variant, for a PDF sent as the raw request body. The body is streamed to a spool file and
+     * read from there in place, so neither the container nor the parser holds the whole document on the heap.
+     */
+    @PostMapping(
+            value = "/process",
+            consumes = MediaType.APPLICATION_PDF_VALUE,
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, EncodingConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ClaimProcessingResponse> processPdfBody(HttpServletRequest request) throws IOException {
+        SpooledMultipartFile file = pdfUploadSpooler.spool(request.getInputStream(), request.getContentLengthLong());
+        try {
+            if (file.isEmpty()) {
+                claimMetrics.countRejection(RejectionReason.EMPTY);
+                throw new BadRequestException("No PDF received. Send the PDF bytes as the request body.");
+            }
+            String contentHash = file.getContentHash();
+            ClaimProcessingResponse response = claimResultCache.getOrCompute(
+                    contentHash, () -> claimProcessingService.processPdf(file, contentHash));
+            return ResponseEntity.ok().eTag(contentHash).varyBy(HttpHeaders.ACCEPT).body(response);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @PostMapping(
+            value = "/process-text",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, EncodingConfig.APPLICATION_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, EncodingConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ClaimProcessingResponse> processText(@RequestBody ProcessTextRequest request) {
+        if (request == null || !StringUtils.hasText(request.getText())) {
+            claimMetrics.countRejection(RejectionReason.EMPTY);
+            throw new BadRequestException("Text is empty. Provide JSON body in the form: {\"text\":\"...\"}.");
+        }
+        String contentHash = ContentHashes.text(request.getText());
+        ClaimProcessingResponse response = claimResultCache.getOrCompute(
+                contentHash, () -> claimProcessingService.processText(request.getText(), contentHash));
+        return ResponseEntity.ok().eTag(contentHash).varyBy(HttpHeaders.ACCEPT).body(response);
+    }
+
+    /**
+     * Result of an earlier {@code /process} or {@code /process-text} call, looked up by the ETag it returned, so a
+     * client can check for a cached result before uploading the document again. Results evicted from the cache are
+     * served from the journal.
+     */
+    @GetMapping(
+            value = "/results/{contentHash}",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, EncodingConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ClaimProcessingResponse> cachedResult(
+            @PathVariable String contentHash, WebRequest webRequest) {
+        ClaimProcessingResponse response = claimResultCache.find(contentHash)
+                .or(() -> claimJournal.findByContentHash(contentHash).map(JournalEntry::toResponse))
+                .orElseThrow(() -> new NotFoundException("No cached result for content hash " + contentHash + "."));
+        if (webRequest.checkNotModified(contentHash)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(contentHash).varyBy(HttpHeaders.ACCEPT).body(response);
+    }
+
+    @PostMapping(
+            value = "/process-batch",
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, EncodingConfig.APPLICATION_SMILE_VALUE})
+    public List<BatchItemResult> processPdfBatch(@RequestParam("files") List<MultipartFile> files) {
+        return batchClaimProcessingService.processPdfs(files);
+    }
+
+    @PostMapping(
+            value = "/process-batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, EncodingConfig.APPLICATION_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, EncodingConfig.APPLICATION_SMILE_VALUE})
+    public List<BatchItemResult> processTextBatch(@RequestBody List<ProcessTextRequest> requests) {
+        return batchClaimProcessingService.processTexts(requests);
+    }
+
+    /**
+     * Processes a PDF that bundles several claims, such as merged or batch-scanned FNOL forms, as one claim per
+     * policy number.
+     */
+    @PostMapping(
+            value = "/process-bundle",
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, EncodingConfig.APPLICATION_SMILE_VALUE})
+    public List<BundleItemResult> processPdfBundle(@RequestParam("file") MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            claimMetrics.countRejection(RejectionReason.EMPTY);
+            throw new BadRequestException("No file provided. Use multipart field 'file' with a non-empty PDF.");
+        }
+        return batchClaimProcessingService.processPdfBundle(file);
+    }
+
+    @PostMapping(
+            value = "/process-stream",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void processTextStream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        ndjsonClaimStreamService.process(request.getInputStream(), response.getOutputStream());
+    }
+
+    /**
+     * Re-routes stored {@code ClaimFields} records, one per line, against the active routing rules without extracting
+     * anything again.
+     */
+    @PostMapping(
+            value = "/reroute",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void rerouteStream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        ndjsonClaimStreamService.reroute(request.getInputStream(), response.getOutputStream());
+    }
+
+    @GetMapping(
+            value = "/routing-rules",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, EncodingConfig.APPLICATION_SMILE_VALUE})
+    public RoutingRules routingRules() {
+        return routingService.activeRules();
+    }
+
+    @PostMapping(
+            value = "/routing-rules/reload",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, EncodingConfig.APPLICATION_SMILE_VALUE})
+    public RoutingRules reloadRoutingRules() {
+        return routingService.reload();
+    }
+
+    @PostMapping(
+            value = "/jobs",
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, EncodingConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ClaimJob> submitPdfJob(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "callbackUrl", required = false) String callbackUrl) {
+        if (file == null || file.isEmpty()) {
+            claimMetrics.countRejection(RejectionReason.EMPTY);
+            throw new BadRequestException("No file provided. Use multipart field 'file' with a non-empty PDF.");
+        }
+        return accepted(claimJobService.submitPdf(file, callbackUrl));
+    }
+
+    @PostMapping(
+            value = "/jobs",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, EncodingConfig.APPLICATION_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, EncodingConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<ClaimJob> submitTextJob(
+            @RequestBody ProcessTextRequest request,
+            @RequestParam(value = "callbackUrl", required = false) String callbackUrl) {
+        if (request == null || !StringUtils.hasText(request.getText())) {
+            claimMetrics.countRejection(RejectionReason.EMPTY);
+            throw new BadRequestException("Text is empty. Provide JSON body in the form: {\"text\":\"...\"}.");
+        }
+        return accepted(claimJobService.submitText(request.getText(), callbackUrl));
+    }
+
+    @GetMapping(
+            value = "/jobs/{id}",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, EncodingConfig.APPLICATION_SMILE_VALUE})
+    public ClaimJob job(@PathVariable String id) {
+        return claimJobService.find(id)
+                .orElseThrow(() -> new NotFoundException("No claim job " + id + ". Finished jobs expire after a while."));
+    }
+
+    @GetMapping(
+            value = "/journal",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, EncodingConfig.APPLICATION_SMILE_VALUE})
+    public List<JournalEntry> journalByPolicyNumber(@RequestParam("policyNumber") String policyNumber) {
+        return claimJournal.findByPolicyNumber(policyNumber);
+    }
+
+    @GetMapping(
+            value = "/journal/{contentHash}",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, EncodingConfig.APPLICATION_SMILE_VALUE})
+    public JournalEntry journalByContentHash(@PathVariable String contentHash) {
+        return claimJournal.findByContentHash(contentHash)
+                .orElseThrow(() -> new NotFoundException("No journal entry for content hash " + contentHash + "."));
+    }
+
+    private ResponseEntity<ClaimJob> accepted(ClaimJob job) {
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(job.id()).toUri())
+                .body(job);
+    }
+}
@@ -0,0 +1,8 @@
+package com.synapx.acord.exception;
+
+public class PayloadTooLargeException extends RuntimeException {
+
+    public PayloadTooLargeException(long maxBytes) {
+        super("PDF is larger than the limit of " + maxBytes + " bytes.");
+    }
+}
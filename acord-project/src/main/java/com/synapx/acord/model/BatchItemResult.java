@@ -0,0 +1,18 @@
+package com.synapx.acord.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one item of a batch request. Exactly one of {@code response} and {@code error} is set.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchItemResult(int index, ClaimProcessingResponse response, String error) {
+
+    public static BatchItemResult success(int index, ClaimProcessingResponse response) {
+        return new BatchItemResult(index, response, null);
+    }
+
+    public static BatchItemResult failure(int index, String error) {
+        return new BatchItemResult(index, null, error);
+    }
+}
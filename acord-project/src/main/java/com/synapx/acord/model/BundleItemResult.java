@@ -0,0 +1,19 @@
+package com.synapx.acord.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one claim found in a multi-claim PDF, with the pages it was read from (1-based, inclusive). Exactly one
+ * of {@code response} and {@code error} is set.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BundleItemResult(int startPage, int endPage, ClaimProcessingResponse response, String error) {
+
+    public static BundleItemResult success(int startPage, int endPage, ClaimProcessingResponse response) {
+        return new BundleItemResult(startPage, endPage, response, null);
+    }
+
+    public static BundleItemResult failure(int startPage, int endPage, String error) {
+        return new BundleItemResult(startPage, endPage, null, error);
+    }
+}
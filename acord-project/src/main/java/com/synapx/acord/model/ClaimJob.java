@@ -0,0 +1,11 @@
+package com.synapx.acord.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * State of an asynchronous claim job. {@code response} is set once the job has succeeded, {@code error} once it has
+ * failed.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ClaimJob(String id, JobStatus status, ClaimProcessingResponse response, String error) {
+}
@@ -0,0 +1,8 @@
+package com.synapx.acord.model;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
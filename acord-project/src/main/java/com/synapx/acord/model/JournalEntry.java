@@ -0,0 +1,34 @@
+package com.synapx.acord.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One processed claim as persisted in the result journal.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record JournalEntry(
+        String contentHash,
+        Instant processedAt,
+        ClaimFields extractedFields,
+        List<String> missingFields,
+        RouteType recommendedRoute,
+        String reasoning,
+        boolean partial) {
+
+    public static JournalEntry of(String contentHash, Instant processedAt, ClaimProcessingResponse response) {
+        return new JournalEntry(
+                contentHash,
+                processedAt,
+                response.getExtractedFields(),
+                response.getMissingFields(),
+                response.getRecommendedRoute(),
+                response.getReasoning(),
+                response.isPartial());
+    }
+
+    public ClaimProcessingResponse toResponse() {
+        return new ClaimProcessingResponse(extractedFields, missingFields, recommendedRoute, reasoning, partial);
+    }
+}
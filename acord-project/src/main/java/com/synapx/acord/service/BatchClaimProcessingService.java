@@ -0,0 +1,147 @@
+package com.synapx.acord.service;
+
+import com.synapx.acord.exception.BadRequestException;
+import com.synapx.acord.exception.ProcessingTimeoutException;
+import com.synapx.acord.exception.ServiceOverloadedException;
+import com.synapx.acord.model.BatchItemResult;
+import com.synapx.acord.model.BundleItemResult;
+import com.synapx.acord.model.ClaimProcessingResponse;
+import com.synapx.acord.model.ProcessTextRequest;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+@Slf4j
+@Service
+public class BatchClaimProcessingService {
+
+    private static final String UNEXPECTED_ERROR_MESSAGE = "Unexpected server error while processing the claim.";
+
+    private final ClaimProcessingService claimProcessingService;
+    private final ExecutorService workerPool;
+    private final int maxItems;
+
+    /**
+     * @param workerThreads number of batch workers; 0 means one per available processor
+     * @param queueCapacity items waiting for a worker before the submitting request thread runs them itself
+     * @param maxItems      largest accepted batch
+     */
+    public BatchClaimProcessingService(
+            ClaimProcessingService claimProcessingService,
+            @Value("${acord.batch.workerThreads:0}") int workerThreads,
+            @Value("${acord.batch.queueCapacity:256}") int queueCapacity,
+            @Value("${acord.batch.maxItems:500}") int maxItems) {
+        this.claimProcessingService = claimProcessingService;
+        this.maxItems = maxItems;
+        int threads = workerThreads > 0 ? workerThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workerPool = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "claim-batch-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public List<BatchItemResult> processPdfs(List<MultipartFile> files) {
+        return processAll(files, claimProcessingService::processPdf);
+    }
+
+    public List<BatchItemResult> processTexts(List<ProcessTextRequest> requests) {
+        return processAll(requests, request -> claimProcessingService.processText(request == null ? null : request.getText()));
+    }
+
+    /**
+     * Splits a PDF that bundles several claims and processes the claims in parallel. Results come back in page
+     * order, each with the pages it was read from.
+     */
+    public List<BundleItemResult> processPdfBundle(MultipartFile file) {
+        List<PdfClaimSegment> segments = claimProcessingService.splitPdf(file);
+        if (segments.size() > maxItems) {
+            throw new BadRequestException("Bundle too large. At most " + maxItems + " claims are accepted per document.");
+        }
+
+        List<Future<ClaimProcessingResponse>> futures = new ArrayList<>(segments.size());
+        for (PdfClaimSegment segment : segments) {
+            futures.add(workerPool.submit(() -> claimProcessingService.processSegment(segment)));
+        }
+
+        List<BundleItemResult> results = new ArrayList<>(segments.size());
+        for (int i = 0; i < futures.size(); i++) {
+            PdfClaimSegment segment = segments.get(i);
+            results.add(await(
+                    futures.get(i),
+                    response -> BundleItemResult.success(segment.startPage(), segment.endPage(), response),
+                    error -> BundleItemResult.failure(segment.startPage(), segment.endPage(), error)));
+        }
+        return results;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workerPool.shutdownNow();
+    }
+
+    private <T> List<BatchItemResult> processAll(List<T> items, Function<T, ClaimProcessingResponse> processor) {
+        if (items == null || items.isEmpty()) {
+            throw new BadRequestException("Batch is empty. Provide at least one claim document.");
+        }
+        if (items.size() > maxItems) {
+            throw new BadRequestException("Batch too large. At most " + maxItems + " claim documents are accepted per request.");
+        }
+
+        List<Future<ClaimProcessingResponse>> futures = new ArrayList<>(items.size());
+        for (T item : items) {
+            futures.add(workerPool.submit(() -> processor.apply(item)));
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(items.size());
+        for (int i = 0; i < futures.size(); i++) {
+            int index = i;
+            results.add(await(
+                    futures.get(i),
+                    response -> BatchItemResult.success(index, response),
+                    error -> BatchItemResult.failure(index, error)));
+        }
+        return results;
+    }
+
+    private <R> R await(
+            Future<ClaimProcessingResponse> future,
+            Function<ClaimProcessingResponse, R> success,
+            Function<String, R> failure) {
+        try {
+            return success.apply(future.get());
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof BadRequestException
+                    || ex.getCause() instanceof ProcessingTimeoutException
+                    || ex.getCause() instanceof ServiceOverloadedException) {
+                return failure.apply(ex.getCause().getMessage());
+            }
+            log.error("Batch claim processing failed", ex.getCause());
+            return failure.apply(UNEXPECTED_ERROR_MESSAGE);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return failure.apply(UNEXPECTED_ERROR_MESSAGE);
+        }
+    }
+}
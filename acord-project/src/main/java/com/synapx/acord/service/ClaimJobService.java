@@ -0,0 +1,295 @@
+package com.synapx.acord.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synapx.acord.exception.BadRequestException;
+import com.synapx.acord.exception.ProcessingTimeoutException;
+import com.synapx.acord.exception.ServiceOverloadedException;
+import com.synapx.acord.model.ClaimJob;
+import com.synapx.acord.model.ClaimProcessingResponse;
+import com.synapx.acord.model.JobStatus;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Accepts claims for processing in the background, so the submitting request returns as soon as the claim is queued.
+ * Uploaded PDFs are spooled to disk first because the container deletes its copy when the request ends. Finished jobs
+ * are kept for {@code resultTtl} and then forgotten; a job can optionally POST its final state to a callback URL on one
+ * of the configured hosts.
+ */
+@Slf4j
+@Service
+public class ClaimJobService {
+
+    private static final String QUEUE_FULL_MESSAGE = "Too many claim jobs are waiting to be processed. Please retry later.";
+    private static final String UNEXPECTED_ERROR_MESSAGE = "Unexpected server error while processing the claim.";
+    private static final Duration CALLBACK_TIMEOUT = Duration.ofSeconds(5);
+
+    private final ClaimProcessingService claimProcessingService;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor workerPool;
+    private final ScheduledExecutorService reaper;
+    private final HttpClient callbackClient;
+    private final Map<String, JobEntry> jobs = new ConcurrentHashMap<>();
+    private final long resultTtlNanos;
+    private final long retryAfterSeconds;
+    private final List<String> callbackHosts;
+    private final Path spoolDirectory;
+
+    /**
+     * @param workerThreads     jobs processed at the same time; 0 means one per available processor
+     * @param queueCapacity     jobs accepted but waiting for a worker; further submissions are refused with 429
+     * @param resultTtl         how long a finished job stays retrievable
+     * @param retryAfterSeconds value of the Retry-After header when the queue is full
+     * @param callbackHosts     hosts a callback URL may point to
+     * @param spoolDir          where uploaded PDFs wait for their worker
+     */
+    public ClaimJobService(
+            ClaimProcessingService claimProcessingService,
+            ObjectMapper objectMapper,
+            @Value("${acord.jobs.workerThreads:0}") int workerThreads,
+            @Value("${acord.jobs.queueCapacity:100}") int queueCapacity,
+            @Value("${acord.jobs.resultTtl:15m}") Duration resultTtl,
+            @Value("${acord.jobs.retryAfterSeconds:5}") long retryAfterSeconds,
+            @Value("${acord.jobs.callbackHosts:localhost,127.0.0.1}") List<String> callbackHosts,
+            @Value("${acord.jobs.spoolDir:${java.io.tmpdir}}") String spoolDir) {
+        this.claimProcessingService = claimProcessingService;
+        this.objectMapper = objectMapper;
+        int threads = workerThreads > 0 ? workerThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workerPool = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "claim-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.reaper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "claim-job-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.callbackClient = HttpClient.newBuilder().connectTimeout(CALLBACK_TIMEOUT).build();
+        this.resultTtlNanos = resultTtl.toNanos();
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.callbackHosts = callbackHosts.stream().map(host -> host.trim().toLowerCase(Locale.ROOT)).toList();
+        this.spoolDirectory = Paths.get(spoolDir);
+        long reapPeriodMillis = Math.max(1000, Math.min(resultTtl.toMillis(), 60_000));
+        reaper.scheduleWithFixedDelay(this::removeExpired, reapPeriodMillis, reapPeriodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public ClaimJob submitPdf(MultipartFile file, String callbackUrl) {
+        URI callback = parseCallback(callbackUrl);
+        SpooledMultipartFile spooled;
+        try {
+            spooled = SpooledMultipartFile.spool(file, spoolDirectory);
+        } catch (IOException ex) {
+            // The upload is already in the container; failing to copy it is a fault of the server, such as a full disk.
+            log.error("Cannot spool a claim job PDF to {}", spoolDirectory, ex);
+            throw new UncheckedIOException("Cannot spool the PDF for processing.", ex);
+        }
+        try {
+            return submit(callback, () -> claimProcessingService.processPdf(spooled, spooled.getContentHash()), spooled::delete);
+        } catch (RuntimeException ex) {
+            spooled.delete();
+            throw ex;
+        }
+    }
+
+    public ClaimJob submitText(String text, String callbackUrl) {
+        URI callback = parseCallback(callbackUrl);
+        return submit(callback, () -> claimProcessingService.processText(text), () -> { });
+    }
+
+    public Optional<ClaimJob> find(String id) {
+        JobEntry entry = jobs.get(id);
+        return entry == null || entry.isExpired(System.nanoTime()) ? Optional.empty() : Optional.of(entry.snapshot());
+    }
+
+    /**
+     * Stops the workers. Jobs still queued are dropped, and their spooled PDFs deleted.
+     */
+    @PreDestroy
+    public void shutdown() {
+        reaper.shutdownNow();
+        for (Runnable queued : workerPool.shutdownNow()) {
+            if (queued instanceof JobTask task) {
+                task.cleanup.run();
+            }
+        }
+    }
+
+    int trackedJobs() {
+        return jobs.size();
+    }
+
+    void removeExpired() {
+        long now = System.nanoTime();
+        jobs.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    private ClaimJob submit(URI callback, Supplier<ClaimProcessingResponse> processing, Runnable cleanup) {
+        JobEntry entry = new JobEntry(UUID.randomUUID().toString());
+        jobs.put(entry.id, entry);
+        try {
+            workerPool.execute(new JobTask(entry, callback, processing, cleanup));
+        } catch (RejectedExecutionException ex) {
+            jobs.remove(entry.id);
+            throw new ServiceOverloadedException(
+                    QUEUE_FULL_MESSAGE, HttpStatus.TOO_MANY_REQUESTS.value(), retryAfterSeconds);
+        }
+        return entry.snapshot();
+    }
+
+    private void run(JobEntry entry, URI callback, Supplier<ClaimProcessingResponse> processing, Runnable cleanup) {
+        entry.status = JobStatus.RUNNING;
+        try {
+            entry.succeed(processing.get());
+        } catch (BadRequestException | ProcessingTimeoutException | ServiceOverloadedException ex) {
+            entry.fail(ex.getMessage());
+        } catch (RuntimeException | Error ex) {
+            // An error such as running out of memory on one large PDF must still finish the job, or it stays RUNNING.
+            log.error("Claim job {} failed", entry.id, ex);
+            entry.fail(UNEXPECTED_ERROR_MESSAGE);
+        } finally {
+            cleanup.run();
+        }
+        if (callback != null) {
+            notify(callback, entry.snapshot());
+        }
+    }
+
+    private void notify(URI callback, ClaimJob job) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(callback)
+                    .timeout(CALLBACK_TIMEOUT)
+                    .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(job)))
+                    .build();
+            callbackClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, ex) -> {
+                        if (ex != null) {
+                            log.warn("Callback for claim job {} to {} failed: {}", job.id(), callback, ex.toString());
+                        }
+                    });
+        } catch (JsonProcessingException ex) {
+            log.warn("Callback for claim job {} could not be serialized: {}", job.id(), ex.toString());
+        }
+    }
+
+    private URI parseCallback(String callbackUrl) {
+        if (!StringUtils.hasText(callbackUrl)) {
+            return null;
+        }
+        try {
+            URI uri = new URI(callbackUrl.trim());
+            String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.ROOT);
+            String host = uri.getHost() == null ? "" : uri.getHost().toLowerCase(Locale.ROOT);
+            if ((scheme.equals("http") || scheme.equals("https")) && callbackHosts.contains(host)) {
+                return uri;
+            }
+        } catch (URISyntaxException ignored) {
+            // Reported below.
+        }
+        throw new BadRequestException("Invalid callback URL. Use an http(s) URL on one of: "
+                + String.join(", ", callbackHosts) + ".");
+    }
+
+    /**
+     * A job waiting for or taken by a worker, kept as its parts so that {@link #shutdown()} can clean up after jobs
+     * that never ran.
+     */
+    private final class JobTask implements Runnable {
+
+        private final JobEntry entry;
+        private final URI callback;
+        private final Supplier<ClaimProcessingResponse> processing;
+        private final Runnable cleanup;
+
+        private JobTask(JobEntry entry, URI callback, Supplier<ClaimProcessingResponse> processing, Runnable cleanup) {
+            this.entry = entry;
+            this.callback = callback;
+            this.processing = processing;
+            this.cleanup = cleanup;
+        }
+
+        @Override
+        public void run() {
+            ClaimJobService.this.run(entry, callback, processing, cleanup);
+        }
+    }
+
+    private final class JobEntry {
+
+        private final String id;
+        private volatile JobStatus status = JobStatus.QUEUED;
+        private volatile ClaimProcessingResponse response;
+        private volatile String error;
+        private volatile long finishedAtNanos;
+
+        private JobEntry(String id) {
+            this.id = id;
+        }
+
+        private void succeed(ClaimProcessingResponse response) {
+            this.response = response;
+            finish(JobStatus.SUCCEEDED);
+        }
+
+        private void fail(String error) {
+            this.error = error;
+            finish(JobStatus.FAILED);
+        }
+
+        private void finish(JobStatus finalStatus) {
+            finishedAtNanos = System.nanoTime();
+            status = finalStatus;
+        }
+
+        private boolean isExpired(long now) {
+            JobStatus current = status;
+            return (current == JobStatus.SUCCEEDED || current == JobStatus.FAILED)
+                    && now - finishedAtNanos >= resultTtlNanos;
+        }
+
+        private ClaimJob snapshot() {
+            JobStatus current = status;
+            return new ClaimJob(id, current, response, error);
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.synapx.acord.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synapx.acord.model.ClaimProcessingResponse;
+import com.synapx.acord.model.JournalEntry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * Append-only journal of processed claims on memory-mapped segment files.
+ *
+ * <p>Each record is {@code [int length][int crc32][JSON JournalEntry]}. Appends copy into the mapped segment of the
+ * active file, so a write costs a memory copy; dirty segments are forced to disk every {@code flushInterval} instead of
+ * once per record. A record that does not fit the active segment rolls over to a new file. On startup every segment is
+ * scanned up to its first empty or torn record, which rebuilds the in-memory indexes by policy number and content hash
+ * and positions the writer after the last complete record.
+ */
+@Service
+public class ClaimJournal {
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int HEADER_BYTES = 8;
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentBytes;
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final Map<String, Queue<Location>> byPolicyNumber = new ConcurrentHashMap<>();
+    private final Map<String, Location> byContentHash = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+    private final Object writeLock = new Object();
+
+    private Segment active;
+    private int writePosition;
+    private boolean dirty;
+
+    /**
+     * @param enabled       when false nothing is written or indexed
+     * @param directory     where segment files live; created if missing
+     * @param segmentBytes  size of each segment file
+     * @param flushInterval how often appended records are forced to disk
+     */
+    public ClaimJournal(
+            ObjectMapper objectMapper,
+            @Value("${acord.journal.enabled:false}") boolean enabled,
+            @Value("${acord.journal.dir:data/journal}") String directory,
+            @Value("${acord.journal.segmentBytes:67108864}") int segmentBytes,
+            @Value("${acord.journal.flushInterval:200ms}") Duration flushInterval) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.segmentBytes = segmentBytes;
+        if (!enabled) {
+            this.flusher = null;
+            return;
+        }
+        try {
+            Files.createDirectories(this.directory);
+            recover();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open claim journal in " + this.directory, ex);
+        }
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "claim-journal-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long flushMillis = Math.max(1, flushInterval.toMillis());
+        flusher.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Appends a processed claim. The record is visible to lookups as soon as this returns and reaches the disk at the
+     * next flush.
+     */
+    public void append(String contentHash, ClaimProcessingResponse response) {
+        if (!enabled) {
+            return;
+        }
+        JournalEntry entry = JournalEntry.of(contentHash, Instant.now(), response);
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(entry);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        synchronized (writeLock) {
+            int recordBytes = HEADER_BYTES + payload.length;
+            if (active == null || writePosition + recordBytes > active.buffer.capacity()) {
+                rollOver(recordBytes);
+            }
+            MappedByteBuffer buffer = active.buffer;
+            buffer.putInt(writePosition + 4, (int) crc.getValue());
+            buffer.put(writePosition + HEADER_BYTES, payload);
+            // Length last, so a record torn by a crash reads as the end of the journal.
+            buffer.putInt(writePosition, payload.length);
+            index(entry, new Location(active, writePosition));
+            writePosition += recordBytes;
+            dirty = true;
+        }
+    }
+
+    public List<JournalEntry> findByPolicyNumber(String policyNumber) {
+        if (!StringUtils.hasText(policyNumber)) {
+            return List.of();
+        }
+        Queue<Location> locations = byPolicyNumber.get(policyKey(policyNumber));
+        return locations == null ? List.of() : locations.stream().map(this::read).toList();
+    }
+
+    /**
+     * Latest record for a content hash.
+     */
+    public Optional<JournalEntry> findByContentHash(String contentHash) {
+        Location location = contentHash == null ? null : byContentHash.get(contentHash);
+        return location == null ? Optional.empty() : Optional.of(read(location));
+    }
+
+    /**
+     * Feeds every record to {@code consumer} in append order. Records appended while replaying may or may not be
+     * included.
+     */
+    public void replay(Consumer<JournalEntry> consumer) {
+        if (!enabled) {
+            return;
+        }
+        for (Segment segment : segments) {
+            int end = endOf(segment);
+            int position = 0;
+            while (position < end) {
+                consumer.accept(read(new Location(segment, position)));
+                position += HEADER_BYTES + segment.buffer.getInt(position);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!enabled) {
+            return;
+        }
+        flusher.shutdownNow();
+        flush();
+        for (Segment segment : segments) {
+            try {
+                segment.channel.close();
+            } catch (IOException ignored) {
+                // The mapping stays valid until it is garbage collected.
+            }
+        }
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    void flush() {
+        Segment segment;
+        synchronized (writeLock) {
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+            segment = active;
+        }
+        segment.buffer.force();
+    }
+
+    private void rollOver(int recordBytes) {
+        try {
+            if (active != null) {
+                active.end = writePosition;
+                active.buffer.force();
+            }
+            int index = active == null ? 0 : active.index + 1;
+            active = openSegment(index, Math.max(segmentBytes, recordBytes));
+            segments.add(active);
+            writePosition = 0;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot create claim journal segment in " + directory, ex);
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            int index = Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            Segment segment = openSegment(index, (int) Files.size(file));
+            segments.add(segment);
+            if (active != null) {
+                active.end = writePosition;
+            }
+            active = segment;
+            writePosition = scan(segment);
+        }
+    }
+
+    /**
+     * Indexes the complete records of a segment and returns the offset after the last one.
+     */
+    private int scan(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        int position = 0;
+        while (position + HEADER_BYTES <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER_BYTES + length > buffer.capacity()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + HEADER_BYTES, payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+            index(parse(payload), new Location(segment, position));
+            position += HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    private Segment openSegment(int index, int size) throws IOException {
+        Path file = directory.resolve(String.format(Locale.ROOT, "%s%08d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(
+                file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new Segment(index, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    private void index(JournalEntry entry, Location location) {
+        if (StringUtils.hasText(entry.contentHash())) {
+            byContentHash.put(entry.contentHash(), location);
+        }
+        String policyNumber = entry.extractedFields() == null ? null : entry.extractedFields().getPolicyNumber();
+        if (StringUtils.hasText(policyNumber)) {
+            byPolicyNumber.computeIfAbsent(policyKey(policyNumber), key -> new ConcurrentLinkedQueue<>()).add(location);
+        }
+    }
+
+    private JournalEntry read(Location location) {
+        MappedByteBuffer buffer = location.segment.buffer;
+        byte[] payload = new byte[buffer.getInt(location.offset)];
+        buffer.get(location.offset + HEADER_BYTES, payload);
+        return parse(payload);
+    }
+
+    private JournalEntry parse(byte[] payload) {
+        try {
+            return objectMapper.readValue(payload, JournalEntry.class);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Corrupt claim journal record", ex);
+        }
+    }
+
+    private int endOf(Segment segment) {
+        synchronized (writeLock) {
+            return segment == active ? writePosition : segment.end;
+        }
+    }
+
+    private static String policyKey(String policyNumber) {
+        return policyNumber.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static final class Segment {
+
+        private final int index;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        /** Offset after the last complete record once the segment is no longer active; guarded by the write lock. */
+        private int end;
+
+        private Segment(int index, FileChannel channel, MappedByteBuffer buffer) {
+            this.index = index;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+
+    private record Location(Segment segment, int offset) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.synapx.acord.service;
+
+import com.synapx.acord.model.ClaimFields;
+import com.synapx.acord.model.ClaimProcessingResponse;
+import java.util.List;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * The {@link AcordExtractor} pipeline for uploads, with every claim it extracts written to the {@link ClaimJournal}.
+ */
+@Service
+public class ClaimProcessingService {
+
+    private final AcordExtractor acordExtractor;
+    private final ClaimJournal claimJournal;
+
+    @Autowired
+    public ClaimProcessingService(
+            PdfTextExtractorService pdfTextExtractorService,
+            FieldExtractorService fieldExtractorService,
+            ValidatorService validatorService,
+            RoutingService routingService,
+            AcroFormFieldReader acroFormFieldReader,
+            ClaimMetrics claimMetrics,
+            ClaimJournal claimJournal) {
+        this(new AcordExtractor(
+                pdfTextExtractorService,
+                fieldExtractorService,
+                validatorService,
+                routingService,
+                acroFormFieldReader,
+                claimMetrics), claimJournal);
+    }
+
+    /**
+     * Over an extractor from {@link AcordExtractor#builder()}, as benchmarks and tests build the pipeline; closing the
+     * extractor stays with the caller.
+     */
+    public ClaimProcessingService(AcordExtractor acordExtractor, ClaimJournal claimJournal) {
+        this.acordExtractor = acordExtractor;
+        this.claimJournal = claimJournal;
+    }
+
+    public ClaimProcessingResponse processPdf(MultipartFile file) {
+        return processPdf(file, null);
+    }
+
+    /**
+     * Fillable PDFs are read from their AcroForm fields; flat documents go through text extraction.
+     *
+     * @param contentHash {@link ContentHashes#pdf(MultipartFile)} of the file if the caller has it already, or null
+     */
+    public ClaimProcessingResponse processPdf(MultipartFile file, String contentHash) {
+        return journal(evaluatePdf(file), contentHash != null ? () -> contentHash : () -> ContentHashes.pdf(file));
+    }
+
+    /**
+     * Splits a PDF that bundles several claims into one text segment per claim; see {@link AcordExtractor#splitPdf}.
+     */
+    public List<PdfClaimSegment> splitPdf(MultipartFile file) {
+        return acordExtractor.splitPdf(MultipartPdfSource.of(file));
+    }
+
+    /**
+     * Processes one claim of a bundled PDF. It is journaled under the {@link ContentHashes#text(String)} of its pages.
+     */
+    public ClaimProcessingResponse processSegment(PdfClaimSegment segment) {
+        return journal(acordExtractor.processSegment(segment), () -> ContentHashes.text(segment.text()));
+    }
+
+    public ClaimProcessingResponse processText(String text) {
+        return processText(text, null);
+    }
+
+    /**
+     * @param contentHash {@link ContentHashes#text(String)} of the text if the caller has it already, or null
+     */
+    public ClaimProcessingResponse processText(String text, String contentHash) {
+        return journal(evaluateText(text), contentHash != null ? () -> contentHash : () -> ContentHashes.text(text));
+    }
+
+    /**
+     * Validates and routes fields stored by an earlier run against the current routing rules. Nothing is extracted,
+     * journaled or counted as an outcome.
+     */
+    public ClaimProcessingResponse reroute(ClaimFields fields) {
+        return acordExtractor.reroute(fields);
+    }
+
+    /**
+     * {@link #processPdf(MultipartFile)} without journaling.
+     */
+    ClaimProcessingResponse evaluatePdf(MultipartFile file) {
+        return acordExtractor.processPdf(MultipartPdfSource.of(file));
+    }
+
+    /**
+     * {@link #processText(String)} without journaling.
+     */
+    ClaimProcessingResponse evaluateText(String text) {
+        return acordExtractor.processText(text);
+    }
+
+    private ClaimProcessingResponse journal(ClaimProcessingResponse response, Supplier<String> contentHash) {
+        if (claimJournal.isEnabled()) {
+            claimJournal.append(contentHash.get(), response);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,145 @@
+package com.synapx.acord.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.synapx.acord.exception.RejectedDocumentException;
+import com.synapx.acord.model.ClaimProcessingResponse;
+import com.synapx.acord.model.RouteDecision;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Results keyed by {@link ContentHashes content hash}. Concurrent requests for the same key share one computation:
+ * the first caller computes on its own thread and the others wait for its result. Failed computations are not cached,
+ * except for {@link RejectedDocumentException}s: their messages are kept in a separate cache, so a document refused
+ * for its content is refused again without being loaded.
+ *
+ * <p>Each result remembers the {@link RoutingService#rulesVersion() routing rules version} it was computed under.
+ * A result read after the rules were reloaded is routed again by the current rules, from the fields and missing
+ * fields it holds, so cached results follow a rules change without reading their documents again.
+ */
+@Service
+public class ClaimResultCache {
+
+    private final AsyncCache<String, RoutedResponse> cache;
+    private final Cache<String, String> rejections;
+    private final RoutingService routingService;
+
+    /**
+     * @param rejectedMaxEntries rejected documents remembered
+     * @param rejectedTtl        how long a rejected document is remembered
+     */
+    public ClaimResultCache(
+            @Value("${acord.cache.maxEntries:10000}") long maxEntries,
+            @Value("${acord.cache.ttl:1h}") Duration ttl,
+            @Value("${acord.cache.rejectedMaxEntries:10000}") long rejectedMaxEntries,
+            @Value("${acord.cache.rejectedTtl:24h}") Duration rejectedTtl,
+            RoutingService routingService,
+            MeterRegistry meterRegistry) {
+        this.routingService = routingService;
+        this.cache = CaffeineCacheMetrics.monitor(
+                meterRegistry,
+                Caffeine.newBuilder()
+                        .maximumSize(maxEntries)
+                        .expireAfterWrite(ttl)
+                        .recordStats()
+                        .<String, RoutedResponse>buildAsync(),
+                "claimResults");
+        this.rejections = CaffeineCacheMetrics.monitor(
+                meterRegistry,
+                Caffeine.newBuilder()
+                        .maximumSize(rejectedMaxEntries)
+                        .expireAfterWrite(rejectedTtl)
+                        .recordStats()
+                        .<String, String>build(),
+                "claimRejections");
+    }
+
+    /**
+     * @throws RejectedDocumentException at once when the document behind {@code key} was rejected before
+     */
+    public ClaimProcessingResponse getOrCompute(String key, Supplier<ClaimProcessingResponse> computation) {
+        String rejection = rejections.getIfPresent(key);
+        if (rejection != null) {
+            throw new RejectedDocumentException(rejection);
+        }
+        long rulesVersion = routingService.rulesVersion();
+        CompletableFuture<RoutedResponse> created = new CompletableFuture<>();
+        CompletableFuture<RoutedResponse> result = cache.get(key, (ignoredKey, executor) -> created);
+        if (result == created) {
+            try {
+                ClaimProcessingResponse response = computation.get();
+                created.complete(new RoutedResponse(response, rulesVersion));
+                if (response.isPartial()) {
+                    // Served to the callers waiting now, but a later attempt may read the whole document.
+                    cache.asMap().remove(key, created);
+                }
+            } catch (RejectedDocumentException ex) {
+                rejections.put(key, ex.getMessage());
+                created.completeExceptionally(ex);
+            } catch (RuntimeException | Error ex) {
+                created.completeExceptionally(ex);
+            }
+        }
+        return current(key, result, join(result));
+    }
+
+    public Optional<ClaimProcessingResponse> find(String key) {
+        CompletableFuture<RoutedResponse> result = cache.getIfPresent(key);
+        if (result == null || !result.isDone() || result.isCompletedExceptionally()) {
+            return Optional.empty();
+        }
+        return Optional.of(current(key, result, result.join()));
+    }
+
+    /**
+     * The response of {@code routed}, routed again and stored in its place when the rules changed since it was routed.
+     * Partial responses, which are not kept, are returned as they are.
+     */
+    private ClaimProcessingResponse current(
+            String key, CompletableFuture<RoutedResponse> result, RoutedResponse routed) {
+        long rulesVersion = routingService.rulesVersion();
+        ClaimProcessingResponse response = routed.response();
+        if (routed.rulesVersion() == rulesVersion || response.isPartial()) {
+            return response;
+        }
+        RouteDecision decision = routingService.determineRoute(response.getExtractedFields(), response.getMissingFields());
+        ClaimProcessingResponse rerouted = new ClaimProcessingResponse(
+                response.getExtractedFields(), response.getMissingFields(), decision.route(), decision.reasoning(), false);
+        cache.asMap().replace(key, result, CompletableFuture.completedFuture(new RoutedResponse(rerouted, rulesVersion)));
+        return rerouted;
+    }
+
+    private RoutedResponse join(CompletableFuture<RoutedResponse> result) {
+        try {
+            return result.get();
+        } catch (ExecutionException ex) {
+            throw rethrowable(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(ex);
+        }
+    }
+
+    private static RuntimeException rethrowable(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new CompletionException(cause);
+    }
+
+    private record RoutedResponse(ClaimProcessingResponse response, long rulesVersion) {
+    }
+}
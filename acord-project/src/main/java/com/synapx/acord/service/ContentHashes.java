@@ -0,0 +1,70 @@
+package com.synapx.acord.service;
+
+import com.synapx.acord.exception.BadRequestException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Hex SHA-256 identities of claim documents: the raw bytes of an uploaded PDF, or the normalized text of a text
+ * claim, so the same text with different line endings hashes alike. Each is prefixed with the kind of input,
+ * {@code pdf:} or {@code text:}, so that the results of a PDF and of a text with the same bytes are kept apart and a
+ * lookup by hash names one of them.
+ */
+public final class ContentHashes {
+
+    private static final int DIGEST_BUFFER_SIZE = 8192;
+    private static final String PDF_PREFIX = "pdf:";
+    private static final String TEXT_PREFIX = "text:";
+
+    private ContentHashes() {
+    }
+
+    public static String pdf(MultipartFile file) {
+        MessageDigest digest = sha256();
+        try (InputStream inputStream = file.getInputStream()) {
+            byte[] buffer = new byte[DIGEST_BUFFER_SIZE];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (IOException ex) {
+            throw new BadRequestException("Invalid PDF input. Please upload a valid PDF document.");
+        }
+        return PDF_PREFIX + HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Wraps {@code inputStream} so that {@link #pdf(DigestInputStream)} gives the hash of the bytes read through it,
+     * for callers that read an upload anyway.
+     */
+    static DigestInputStream digesting(InputStream inputStream) {
+        return new DigestInputStream(inputStream, sha256());
+    }
+
+    /**
+     * Hash of the bytes read through a stream from {@link #digesting(InputStream)}; same as {@link #pdf(MultipartFile)}
+     * when the whole upload was read.
+     */
+    static String pdf(DigestInputStream consumed) {
+        return PDF_PREFIX + HexFormat.of().formatHex(consumed.getMessageDigest().digest());
+    }
+
+    public static String text(String text) {
+        byte[] normalized = FieldExtractorService.normalizeText(text).getBytes(StandardCharsets.UTF_8);
+        return TEXT_PREFIX + HexFormat.of().formatHex(sha256().digest(normalized));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
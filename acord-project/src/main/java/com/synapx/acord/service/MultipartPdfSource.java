@@ -0,0 +1,45 @@
+package com.synapx.acord.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * An upload as a {@link PdfSource}. A {@link SpooledMultipartFile} exposes its file, so it is read in place.
+ */
+final class MultipartPdfSource implements PdfSource {
+
+    private final MultipartFile file;
+
+    private MultipartPdfSource(MultipartFile file) {
+        this.file = file;
+    }
+
+    /**
+     * @return null for a null file, which the extractor refuses like an empty one
+     */
+    static PdfSource of(MultipartFile file) {
+        return file != null ? new MultipartPdfSource(file) : null;
+    }
+
+    @Override
+    public long size() {
+        return file.getSize();
+    }
+
+    @Override
+    public String contentType() {
+        return file.getContentType();
+    }
+
+    @Override
+    public InputStream openStream() throws IOException {
+        return file.getInputStream();
+    }
+
+    @Override
+    public Path path() {
+        return file instanceof SpooledMultipartFile spooled ? spooled.path() : null;
+    }
+}
@@ -0,0 +1,147 @@
+package com.synapx.acord.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.synapx.acord.exception.BadRequestException;
+import com.synapx.acord.exception.ProcessingTimeoutException;
+import com.synapx.acord.model.ClaimFields;
+import com.synapx.acord.model.ErrorResponse;
+import com.synapx.acord.model.ProcessTextRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+@Slf4j
+@Service
+public class NdjsonClaimStreamService {
+
+    private static final String MALFORMED_RECORD_MESSAGE =
+            "Malformed JSON record. Provide one {\"text\":\"...\"} object per line.";
+
+    private static final String MALFORMED_FIELDS_MESSAGE =
+            "Malformed JSON record. Provide one ClaimFields object per line.";
+
+    private static final String UNEXPECTED_ERROR_MESSAGE = "Unexpected server error while processing the claim.";
+
+    private final ClaimProcessingService claimProcessingService;
+    private final ObjectMapper objectMapper;
+    private final int maxRecordChars;
+
+    /**
+     * @param maxRecordChars longest input line accepted as a record; a longer one is skipped with an error line
+     */
+    public NdjsonClaimStreamService(
+            ClaimProcessingService claimProcessingService,
+            ObjectMapper objectMapper,
+            @Value("${acord.stream.maxRecordChars:1048576}") int maxRecordChars) {
+        this.claimProcessingService = claimProcessingService;
+        this.objectMapper = objectMapper;
+        this.maxRecordChars = maxRecordChars;
+    }
+
+    /**
+     * Processes newline-delimited {@link ProcessTextRequest} records one at a time. Every non-blank input line yields
+     * exactly one output line, either a {@code ClaimProcessingResponse} or an {@link ErrorResponse}, flushed before the
+     * next record is read. Only the current record, of at most {@code acord.stream.maxRecordChars} characters, is held
+     * in memory, and a slow reader on either side throttles the other through the socket buffers.
+     *
+     * @return number of records processed
+     */
+    public long process(InputStream input, OutputStream output) throws IOException {
+        NdjsonLineReader reader =
+                new NdjsonLineReader(new InputStreamReader(input, StandardCharsets.UTF_8), maxRecordChars, 8_192);
+        long records = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!StringUtils.hasText(line)) {
+                continue;
+            }
+            Object response = reader.isTooLong() ? recordTooLong() : processRecord(line);
+            output.write(objectMapper.writeValueAsBytes(response));
+            output.write('\n');
+            output.flush();
+            records++;
+        }
+        return records;
+    }
+
+    /**
+     * Re-routes newline-delimited {@link ClaimFields} records, for example stored claims after the routing rules
+     * changed. Every non-blank input line yields exactly one output line, a {@code ClaimProcessingResponse} or an
+     * {@link ErrorResponse}. Routing costs far less than writing a line to the client, so responses are buffered and
+     * flushed whenever the input has no more data buffered, rather than after every record.
+     *
+     * @return number of records re-routed
+     */
+    public long reroute(InputStream input, OutputStream output) throws IOException {
+        NdjsonLineReader reader =
+                new NdjsonLineReader(new InputStreamReader(input, StandardCharsets.UTF_8), maxRecordChars, 65_536);
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long records = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!StringUtils.hasText(line)) {
+                    continue;
+                }
+                writer.writeValue(generator, reader.isTooLong() ? recordTooLong() : rerouteRecord(line));
+                generator.writeRaw('\n');
+                records++;
+                if (!reader.ready()) {
+                    generator.flush();
+                }
+            }
+        }
+        return records;
+    }
+
+    private ErrorResponse recordTooLong() {
+        return new ErrorResponse("Record too long. A record may have at most " + maxRecordChars + " characters.");
+    }
+
+    private Object rerouteRecord(String line) {
+        ClaimFields fields;
+        try {
+            fields = objectMapper.readValue(line, ClaimFields.class);
+        } catch (JsonProcessingException ex) {
+            return new ErrorResponse(MALFORMED_FIELDS_MESSAGE);
+        }
+        if (fields == null) {
+            return new ErrorResponse(MALFORMED_FIELDS_MESSAGE);
+        }
+        try {
+            return claimProcessingService.reroute(fields);
+        } catch (RuntimeException ex) {
+            log.error("Re-routing an NDJSON record failed", ex);
+            return new ErrorResponse(UNEXPECTED_ERROR_MESSAGE);
+        }
+    }
+
+    private Object processRecord(String line) {
+        ProcessTextRequest request;
+        try {
+            request = objectMapper.readValue(line, ProcessTextRequest.class);
+        } catch (JsonProcessingException ex) {
+            return new ErrorResponse(MALFORMED_RECORD_MESSAGE);
+        }
+        try {
+            return claimProcessingService.processText(request == null ? null : request.getText());
+        } catch (BadRequestException | ProcessingTimeoutException ex) {
+            return new ErrorResponse(ex.getMessage());
+        } catch (RuntimeException ex) {
+            log.error("Processing an NDJSON record failed", ex);
+            return new ErrorResponse(UNEXPECTED_ERROR_MESSAGE);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.synapx.acord.service;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads newline-delimited records with a bound on their length, so that a client cannot make the server hold an
+ * unbounded line. The characters of a longer line are read to its end and dropped, and the line is reported as
+ * {@linkplain #isTooLong() too long}. Lines end at {@code \n}; a {@code \r} before it is removed.
+ */
+final class NdjsonLineReader {
+
+    private final Reader reader;
+    private final int maxLineChars;
+    private final char[] buffer;
+    private final StringBuilder line = new StringBuilder();
+    private int position;
+    private int limit;
+    private boolean tooLong;
+
+    NdjsonLineReader(Reader reader, int maxLineChars, int bufferChars) {
+        this.reader = reader;
+        this.maxLineChars = maxLineChars;
+        this.buffer = new char[bufferChars];
+    }
+
+    /**
+     * The next line without its terminator, or null at the end of the input. A line over the limit is returned cut
+     * to the limit.
+     */
+    String readLine() throws IOException {
+        line.setLength(0);
+        tooLong = false;
+        boolean read = false;
+        while (true) {
+            if (position == limit) {
+                limit = reader.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return read ? finishLine() : null;
+                }
+            }
+            read = true;
+            int start = position;
+            while (position < limit && buffer[position] != '\n') {
+                position++;
+            }
+            append(start, position);
+            if (position < limit) {
+                position++;
+                return finishLine();
+            }
+        }
+    }
+
+    /**
+     * Whether the line last returned by {@link #readLine()} was longer than the limit.
+     */
+    boolean isTooLong() {
+        return tooLong;
+    }
+
+    /**
+     * Whether more input can be read without blocking.
+     */
+    boolean ready() throws IOException {
+        return position < limit || reader.ready();
+    }
+
+    private void append(int start, int end) {
+        int room = maxLineChars + 1 - line.length();
+        if (room > 0) {
+            line.append(buffer, start, Math.min(end - start, room));
+        }
+    }
+
+    private String finishLine() {
+        int length = line.length();
+        if (length > 0 && line.charAt(length - 1) == '\r') {
+            line.setLength(--length);
+        }
+        if (length > maxLineChars) {
+            tooLong = true;
+            line.setLength(maxLineChars);
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,48 @@
+package com.synapx.acord.service;
+
+import com.synapx.acord.exception.BadRequestException;
+import com.synapx.acord.exception.PayloadTooLargeException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+/**
+ * Streams raw {@code application/pdf} request bodies to disk, bypassing multipart parsing and its size limits.
+ */
+@Service
+public class PdfUploadSpooler {
+
+    private final Path spoolDirectory;
+    private final long maxBytes;
+
+    /**
+     * @param spoolDir where request bodies are written while they are processed
+     * @param maxBytes largest accepted body
+     */
+    public PdfUploadSpooler(
+            @Value("${acord.upload.spoolDir:${java.io.tmpdir}}") String spoolDir,
+            @Value("${acord.upload.maxBytes:536870912}") long maxBytes) {
+        this.spoolDirectory = Paths.get(spoolDir);
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Copies a request body to a spool file, which the caller deletes once done with it.
+     *
+     * @param contentLength declared body length, or -1 when unknown; a body declared too large is refused unread
+     */
+    public SpooledMultipartFile spool(InputStream body, long contentLength) {
+        if (contentLength > maxBytes) {
+            throw new PayloadTooLargeException(maxBytes);
+        }
+        try {
+            return SpooledMultipartFile.spool(body, spoolDirectory, "body", null, MediaType.APPLICATION_PDF_VALUE, maxBytes);
+        } catch (IOException ex) {
+            throw new BadRequestException("PDF upload could not be read. Send the PDF bytes as the request body.");
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.synapx.acord.service;
+
+import com.synapx.acord.exception.PayloadTooLargeException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Upload copied to a file owned by the application, so it can be processed after the request that carried it has
+ * completed and the container has removed its own copy, and so {@link PdfDocumentLoader} can read it in place. The
+ * {@link ContentHashes#pdf(MultipartFile) content hash} is computed while copying. The owner deletes it with
+ * {@link #delete()}.
+ */
+public final class SpooledMultipartFile implements MultipartFile {
+
+    private static final int COPY_BUFFER_SIZE = 65_536;
+
+    private final Path path;
+    private final String name;
+    private final String originalFilename;
+    private final String contentType;
+    private final long size;
+    private final String contentHash;
+
+    private SpooledMultipartFile(
+            Path path, String name, String originalFilename, String contentType, long size, String contentHash) {
+        this.path = path;
+        this.name = name;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.size = size;
+        this.contentHash = contentHash;
+    }
+
+    /**
+     * Copies {@code file} to a new file in {@code directory}.
+     */
+    public static SpooledMultipartFile spool(MultipartFile file, Path directory) throws IOException {
+        try (InputStream inputStream = file.getInputStream()) {
+            return spool(inputStream, directory, file.getName(), file.getOriginalFilename(), file.getContentType(),
+                    Long.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Copies a request body to a new file in {@code directory}, reading it in small chunks so that no more than a
+     * buffer of it is on the heap at a time.
+     *
+     * @throws PayloadTooLargeException when the body has more than {@code maxBytes} bytes; nothing is kept
+     */
+    public static SpooledMultipartFile spool(
+            InputStream body, Path directory, String name, String originalFilename, String contentType, long maxBytes)
+            throws IOException {
+        Files.createDirectories(directory);
+        Path path = Files.createTempFile(directory, "acord-upload-", ".pdf");
+        try (OutputStream outputStream = Files.newOutputStream(path)) {
+            DigestInputStream digesting = ContentHashes.digesting(body);
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            long size = 0;
+            int read;
+            while ((read = digesting.read(buffer)) != -1) {
+                size += read;
+                if (size > maxBytes) {
+                    throw new PayloadTooLargeException(maxBytes);
+                }
+                outputStream.write(buffer, 0, read);
+            }
+            return new SpooledMultipartFile(
+                    path, name, originalFilename, contentType, size, ContentHashes.pdf(digesting));
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(path);
+            throw ex;
+        }
+    }
+
+    /**
+     * {@link ContentHashes#pdf(MultipartFile)} of the spooled bytes.
+     */
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    public void delete() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // Left for the temp directory cleanup of the host.
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
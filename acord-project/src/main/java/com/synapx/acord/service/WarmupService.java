@@ -0,0 +1,172 @@
+package com.synapx.acord.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synapx.acord.model.ClaimProcessingResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.FontMappers;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * Runs the built-in {@code sample-claim.txt} through the pipeline before the application takes traffic.
+ *
+ * <p>The first claim on a fresh JVM otherwise pays for PDFBox building its system font cache, for loading the parsing
+ * and extraction classes, and for Jackson building the {@link ClaimProcessingResponse} serializer. Spring Boot reports
+ * readiness only after all {@link ApplicationRunner}s have returned, so {@code /actuator/health/readiness} stays down
+ * until the warm-up is done. The sample is processed as a spooled PDF and as text, but neither cached nor journaled;
+ * it does show up in the claim metrics. A failed warm-up is logged and does not stop the application.
+ *
+ * <p>PDFBox keeps its font cache in {@code .pdfbox.cache} under {@code pdfbox.fontcache}, or the user's home
+ * directory. {@code acord.warmup.fontCacheDir} points it at a directory that outlives the container, such as a volume
+ * or a directory baked into the image, so that later starts load the cache instead of scanning the system fonts.
+ */
+@Slf4j
+@Service
+public class WarmupService implements ApplicationRunner {
+
+    private static final String SAMPLE_CLAIM = "/sample-claim.txt";
+    private static final String FONT_CACHE_PROPERTY = "pdfbox.fontcache";
+
+    private final ClaimProcessingService claimProcessingService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationContext applicationContext;
+    private final boolean enabled;
+    private final int iterations;
+    private final boolean exitWhenDone;
+    private final Path spoolDirectory;
+
+    /**
+     * @param iterations   times the sample is processed; more iterations let the JIT compile more of the pipeline
+     * @param fontCacheDir directory of the PDFBox font cache; blank keeps the PDFBox default
+     * @param exitWhenDone exit once warmed up; for the AppCDS training run
+     */
+    public WarmupService(
+            ClaimProcessingService claimProcessingService,
+            ObjectMapper objectMapper,
+            ApplicationContext applicationContext,
+            @Value("${acord.warmup.enabled:true}") boolean enabled,
+            @Value("${acord.warmup.iterations:10}") int iterations,
+            @Value("${acord.warmup.fontCacheDir:}") String fontCacheDir,
+            @Value("${acord.warmup.exitWhenDone:false}") boolean exitWhenDone,
+            @Value("${acord.upload.spoolDir:${java.io.tmpdir}}") String spoolDir) {
+        this.claimProcessingService = claimProcessingService;
+        this.objectMapper = objectMapper;
+        this.applicationContext = applicationContext;
+        this.enabled = enabled;
+        this.iterations = Math.max(1, iterations);
+        this.exitWhenDone = exitWhenDone;
+        this.spoolDirectory = Paths.get(spoolDir);
+        // Read once, when PDFBox first maps a font; no request has been served before this bean is created.
+        if (StringUtils.hasText(fontCacheDir) && System.getProperty(FONT_CACHE_PROPERTY) == null) {
+            System.setProperty(FONT_CACHE_PROPERTY, fontCacheDir);
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            try {
+                warmUp();
+            } catch (RuntimeException ex) {
+                log.warn("Warm-up failed; the first claims may be slow: {}", ex.getMessage(), ex);
+            }
+        }
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(applicationContext));
+        }
+    }
+
+    /**
+     * Loads the font cache and processes the sample claim {@code iterations} times.
+     */
+    public void warmUp() {
+        long start = System.nanoTime();
+        FontMappers.instance().getFontBoxFont(PDType1Font.HELVETICA.getName(), null);
+        long fontsDone = System.nanoTime();
+
+        String text = sampleClaim();
+        byte[] pdf = render(text);
+        for (int i = 0; i < iterations; i++) {
+            serialize(processPdf(pdf));
+            serialize(claimProcessingService.evaluateText(text));
+        }
+        long done = System.nanoTime();
+        log.info("Warm-up done in {} ms (fonts {} ms, {} sample claims {} ms)",
+                (done - start) / 1_000_000, (fontsDone - start) / 1_000_000, iterations, (done - fontsDone) / 1_000_000);
+    }
+
+    private ClaimProcessingResponse processPdf(byte[] pdf) {
+        SpooledMultipartFile file;
+        try {
+            file = SpooledMultipartFile.spool(new ByteArrayInputStream(pdf), spoolDirectory, "file", "sample-claim.pdf",
+                    MediaType.APPLICATION_PDF_VALUE, Long.MAX_VALUE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot spool the sample claim to " + spoolDirectory, ex);
+        }
+        try {
+            return claimProcessingService.evaluatePdf(file);
+        } finally {
+            file.delete();
+        }
+    }
+
+    private void serialize(ClaimProcessingResponse response) {
+        try {
+            objectMapper.writeValueAsBytes(response);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String sampleClaim() {
+        try (InputStream inputStream = WarmupService.class.getResourceAsStream(SAMPLE_CLAIM)) {
+            if (inputStream == null) {
+                throw new IllegalStateException("Built-in sample claim " + SAMPLE_CLAIM + " is missing.");
+            }
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read built-in sample claim " + SAMPLE_CLAIM, ex);
+        }
+    }
+
+    private static byte[] render(String text) {
+        try (PDDocument document = new PDDocument();
+             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                contentStream.beginText();
+                contentStream.setFont(PDType1Font.HELVETICA, 10);
+                contentStream.setLeading(14);
+                contentStream.newLineAtOffset(50, 740);
+                for (String line : text.split("\n")) {
+                    contentStream.showText(line);
+                    contentStream.newLine();
+                }
+                contentStream.endText();
+            }
+            document.save(outputStream);
+            return outputStream.toByteArray();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot render the sample claim", ex);
+        }
+    }
+}
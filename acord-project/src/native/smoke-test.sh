@@ -0,0 +1,77 @@
+#!/usr/bin/env bash
+# Starts the service with the given command and checks it end to end against the files in smoke/.
+#
+#   acord-project/src/native/smoke-test.sh acord-project/target/acord-project
+#   acord-project/src/native/smoke-test.sh java -jar acord-project/target/acord-project-0.0.1-SNAPSHOT.jar
+#
+# Prints the time to readiness and the resident memory after the checks; exits non-zero on the first failure.
+set -euo pipefail
+
+if [ "$#" -eq 0 ]; then
+    echo "usage: $0 <command that starts the service>" >&2
+    exit 2
+fi
+
+samples="$(cd "$(dirname "$0")/smoke" && pwd)"
+port="${SMOKE_PORT:-18085}"
+base="http://localhost:${port}/acord"
+work="$(mktemp -d)"
+log="${work}/service.log"
+
+start=$(date +%s%N)
+"$@" --server.port="${port}" --acord.journal.dir="${work}/journal" --acord.upload.spoolDir="${work}/spool" \
+    >"${log}" 2>&1 &
+pid=$!
+
+cleanup() {
+    kill "${pid}" 2>/dev/null || true
+    wait "${pid}" 2>/dev/null || true
+    rm -rf "${work}"
+}
+trap cleanup EXIT
+
+fail() {
+    echo "FAIL: $*" >&2
+    echo "--- service log ---" >&2
+    tail -n 50 "${log}" >&2
+    exit 1
+}
+
+for _ in $(seq 1 600); do
+    if [ "$(curl -s -o /dev/null -w '%{http_code}' "${base}/actuator/health/readiness")" = "200" ]; then
+        break
+    fi
+    kill -0 "${pid}" 2>/dev/null || fail "service exited before it became ready"
+    sleep 0.1
+done
+ready=$(( ($(date +%s%N) - start) / 1000000 ))
+[ "$(curl -s -o /dev/null -w '%{http_code}' "${base}/actuator/health/readiness")" = "200" ] \
+    || fail "service not ready after 60 s"
+
+# expect <name> <status> <body pattern> <curl arguments...>
+expect() {
+    local name="$1" status="$2" pattern="$3"
+    shift 3
+    local body="${work}/body" code
+    code=$(curl -s -o "${body}" -w '%{http_code}' "$@")
+    [ "${code}" = "${status}" ] || fail "${name}: expected ${status}, got ${code}: $(head -c 500 "${body}")"
+    grep -q -- "${pattern}" "${body}" || fail "${name}: response does not match ${pattern}: $(head -c 500 "${body}")"
+    echo "ok   ${name}"
+}
+
+expect "flat PDF upload" 200 '"policyNumber":"PL-' \
+    -F "file=@${samples}/claim.pdf;type=application/pdf" "${base}/claims/process"
+expect "fillable PDF upload" 200 '"policyNumber":"PL-' \
+    -F "file=@${samples}/fillable.pdf;type=application/pdf" "${base}/claims/process"
+expect "raw PDF body" 200 '"recommendedRoute"' \
+    -H "Content-Type: application/pdf" --data-binary "@${samples}/claim.pdf" "${base}/claims/process"
+expect "text" 200 '"policyNumber":"PL-' \
+    -H "Content-Type: application/json" --data-binary "@${samples}/claim.json" "${base}/claims/process-text"
+expect "image-only PDF" 400 'scanned/image-only' \
+    -F "file=@${samples}/scanned.pdf;type=application/pdf" "${base}/claims/process"
+expect "routing rules" 200 '"rules"' "${base}/claims/routing-rules"
+expect "OpenAPI document" 200 '"bearerAuth"' "${base}/v3/api-docs"
+expect "metrics" 200 'acord_claim_outcome' "${base}/actuator/prometheus"
+
+rss=$(awk '/VmRSS/ {print $2}' "/proc/${pid}/status" 2>/dev/null || echo "?")
+echo "ready in ${ready} ms, RSS ${rss} kB"
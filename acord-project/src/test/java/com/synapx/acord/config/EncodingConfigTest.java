@@ -0,0 +1,56 @@
+package com.synapx.acord.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synapx.acord.model.BatchItemResult;
+import com.synapx.acord.model.ClaimFields;
+import com.synapx.acord.model.ClaimProcessingResponse;
+import com.synapx.acord.model.RouteType;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+class EncodingConfigTest {
+
+    private final EncodingConfig encodingConfig = new EncodingConfig();
+    private final ObjectMapper json = new Jackson2ObjectMapperBuilder().build();
+    private final ObjectMapper cbor =
+            encodingConfig.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+    private final ObjectMapper smile =
+            encodingConfig.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+
+    @Test
+    void binaryEncodingsRoundTripBatchResponsesInFewerBytesThanJson() throws IOException {
+        List<BatchItemResult> batch = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            batch.add(BatchItemResult.success(i, response("PL-" + (100000 + i))));
+        }
+        batch.add(BatchItemResult.failure(50, "Text is empty. Provide a non-empty claim document text."));
+        TypeReference<List<BatchItemResult>> type = new TypeReference<>() {
+        };
+
+        byte[] jsonBytes = json.writeValueAsBytes(batch);
+        byte[] cborBytes = cbor.writeValueAsBytes(batch);
+        byte[] smileBytes = smile.writeValueAsBytes(batch);
+
+        assertThat(cbor.readValue(cborBytes, type)).isEqualTo(batch);
+        assertThat(smile.readValue(smileBytes, type)).isEqualTo(batch);
+        assertThat(cborBytes.length).isLessThan(jsonBytes.length);
+        assertThat(smileBytes.length).isLessThan(cborBytes.length);
+    }
+
+    private static ClaimProcessingResponse response(String policyNumber) {
+        ClaimFields fields = new ClaimFields();
+        fields.setPolicyNumber(policyNumber);
+        fields.setDateOfLoss("01/15/2026");
+        fields.setDescriptionOfAccident("Rear-end collision at a stoplight with damage to the bumper and trunk lid.");
+        fields.setEstimateAmount(4250);
+        fields.setInsuredName("John Doe");
+        return new ClaimProcessingResponse(fields, List.of("driverName", "ownerName"), RouteType.MANUAL_REVIEW,
+                "Mandatory fields are missing: driverName, ownerName", false);
+    }
+}
@@ -0,0 +1,27 @@
+package com.synapx.acord.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+class NativeConfigTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    void registersResourcesLoadedByName() {
+        new NativeConfig.ResourceHints().registerHints(hints, getClass().getClassLoader());
+
+        assertThat(RuntimeHintsPredicates.resource().forResource("org/apache/pdfbox/resources/glyphlist/glyphlist.txt"))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("org/apache/pdfbox/resources/afm/Helvetica.afm"))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("org/apache/fontbox/cmap/Identity-H"))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("routing-rules.json")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("sample-claim.txt")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(SwaggerConfig.class)).accepts(hints);
+    }
+}
@@ -0,0 +1,168 @@
+package com.synapx.acord.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.synapx.acord.model.ClaimFields;
+import com.synapx.acord.model.ClaimProcessingResponse;
+import com.synapx.acord.model.RouteType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationWidget;
+import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
+import org.apache.pdfbox.pdmodel.interactive.form.PDCheckBox;
+import org.apache.pdfbox.pdmodel.interactive.form.PDField;
+import org.apache.pdfbox.pdmodel.interactive.form.PDTextField;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+class AcroFormFieldReaderTest {
+
+    private final AcroFormFieldReader acroFormFieldReader = new AcroFormFieldReader();
+    private final AcordExtractor acordExtractor = TestPipelines.extractor(new SimpleMeterRegistry());
+    private final ClaimProcessingService claimProcessingService = TestPipelines.claimProcessingService(acordExtractor);
+
+    @AfterEach
+    void shutDownPool() {
+        acordExtractor.close();
+    }
+
+    @Test
+    void mapsAcordAndLabelStyleFieldNames() throws IOException {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Policy_PolicyNumberIdentifier_A", "PL-778899");
+        values.put("Date of Loss", "3/7/26");
+        values.put("NamedInsured_FullName_A", "Jane Roe");
+        values.put("Unrelated_Remarks_A", "Not a claim field");
+
+        try (PDDocument document = PDDocument.load(createFillablePdfBytes(values, false))) {
+            Map<ExtractionLabel, String> read = acroFormFieldReader.read(document).orElseThrow();
+
+            assertThat(read).containsOnly(
+                    Map.entry(ExtractionLabel.POLICY_NUMBER, "PL-778899"),
+                    Map.entry(ExtractionLabel.DATE_OF_LOSS, "3/7/26"),
+                    Map.entry(ExtractionLabel.INSURED_NAME, "Jane Roe"));
+        }
+    }
+
+    @Test
+    void returnsEmptyForFlatDocumentsAndUnfilledForms() throws IOException {
+        try (PDDocument flat = new PDDocument();
+             PDDocument unfilled = PDDocument.load(createFillablePdfBytes(Map.of("Policy_PolicyNumberIdentifier_A", ""), false))) {
+            flat.addPage(new PDPage());
+
+            assertThat(acroFormFieldReader.read(flat)).isEmpty();
+            assertThat(acroFormFieldReader.read(unfilled)).isEmpty();
+        }
+    }
+
+    @Test
+    void processesFillablePdfWithoutPageTextFromItsFormFields() throws IOException {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("Policy_PolicyNumberIdentifier_A", "PL-778899");
+        values.put("Loss_IncidentDate_A", "03/07/2026");
+        values.put("Loss_IncidentTime_A", "4:15 PM");
+        values.put("Loss_LocationDescription_A", "500 Elm Ave, Denver, CO 80202");
+        values.put("Loss_IncidentDescription_A", "Sideswiped while parked.\nMirror and door damaged.");
+        values.put("Loss_EstimatedAmount_A", "$3,250.00");
+        values.put("NamedInsured_FullName_A", "Jane Roe");
+        values.put("Driver_FullName_A", "Jane Roe");
+        values.put("VehicleOwner_FullName_A", "Jane Roe");
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "fillable.pdf", "application/pdf", createFillablePdfBytes(values, true));
+
+        ClaimProcessingResponse response = claimProcessingService.processPdf(file);
+
+        ClaimFields fields = response.getExtractedFields();
+        assertThat(fields.getPolicyNumber()).isEqualTo("PL-778899");
+        assertThat(fields.getDateOfLoss()).isEqualTo("03/07/2026");
+        assertThat(fields.getTimeOfLoss()).isEqualTo("4:15 PM");
+        assertThat(fields.getDescriptionOfAccident()).isEqualTo("Sideswiped while parked. Mirror and door damaged.");
+        assertThat(fields.getEstimateAmount()).isEqualTo(3250);
+        assertThat(fields.getInjuryPresent()).isTrue();
+        assertThat(response.getRecommendedRoute()).isEqualTo(RouteType.SPECIALIST_QUEUE);
+    }
+
+    @Test
+    void takesFieldsMissingFromPartlyFilledFormFromItsText() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "partly-filled.pdf", "application/pdf",
+                createFillablePdfBytes(Map.of("Policy_PolicyNumberIdentifier_A", "PL-778899"), false,
+                        "POLICY NUMBER: PL-FROM-TEXT",
+                        "DATE OF LOSS: 03/07/2026",
+                        "LOCATION OF LOSS: 500 Elm Ave, Denver, CO 80202",
+                        "DESCRIPTION OF ACCIDENT: Sideswiped while parked.",
+                        "ESTIMATE AMOUNT: $3,250.00",
+                        "CLAIM TYPE: Property"));
+
+        ClaimProcessingResponse response = claimProcessingService.processPdf(file);
+
+        ClaimFields fields = response.getExtractedFields();
+        assertThat(fields.getPolicyNumber()).isEqualTo("PL-778899");
+        assertThat(fields.getDateOfLoss()).isEqualTo("03/07/2026");
+        assertThat(fields.getLocationOfLoss()).isEqualTo("500 Elm Ave, Denver, CO 80202");
+        assertThat(fields.getEstimateAmount()).isEqualTo(3250);
+        assertThat(response.getMissingFields()).isEmpty();
+    }
+
+    private static byte[] createFillablePdfBytes(Map<String, String> values, boolean injuryChecked, String... pageLines)
+            throws IOException {
+        try (PDDocument document = new PDDocument();
+             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                contentStream.beginText();
+                contentStream.setFont(PDType1Font.HELVETICA, 10);
+                contentStream.setLeading(14);
+                contentStream.newLineAtOffset(50, 300);
+                for (String line : pageLines) {
+                    contentStream.showText(line);
+                    contentStream.newLine();
+                }
+                contentStream.endText();
+            }
+            PDAcroForm acroForm = new PDAcroForm(document);
+            document.getDocumentCatalog().setAcroForm(acroForm);
+            PDResources resources = new PDResources();
+            resources.put(COSName.getPDFName("Helv"), PDType1Font.HELVETICA);
+            acroForm.setDefaultResources(resources);
+            acroForm.setDefaultAppearance("/Helv 10 Tf 0 g");
+
+            int row = 0;
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                PDTextField field = new PDTextField(acroForm);
+                field.setMultiline(true);
+                addField(acroForm, page, field, entry.getKey(), row++);
+                field.setValue(entry.getValue());
+            }
+            PDCheckBox injury = new PDCheckBox(acroForm);
+            addField(acroForm, page, injury, "Injury_Indicator_A", row);
+            if (injuryChecked) {
+                injury.getWidgets().get(0).setAppearanceState("Yes");
+                injury.getCOSObject().setName(COSName.V, "Yes");
+            }
+
+            document.save(outputStream);
+            return outputStream.toByteArray();
+        }
+    }
+
+    private static void addField(PDAcroForm acroForm, PDPage page, PDField field, String name, int row) throws IOException {
+        field.setPartialName(name);
+        PDAnnotationWidget widget = field.getWidgets().get(0);
+        widget.setRectangle(new PDRectangle(50, 700 - 30 * row, 300, 24));
+        widget.setPage(page);
+        page.getAnnotations().add(widget);
+        acroForm.getFields().add(field);
+    }
+}
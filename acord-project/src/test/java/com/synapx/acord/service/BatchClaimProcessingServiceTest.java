@@ -0,0 +1,138 @@
+package com.synapx.acord.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.synapx.acord.exception.BadRequestException;
+import com.synapx.acord.exception.ProcessingTimeoutException;
+import com.synapx.acord.model.BatchItemResult;
+import com.synapx.acord.model.BundleItemResult;
+import com.synapx.acord.model.ClaimProcessingResponse;
+import com.synapx.acord.model.ProcessTextRequest;
+import com.synapx.acord.model.RouteType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+class BatchClaimProcessingServiceTest {
+
+    private final AcordExtractor acordExtractor = TestPipelines.extractor(new SimpleMeterRegistry());
+    private final BatchClaimProcessingService batchClaimProcessingService =
+            new BatchClaimProcessingService(TestPipelines.claimProcessingService(acordExtractor), 2, 1, 10);
+
+    @AfterEach
+    void shutDownPool() {
+        batchClaimProcessingService.shutdown();
+        acordExtractor.close();
+    }
+
+    @Test
+    void returnsResultsInInputOrderWithPerItemErrors() {
+        List<ProcessTextRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            requests.add(new ProcessTextRequest("POLICY NUMBER: PL-" + i + "\nESTIMATE AMOUNT: $1000"));
+        }
+        requests.set(3, new ProcessTextRequest(" "));
+
+        List<BatchItemResult> results = batchClaimProcessingService.processTexts(requests);
+
+        assertThat(results).extracting(BatchItemResult::index).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(results.get(3).response()).isNull();
+        assertThat(results.get(3).error()).isEqualTo("Text is empty. Provide a non-empty claim document text.");
+        assertThat(results.get(5).error()).isNull();
+        assertThat(results.get(5).response().getExtractedFields().getPolicyNumber()).isEqualTo("PL-5");
+        assertThat(results.get(5).response().getRecommendedRoute()).isEqualTo(RouteType.MANUAL_REVIEW);
+    }
+
+    @Test
+    void reportsTimedOutItemsWithTheTimeoutMessage() {
+        ClaimProcessingService timingOut = new ClaimProcessingService(null, null) {
+            @Override
+            public ClaimProcessingResponse processText(String text) {
+                throw new ProcessingTimeoutException(Duration.ofSeconds(30));
+            }
+        };
+        BatchClaimProcessingService timingOutBatch = new BatchClaimProcessingService(timingOut, 1, 1, 10);
+        try {
+            List<BatchItemResult> results =
+                    timingOutBatch.processTexts(List.of(new ProcessTextRequest("POLICY NUMBER: PL-1")));
+
+            assertThat(results.get(0).error()).isEqualTo(
+                    "Claim document could not be processed within the time limit of 30000 ms. Split the document or"
+                            + " submit it as text.");
+        } finally {
+            timingOutBatch.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsBatchLargerThanConfiguredLimit() {
+        List<ProcessTextRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            requests.add(new ProcessTextRequest("POLICY NUMBER: PL-" + i));
+        }
+
+        BadRequestException exception =
+                assertThrows(BadRequestException.class, () -> batchClaimProcessingService.processTexts(requests));
+
+        assertThat(exception.getMessage())
+                .isEqualTo("Batch too large. At most 10 claim documents are accepted per request.");
+    }
+
+    @Test
+    void splitsBundledPdfIntoClaimsByPolicyNumber() throws IOException {
+        MockMultipartFile bundle = new MockMultipartFile("file", "bundle.pdf", "application/pdf", createPdfBytes(
+                new String[] {
+                        "POLICY NUMBER: PL-1",
+                        "DATE OF LOSS: 01/15/2026",
+                        "LOCATION OF LOSS: 123 Main St, Austin, TX 78701",
+                        "DESCRIPTION OF ACCIDENT: Rear-end collision at a stop light.",
+                        "ESTIMATE AMOUNT: $1200"},
+                new String[] {"Repair notes for the claim above, with photos of the rear bumper attached."},
+                new String[] {"POLICY NUMBER: PL-2", "DESCRIPTION OF ACCIDENT: Possibly staged collision."},
+                new String[] {"POLICY NUMBER: PL-2", "Second page of the same loss notice."},
+                new String[] {"POLICY NUMBER: PL-3", "ESTIMATE AMOUNT: $500"}));
+
+        List<BundleItemResult> results = batchClaimProcessingService.processPdfBundle(bundle);
+
+        assertThat(results).extracting(BundleItemResult::startPage).containsExactly(1, 3, 5);
+        assertThat(results).extracting(BundleItemResult::endPage).containsExactly(2, 4, 5);
+        assertThat(results).extracting(result -> result.response().getExtractedFields().getPolicyNumber())
+                .containsExactly("PL-1", "PL-2", "PL-3");
+        assertThat(results).extracting(result -> result.response().getRecommendedRoute())
+                .containsExactly(RouteType.FAST_TRACK, RouteType.INVESTIGATION_FLAG, RouteType.MANUAL_REVIEW);
+    }
+
+    private static byte[] createPdfBytes(String[]... pageLines) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            for (String[] lines : pageLines) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                    contentStream.beginText();
+                    contentStream.setFont(PDType1Font.HELVETICA, 12);
+                    contentStream.newLineAtOffset(50, 700);
+                    for (String line : lines) {
+                        contentStream.showText(line);
+                        contentStream.newLineAtOffset(0, -16);
+                    }
+                    contentStream.endText();
+                }
+            }
+            try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+                document.save(outputStream);
+                return outputStream.toByteArray();
+            }
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.synapx.acord.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import com.synapx.acord.exception.BadRequestException;
+import com.synapx.acord.exception.ServiceOverloadedException;
+import com.synapx.acord.model.ClaimJob;
+import com.synapx.acord.model.ClaimProcessingResponse;
+import com.synapx.acord.model.JobStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+
+class ClaimJobServiceTest {
+
+    @TempDir
+    Path spoolDir;
+
+    private final AcordExtractor acordExtractor = TestPipelines.extractor(new SimpleMeterRegistry());
+    private final ClaimProcessingService claimProcessingService = TestPipelines.claimProcessingService(acordExtractor);
+
+    private ClaimJobService claimJobService;
+
+    @AfterEach
+    void shutDownPools() {
+        if (claimJobService != null) {
+            claimJobService.shutdown();
+        }
+        acordExtractor.close();
+    }
+
+    @Test
+    void runsTextJobInBackgroundAndKeepsResult() throws InterruptedException {
+        claimJobService = jobService(2, 4, Duration.ofMinutes(5));
+
+        ClaimJob submitted = claimJobService.submitText("POLICY NUMBER: PL-42\nESTIMATE AMOUNT: $1000", null);
+        ClaimJob finished = awaitFinished(submitted.id());
+
+        assertThat(submitted.status()).isIn(JobStatus.QUEUED, JobStatus.RUNNING, JobStatus.SUCCEEDED);
+        assertThat(finished.status()).isEqualTo(JobStatus.SUCCEEDED);
+        assertThat(finished.response().getExtractedFields().getPolicyNumber()).isEqualTo("PL-42");
+        assertThat(finished.error()).isNull();
+    }
+
+    @Test
+    void failedPdfJobCarriesErrorAndSpoolFileIsRemoved() throws Exception {
+        claimJobService = jobService(2, 4, Duration.ofMinutes(5));
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "broken.pdf", "application/pdf", "not-a-real-pdf".getBytes(StandardCharsets.UTF_8));
+
+        ClaimJob finished = awaitFinished(claimJobService.submitPdf(file, null).id());
+
+        assertThat(finished.status()).isEqualTo(JobStatus.FAILED);
+        assertThat(finished.error()).isEqualTo("Invalid PDF input. Please upload a valid PDF document.");
+        try (var spooled = Files.list(spoolDir)) {
+            assertThat(spooled).isEmpty();
+        }
+    }
+
+    @Test
+    void treatsPdfThatCannotBeSpooledAsServerFault() throws IOException {
+        Path notADirectory = Files.writeString(spoolDir.resolve("spool"), "");
+        claimJobService = new ClaimJobService(
+                claimProcessingService, new ObjectMapper(), 1, 4, Duration.ofMinutes(5), 5,
+                List.of("localhost"), notADirectory.toString());
+        MockMultipartFile file = new MockMultipartFile("file", "claim.pdf", "application/pdf", new byte[] {'%'});
+
+        assertThrows(UncheckedIOException.class, () -> claimJobService.submitPdf(file, null));
+        assertThat(claimJobService.trackedJobs()).isZero();
+    }
+
+    @Test
+    void failsJobWhoseProcessingThrowsAnError() throws InterruptedException {
+        ClaimProcessingService failingService = new ClaimProcessingService(null, null) {
+            @Override
+            public ClaimProcessingResponse processText(String text) {
+                throw new OutOfMemoryError("Java heap space");
+            }
+        };
+        claimJobService = new ClaimJobService(
+                failingService, new ObjectMapper(), 1, 4, Duration.ofMinutes(5), 5,
+                List.of("localhost"), spoolDir.toString());
+
+        ClaimJob finished = awaitFinished(claimJobService.submitText("POLICY NUMBER: PL-1", null).id());
+
+        assertThat(finished.status()).isEqualTo(JobStatus.FAILED);
+        assertThat(finished.error()).isEqualTo("Unexpected server error while processing the claim.");
+    }
+
+    @Test
+    void deletesSpooledPdfsOfJobsStillQueuedAtShutdown() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ClaimProcessingService blockingService = new ClaimProcessingService(null, null) {
+            @Override
+            public ClaimProcessingResponse processText(String text) {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return new ClaimProcessingResponse();
+            }
+        };
+        claimJobService = new ClaimJobService(
+                blockingService, new ObjectMapper(), 1, 4, Duration.ofMinutes(5), 5,
+                List.of("localhost"), spoolDir.toString());
+        claimJobService.submitText("POLICY NUMBER: PL-1", null);
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "claim.pdf", "application/pdf", "%PDF-1.4".getBytes(StandardCharsets.UTF_8));
+        claimJobService.submitPdf(file, null);
+        claimJobService.submitPdf(file, null);
+        try (var spooled = Files.list(spoolDir)) {
+            assertThat(spooled).hasSize(2);
+        }
+
+        claimJobService.shutdown();
+        release.countDown();
+
+        try (var spooled = Files.list(spoolDir)) {
+            assertThat(spooled).isEmpty();
+        }
+    }
+
+    @Test
+    void refusesSubmissionsWhenQueueIsFull() {
+        CountDownLatch release = new CountDownLatch(1);
+        ClaimProcessingService blockingService = new ClaimProcessingService(null, null) {
+            @Override
+            public ClaimProcessingResponse processText(String text) {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return claimProcessingService.processText(text);
+            }
+        };
+        claimJobService = new ClaimJobService(
+                blockingService, new ObjectMapper(), 1, 1, Duration.ofMinutes(5), 3,
+                List.of("localhost"), spoolDir.toString());
+
+        int accepted = 0;
+        ServiceOverloadedException exception = null;
+        while (exception == null && accepted < 10) {
+            try {
+                claimJobService.submitText("POLICY NUMBER: PL-" + accepted, null);
+                accepted++;
+            } catch (ServiceOverloadedException ex) {
+                exception = ex;
+            }
+        }
+        release.countDown();
+
+        assertThat(accepted).isBetween(1, 2);
+        assertThat(exception).isNotNull();
+        assertThat(exception.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(exception.getRetryAfterSeconds()).isEqualTo(3);
+    }
+
+    @Test
+    void forgetsFinishedJobsAfterResultTtl() throws InterruptedException {
+        claimJobService = jobService(1, 4, Duration.ofMillis(50));
+
+        String id = awaitFinished(claimJobService.submitText("POLICY NUMBER: PL-7", null).id()).id();
+        Thread.sleep(100);
+        claimJobService.removeExpired();
+
+        assertThat(claimJobService.find(id)).isEmpty();
+        assertThat(claimJobService.trackedJobs()).isZero();
+    }
+
+    @Test
+    void rejectsCallbackOutsideConfiguredHosts() {
+        claimJobService = jobService(1, 4, Duration.ofMinutes(5));
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> claimJobService.submitText("POLICY NUMBER: PL-7", "http://example.com/hook"));
+
+        assertThat(exception.getMessage()).isEqualTo("Invalid callback URL. Use an http(s) URL on one of: localhost.");
+    }
+
+    @Test
+    void postsFinishedJobToCallbackUrl() throws Exception {
+        CompletableFuture<String> delivered = new CompletableFuture<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/hook", exchange -> {
+            delivered.complete(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            claimJobService = jobService(1, 4, Duration.ofMinutes(5));
+
+            ClaimJob submitted = claimJobService.submitText(
+                    "POLICY NUMBER: PL-9", "http://localhost:" + server.getAddress().getPort() + "/hook");
+
+            String body = delivered.get(5, TimeUnit.SECONDS);
+            assertThat(body).contains("\"id\":\"" + submitted.id() + "\"").contains("\"status\":\"SUCCEEDED\"");
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private ClaimJobService jobService(int workers, int queueCapacity, Duration resultTtl) {
+        return new ClaimJobService(
+                claimProcessingService, new ObjectMapper(), workers, queueCapacity, resultTtl, 5,
+                List.of("localhost"), spoolDir.toString());
+    }
+
+    private ClaimJob awaitFinished(String id) throws InterruptedException {
+        for (int attempt = 0; attempt < 500; attempt++) {
+            ClaimJob job = claimJobService.find(id).orElseThrow();
+            if (job.status() == JobStatus.SUCCEEDED || job.status() == JobStatus.FAILED) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Job " + id + " did not finish");
+    }
+}
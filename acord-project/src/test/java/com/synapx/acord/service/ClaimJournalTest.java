@@ -0,0 +1,123 @@
+package com.synapx.acord.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synapx.acord.model.ClaimFields;
+import com.synapx.acord.model.ClaimProcessingResponse;
+import com.synapx.acord.model.JournalEntry;
+import com.synapx.acord.model.RouteType;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ClaimJournalTest {
+
+    @TempDir
+    Path journalDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void looksUpEntriesByPolicyNumberAndContentHash() {
+        ClaimJournal journal = open(1 << 20);
+        try {
+            journal.append("hash-1", response("PL-1", RouteType.FAST_TRACK));
+            journal.append("hash-2", response("pl-1 ", RouteType.MANUAL_REVIEW));
+            journal.append("hash-3", response("PL-2", RouteType.FAST_TRACK));
+
+            assertThat(journal.findByPolicyNumber("PL-1"))
+                    .extracting(JournalEntry::contentHash)
+                    .containsExactly("hash-1", "hash-2");
+            JournalEntry entry = journal.findByContentHash("hash-3").orElseThrow();
+            assertThat(entry.extractedFields().getPolicyNumber()).isEqualTo("PL-2");
+            assertThat(entry.recommendedRoute()).isEqualTo(RouteType.FAST_TRACK);
+            assertThat(entry.processedAt()).isNotNull();
+            assertThat(journal.findByContentHash("missing")).isEmpty();
+        } finally {
+            journal.close();
+        }
+    }
+
+    @Test
+    void rollsOverSegmentsAndRecoversIndexesAfterRestart() {
+        ClaimJournal journal = open(1024);
+        for (int i = 0; i < 40; i++) {
+            journal.append("hash-" + i, response("PL-" + (i % 4), RouteType.FAST_TRACK));
+        }
+        assertThat(journal.segmentCount()).isGreaterThan(1);
+        journal.close();
+
+        ClaimJournal reopened = open(1024);
+        try {
+            assertThat(reopened.findByPolicyNumber("PL-3")).hasSize(10);
+            reopened.append("hash-40", response("PL-0", RouteType.INVESTIGATION_FLAG));
+
+            List<String> replayed = new ArrayList<>();
+            reopened.replay(entry -> replayed.add(entry.contentHash()));
+            assertThat(replayed).hasSize(41).startsWith("hash-0", "hash-1").endsWith("hash-39", "hash-40");
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void stopsRecoveryAtTornRecordAndOverwritesIt() throws IOException {
+        ClaimJournal journal = open(1 << 16);
+        journal.append("hash-1", response("PL-1", RouteType.FAST_TRACK));
+        journal.append("hash-2", response("PL-2", RouteType.FAST_TRACK));
+        journal.close();
+        corruptSecondRecordPayload();
+
+        ClaimJournal reopened = open(1 << 16);
+        try {
+            assertThat(reopened.findByContentHash("hash-1")).isPresent();
+            assertThat(reopened.findByContentHash("hash-2")).isEmpty();
+
+            reopened.append("hash-3", response("PL-3", RouteType.FAST_TRACK));
+            List<String> replayed = new ArrayList<>();
+            reopened.replay(entry -> replayed.add(entry.contentHash()));
+            assertThat(replayed).containsExactly("hash-1", "hash-3");
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void disabledJournalKeepsNothing() {
+        ClaimJournal journal = new ClaimJournal(objectMapper, false, journalDir.toString(), 1024, Duration.ofMillis(10));
+
+        journal.append("hash-1", response("PL-1", RouteType.FAST_TRACK));
+
+        assertThat(journal.isEnabled()).isFalse();
+        assertThat(journal.findByPolicyNumber("PL-1")).isEmpty();
+        assertThat(journal.findByContentHash("hash-1")).isEmpty();
+    }
+
+    private ClaimJournal open(int segmentBytes) {
+        return new ClaimJournal(objectMapper, true, journalDir.toString(), segmentBytes, Duration.ofMillis(10));
+    }
+
+    private void corruptSecondRecordPayload() throws IOException {
+        try (FileChannel channel = FileChannel.open(
+                journalDir.resolve("journal-00000000.seg"), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(4);
+            channel.read(header, 0);
+            int secondRecord = 8 + header.flip().getInt();
+            channel.write(ByteBuffer.wrap(new byte[] {'#', '#', '#'}), secondRecord + 8 + 5);
+        }
+    }
+
+    private static ClaimProcessingResponse response(String policyNumber, RouteType route) {
+        ClaimFields fields = new ClaimFields();
+        fields.setPolicyNumber(policyNumber);
+        return new ClaimProcessingResponse(fields, List.of(), route, "Test route.", false);
+    }
+}
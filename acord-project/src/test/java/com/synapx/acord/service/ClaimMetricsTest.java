@@ -0,0 +1,64 @@
+package com.synapx.acord.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.synapx.acord.exception.BadRequestException;
+import com.synapx.acord.model.RouteType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+class ClaimMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AcordExtractor acordExtractor = TestPipelines.extractor(meterRegistry);
+    private final ClaimProcessingService claimProcessingService = TestPipelines.claimProcessingService(acordExtractor);
+
+    @AfterEach
+    void shutDownPool() {
+        acordExtractor.close();
+    }
+
+    @Test
+    void recordsStageAndFieldTimingsAndRouteOutcome() {
+        claimProcessingService.processText("POLICY NUMBER: PL-1\nDESCRIPTION OF ACCIDENT: Staged collision.");
+
+        assertThat(meterRegistry.get("acord.claim.stage").tag("stage", "labelIndex").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("acord.claim.stage").tag("stage", "routing").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("acord.claim.field").tag("field", "policyNumber").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("acord.claim.outcome").tag("route", RouteType.INVESTIGATION_FLAG.name())
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void countsRejectionsByReasonAndRecordsDocumentShape() throws IOException {
+        assertThrows(BadRequestException.class, () -> claimProcessingService.processText(" "));
+        MockMultipartFile blankPdf = new MockMultipartFile("file", "blank.pdf", "application/pdf", createBlankPdfBytes(3));
+        assertThrows(BadRequestException.class, () -> claimProcessingService.processPdf(blankPdf));
+
+        assertThat(meterRegistry.get("acord.claim.rejected").tag("reason", "empty").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("acord.claim.rejected").tag("reason", "scanned").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("acord.claim.rejected").tag("reason", "invalid").counter().count()).isZero();
+        assertThat(meterRegistry.get("acord.pdf.pages").summary().totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.get("acord.pdf.size").summary().totalAmount()).isEqualTo(blankPdf.getSize());
+        assertThat(meterRegistry.get("acord.claim.stage").tag("stage", "scanCheck").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("acord.claim.stage").tag("stage", "textStrip").timer().count()).isZero();
+    }
+
+    private static byte[] createBlankPdfBytes(int pages) throws IOException {
+        try (PDDocument document = new PDDocument();
+             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            for (int i = 0; i < pages; i++) {
+                document.addPage(new PDPage());
+            }
+            document.save(outputStream);
+            return outputStream.toByteArray();
+        }
+    }
+}
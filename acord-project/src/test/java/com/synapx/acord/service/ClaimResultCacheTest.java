@@ -0,0 +1,158 @@
+package com.synapx.acord.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.synapx.acord.exception.BadRequestException;
+import com.synapx.acord.exception.RejectedDocumentException;
+import com.synapx.acord.model.ClaimFields;
+import com.synapx.acord.model.ClaimProcessingResponse;
+import com.synapx.acord.model.RouteDecision;
+import com.synapx.acord.model.RouteType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ClaimResultCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ClaimResultCache claimResultCache = new ClaimResultCache(
+            100, Duration.ofMinutes(5), 100, Duration.ofMinutes(5), new RoutingService(), meterRegistry);
+
+    @Test
+    void concurrentRequestsForSameKeyShareOneComputation() throws Exception {
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService waiting = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<ClaimProcessingResponse>> futures = List.of(
+                    waiting.submit(() -> compute(computations, release)),
+                    waiting.submit(() -> compute(computations, release)),
+                    waiting.submit(() -> compute(computations, release)),
+                    waiting.submit(() -> compute(computations, release)));
+            Thread.sleep(100);
+            release.countDown();
+
+            ClaimProcessingResponse first = futures.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<ClaimProcessingResponse> future : futures) {
+                assertThat(future.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            }
+            assertThat(computations).hasValue(1);
+            assertThat(claimResultCache.find("same")).containsSame(first);
+        } finally {
+            waiting.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedComputationIsRethrownAndNotCached() {
+        BadRequestException failure = new BadRequestException("Invalid PDF input. Please upload a valid PDF document.");
+
+        BadRequestException thrown = assertThrows(BadRequestException.class,
+                () -> claimResultCache.getOrCompute("broken", () -> {
+                    throw failure;
+                }));
+
+        assertThat(thrown).isSameAs(failure);
+        assertThat(claimResultCache.find("broken")).isEmpty();
+        ClaimProcessingResponse response = new ClaimProcessingResponse();
+        assertThat(claimResultCache.getOrCompute("broken", () -> response)).isSameAs(response);
+    }
+
+    @Test
+    void rejectedDocumentIsRememberedWithoutRecomputing() {
+        AtomicInteger computations = new AtomicInteger();
+        String message = "PDF appears to be scanned/image-only.";
+
+        RejectedDocumentException first = assertThrows(RejectedDocumentException.class,
+                () -> claimResultCache.getOrCompute("scan", () -> {
+                    computations.incrementAndGet();
+                    throw new RejectedDocumentException(message);
+                }));
+        RejectedDocumentException second = assertThrows(RejectedDocumentException.class,
+                () -> claimResultCache.getOrCompute("scan", () -> {
+                    computations.incrementAndGet();
+                    return new ClaimProcessingResponse();
+                }));
+
+        assertThat(first).hasMessage(message);
+        assertThat(second).hasMessage(message);
+        assertThat(computations).hasValue(1);
+        assertThat(claimResultCache.find("scan")).isEmpty();
+    }
+
+    @Test
+    void publishesHitAndMissMetrics() {
+        ClaimProcessingResponse response = new ClaimProcessingResponse();
+        claimResultCache.getOrCompute("key", () -> response);
+        claimResultCache.getOrCompute("key", () -> response);
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "claimResults").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "claimResults").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void routesCachedResultAgainAfterTheRulesAreReloaded(@TempDir Path directory) throws IOException {
+        Path rulesFile = directory.resolve("routing-rules.json");
+        Files.writeString(rulesFile, rules(10_000));
+        RoutingService routingService = new RoutingService(new ObjectMapper(), rulesFile.toString(), Duration.ZERO);
+        ClaimResultCache cache = new ClaimResultCache(
+                100, Duration.ofMinutes(5), 100, Duration.ofMinutes(5), routingService, meterRegistry);
+        ClaimFields fields = new ClaimFields();
+        fields.setEstimateAmount(20_000);
+        AtomicInteger computations = new AtomicInteger();
+        Supplier<ClaimProcessingResponse> computation = () -> {
+            computations.incrementAndGet();
+            RouteDecision decision = routingService.determineRoute(fields, List.of());
+            return new ClaimProcessingResponse(fields, List.of(), decision.route(), decision.reasoning(), false);
+        };
+
+        assertThat(cache.getOrCompute("hash", computation).getRecommendedRoute()).isEqualTo(RouteType.MANUAL_REVIEW);
+
+        Files.writeString(rulesFile, rules(30_000));
+        routingService.reload();
+
+        assertThat(cache.find("hash")).hasValueSatisfying(response -> {
+            assertThat(response.getRecommendedRoute()).isEqualTo(RouteType.FAST_TRACK);
+            assertThat(response.getReasoning()).isEqualTo("Below threshold.");
+        });
+        assertThat(cache.getOrCompute("hash", computation).getRecommendedRoute()).isEqualTo(RouteType.FAST_TRACK);
+        assertThat(computations).hasValue(1);
+    }
+
+    private static String rules(int fastTrackBelow) {
+        return """
+                {"rules": [
+                  {"name": "fastTrack", "route": "FAST_TRACK", "estimateBelow": %d, "reasoning": "Below threshold."},
+                  {"name": "default", "route": "MANUAL_REVIEW", "reasoning": "Default."}
+                ]}
+                """.formatted(fastTrackBelow);
+    }
+
+    private ClaimProcessingResponse compute(AtomicInteger computations, CountDownLatch release) {
+        return claimResultCache.getOrCompute("same", () -> {
+            computations.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return new ClaimProcessingResponse();
+        });
+    }
+}
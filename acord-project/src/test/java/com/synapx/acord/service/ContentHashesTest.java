@@ -0,0 +1,38 @@
+package com.synapx.acord.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+class ContentHashesTest {
+
+    @Test
+    void textHashIgnoresLineEndingAndNonBreakingSpaceDifferences() {
+        String hash = ContentHashes.text("POLICY NUMBER: PL-1\nESTIMATE AMOUNT: $1000");
+
+        assertThat(ContentHashes.text("POLICY NUMBER: PL-1\r\nESTIMATE AMOUNT: $1000")).isEqualTo(hash);
+        assertThat(ContentHashes.text("POLICY NUMBER: PL-2\nESTIMATE AMOUNT: $1000")).isNotEqualTo(hash);
+        assertThat(hash).startsWith("text:").hasSize(69);
+    }
+
+    @Test
+    void pdfHashIsSha256OfUploadedBytes() {
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "claim.pdf", "application/pdf", "abc".getBytes(StandardCharsets.US_ASCII));
+
+        assertThat(ContentHashes.pdf(file))
+                .isEqualTo("pdf:ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+    }
+
+    @Test
+    void pdfAndTextWithTheSameBytesHashApart() {
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "claim.pdf", "application/pdf", "abc".getBytes(StandardCharsets.US_ASCII));
+
+        assertThat(ContentHashes.text("abc")).isEqualTo(
+                "text:ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+        assertThat(ContentHashes.pdf(file)).isNotEqualTo(ContentHashes.text("abc"));
+    }
+}
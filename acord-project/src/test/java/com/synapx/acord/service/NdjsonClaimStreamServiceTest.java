@@ -0,0 +1,88 @@
+package com.synapx.acord.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class NdjsonClaimStreamServiceTest {
+
+    private final AcordExtractor acordExtractor = TestPipelines.extractor(new SimpleMeterRegistry());
+    private final ClaimProcessingService claimProcessingService = TestPipelines.claimProcessingService(acordExtractor);
+
+    private final NdjsonClaimStreamService ndjsonClaimStreamService =
+            new NdjsonClaimStreamService(claimProcessingService, new ObjectMapper(), 1_048_576);
+
+    @AfterEach
+    void shutDownPool() {
+        acordExtractor.close();
+    }
+
+    @Test
+    void writesOneLinePerRecordAndSkipsBlankLines() throws IOException {
+        String input = """
+                {"text":"POLICY NUMBER: PL-1\\nDESCRIPTION OF ACCIDENT: staged collision"}
+
+                {"text":""}
+                not-json
+                {"text":"POLICY NUMBER: PL-2"}
+                """;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long records = ndjsonClaimStreamService.process(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\\n");
+        assertThat(records).isEqualTo(4);
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).contains("\"policyNumber\":\"PL-1\"").contains("INVESTIGATION_FLAG");
+        assertThat(lines[1]).isEqualTo("{\"error\":\"Text is empty. Provide a non-empty claim document text.\"}");
+        assertThat(lines[2]).startsWith("{\"error\":\"Malformed JSON record.");
+        assertThat(lines[3]).contains("\"policyNumber\":\"PL-2\"");
+    }
+
+    @Test
+    void answersOverlongLinesWithAnErrorAndGoesOnWithTheNextRecord() throws IOException {
+        NdjsonClaimStreamService limited = new NdjsonClaimStreamService(claimProcessingService, new ObjectMapper(), 64);
+        String input = "{\"text\":\"" + "x".repeat(200) + "\"}\r\n"
+                + "{\"text\":\"POLICY NUMBER: PL-2\"}\r\n";
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long records = limited.process(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(records).isEqualTo(2);
+        assertThat(lines[0]).isEqualTo("{\"error\":\"Record too long. A record may have at most 64 characters.\"}");
+        assertThat(lines[1]).contains("\"policyNumber\":\"PL-2\"");
+    }
+
+    @Test
+    void reroutesStoredFieldsOneLinePerRecord() throws IOException {
+        String input = """
+                {"policyNumber":"PL-1","dateOfLoss":"01/15/2026","locationOfLoss":"Austin","descriptionOfAccident":"Rear-end.","estimateAmount":1200}
+
+                {"policyNumber":"PL-2","estimateAmount":1200}
+                null
+                not-json
+                """;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long records = ndjsonClaimStreamService.reroute(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\\n");
+        assertThat(records).isEqualTo(4);
+        assertThat(output.toString(StandardCharsets.UTF_8)).endsWith("\n");
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).startsWith("{\"extractedFields\":{\"policyNumber\":\"PL-1\"").contains("FAST_TRACK");
+        assertThat(lines[1]).contains("MANUAL_REVIEW").contains("Mandatory field(s) missing: dateOfLoss");
+        assertThat(lines[2]).startsWith("{\"error\":\"Malformed JSON record.");
+        assertThat(lines[3]).startsWith("{\"error\":\"Malformed JSON record.");
+    }
+}
@@ -0,0 +1,66 @@
+package com.synapx.acord.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.synapx.acord.exception.PayloadTooLargeException;
+import com.synapx.acord.service.PdfDocumentLoader.LoadedPdf;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+class SpooledMultipartFileTest {
+
+    @TempDir
+    Path scratchRoot;
+
+    @Test
+    void readsSpooledRequestBodyInPlace(@TempDir Path spoolDirectory) throws IOException {
+        byte[] pdf = createPdfBytes(4);
+        PdfDocumentLoader loader = new PdfDocumentLoader(PdfMemoryMode.MAIN_MEMORY, 0, scratchRoot.toString());
+        SpooledMultipartFile spooled = SpooledMultipartFile.spool(
+                new ByteArrayInputStream(pdf), spoolDirectory, "body", null, "application/pdf", pdf.length);
+        try {
+            PdfSource source = MultipartPdfSource.of(spooled);
+            assertThat(spooled.getSize()).isEqualTo(pdf.length);
+            assertThat(spooled.getContentHash())
+                    .isEqualTo(ContentHashes.pdf(new MockMultipartFile("file", "claim.pdf", "application/pdf", pdf)));
+            assertThat(source.path()).isEqualTo(spooled.path());
+            assertThat(loader.residentBytes(source)).isEqualTo(Math.min(pdf.length, 4_096_000));
+            try (LoadedPdf loadedPdf = loader.load(source)) {
+                assertThat(loadedPdf.document().getNumberOfPages()).isEqualTo(4);
+            }
+        } finally {
+            spooled.delete();
+        }
+        assertThat(spoolDirectory).isEmptyDirectory();
+    }
+
+    @Test
+    void refusesRequestBodyAboveLimitAndKeepsNothing(@TempDir Path spoolDirectory) throws IOException {
+        byte[] pdf = createPdfBytes(1);
+
+        assertThrows(PayloadTooLargeException.class, () -> SpooledMultipartFile.spool(
+                new ByteArrayInputStream(pdf), spoolDirectory, "body", null, "application/pdf", pdf.length - 1));
+
+        assertThat(spoolDirectory).isEmptyDirectory();
+    }
+
+    private byte[] createPdfBytes(int pages) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 0; i < pages; i++) {
+                document.addPage(new PDPage());
+            }
+            try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+                document.save(outputStream);
+                return outputStream.toByteArray();
+            }
+        }
+    }
+}
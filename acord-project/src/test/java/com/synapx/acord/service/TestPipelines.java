@@ -0,0 +1,31 @@
+package com.synapx.acord.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+
+/**
+ * The claim processing pipeline the service tests run against: documents stripped whole, no time limit and two parser
+ * threads. Tests close the extractor to stop its threads.
+ */
+final class TestPipelines {
+
+    private TestPipelines() {
+    }
+
+    static AcordExtractor extractor(MeterRegistry meterRegistry) {
+        return AcordExtractor.builder()
+                .incrementalExtraction(false)
+                .pdfTimeout(Duration.ZERO)
+                .parserThreads(2, 16)
+                .meterRegistry(meterRegistry)
+                .build();
+    }
+
+    /**
+     * A service over {@code extractor} that journals nothing.
+     */
+    static ClaimProcessingService claimProcessingService(AcordExtractor extractor) {
+        return new ClaimProcessingService(extractor, new ClaimJournal(new ObjectMapper(), false, "", 0, Duration.ZERO));
+    }
+}
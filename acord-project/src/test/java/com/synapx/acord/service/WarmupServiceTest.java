@@ -0,0 +1,57 @@
+package com.synapx.acord.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.support.GenericApplicationContext;
+
+class WarmupServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AcordExtractor acordExtractor = TestPipelines.extractor(meterRegistry);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private ClaimJournal claimJournal;
+
+    @AfterEach
+    void shutDown() {
+        acordExtractor.close();
+        if (claimJournal != null) {
+            claimJournal.close();
+        }
+    }
+
+    @Test
+    void processesSampleClaimAsPdfAndTextWithoutJournalingIt() throws IOException {
+        claimJournal = new ClaimJournal(objectMapper, true, tempDir.resolve("journal").toString(), 1 << 20, Duration.ofMinutes(1));
+        Path spoolDir = tempDir.resolve("spool");
+        WarmupService warmupService = new WarmupService(
+                claimProcessingService(), objectMapper, new GenericApplicationContext(), true, 3, "", false, spoolDir.toString());
+
+        warmupService.warmUp();
+
+        double outcomes = meterRegistry.get("acord.claim.outcome").counters().stream().mapToDouble(Counter::count).sum();
+        assertThat(outcomes).isEqualTo(6);
+        assertThat(meterRegistry.get("acord.claim.stage").tag("stage", "textStrip").timer().count()).isEqualTo(3);
+        assertThat(claimJournal.findByPolicyNumber("PL-000001")).isEmpty();
+        try (Stream<Path> spooled = Files.list(spoolDir)) {
+            assertThat(spooled).isEmpty();
+        }
+    }
+
+    private ClaimProcessingService claimProcessingService() {
+        return new ClaimProcessingService(acordExtractor, claimJournal);
+    }
+}